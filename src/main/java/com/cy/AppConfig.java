@@ -1,7 +1,15 @@
 package com.cy;
 
+import com.cy.infra.IdGenerator;
+import com.cy.service.OrderTicket;
+import com.myspring.Bean;
 import com.myspring.ComponentScan;
+import com.myspring.Configuration;
 import com.myspring.EnableAspectAutoProxy;
+import com.myspring.EnableScheduling;
+import com.myspring.PropertySource;
+import com.myspring.Scope;
+import com.myspring.Value;
 
 /**
  * @author codeep
@@ -9,8 +17,20 @@ import com.myspring.EnableAspectAutoProxy;
  * @description: 客户端模拟传入的 Spring 配置信息
  */
 
+@Configuration
 @ComponentScan("com.cy.service")
 @EnableAspectAutoProxy
+@EnableScheduling
+@PropertySource("application.properties")
 public class AppConfig {
 
+    /**
+     * 每次获取都生成新的票据，依赖通过参数注入
+     */
+    @Bean
+    @Scope("prototype")
+    public OrderTicket orderTicket(IdGenerator idGenerator, @Value("${order.ticket-prefix:T}") String prefix) {
+        return new OrderTicket(prefix + "-" + idGenerator.nextId());
+    }
+
 }
@@ -0,0 +1,13 @@
+package com.cy;
+
+import com.myspring.ComponentScan;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 模拟多个租户共享的基础设施配置，作为父容器的配置类
+ */
+@ComponentScan("com.cy.infra")
+public class InfraConfig {
+
+}
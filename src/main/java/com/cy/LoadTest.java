@@ -0,0 +1,276 @@
+package com.cy;
+
+import com.cy.bench.InventoryService;
+import com.cy.bench.Reservation;
+import com.cy.bench.StockAspect;
+import com.myspring.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器的并发压测，与 Test 中的单线程演示分开。每个场景从 1 个线程逐步加到 N 个线程，
+ * 平台线程和虚拟线程各跑一遍，输出吞吐量随线程数的变化以及延迟的分位数。
+ * 用法：java com.cy.LoadTest [最大线程数，默认 CPU 数的 2 倍] [每轮毫秒数，默认 1000] [CSV 输出路径]
+ */
+public class LoadTest {
+
+    /**
+     * 一次被测的操作
+     */
+    interface Operation {
+
+        /**
+         * @param iteration 当前线程中的第几次调用
+         * @return  任意结果，累加后输出，防止被 JIT 优化掉
+         */
+        long run(long iteration) throws Exception;
+
+    }
+
+    /**
+     * 一个压测场景
+     */
+    static class Scenario {
+
+        private final String name;
+
+        private final Operation operation;
+
+        Scenario(String name, Operation operation) {
+            this.name = name;
+            this.operation = operation;
+        }
+
+    }
+
+    /**
+     * 一轮压测的结果
+     */
+    static class Result {
+
+        private final String scenario;
+
+        private final String threadKind;
+
+        private final int threads;
+
+        private final long operations;
+
+        private final long elapsedNanos;
+
+        private final LatencyHistogram histogram;
+
+        Result(String scenario, String threadKind, int threads, long operations, long elapsedNanos, LatencyHistogram histogram) {
+            this.scenario = scenario;
+            this.threadKind = threadKind;
+            this.threads = threads;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.histogram = histogram;
+        }
+
+        double throughput() {
+            return operations * 1_000_000_000.0 / elapsedNanos;
+        }
+
+    }
+
+    /**
+     * 防止结果被优化掉
+     */
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, cpus * 2);
+        long durationMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        File csvFile = args.length > 2 ? new File(args[2]) : null;
+        boolean virtualThreadsSupported = virtualThreadFactory() != null;
+        System.out.printf("JVM %s，CPU %d 核，最大线程数 %d，每轮 %dms，虚拟线程%s%n", System.getProperty("java.version"), cpus,
+                maxThreads, durationMillis, virtualThreadsSupported ? "可用" : "不可用（需要 JDK 21 及以上）");
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(LoadTestConfig.class);
+        InventoryService inventoryService = (InventoryService) context.getBean("inventoryService");
+        List<Scenario> scenarios = new ArrayList<>();
+        // 计时本身的开销，其他场景的延迟都包含这部分
+        scenarios.add(new Scenario("baseline", iteration -> iteration));
+        // 单例：只读单例池
+        scenarios.add(new Scenario("getBean(singleton)", iteration -> context.getBean("inventoryService").hashCode()));
+        // 原型：每次创建对象、填充属性、经过后置处理器
+        scenarios.add(new Scenario("getBean(prototype)",
+                iteration -> ((Reservation) context.getBean("reservation")).getInventoryService().hashCode()));
+        // 被增强的方法：前置通知和 JDK 动态代理
+        scenarios.add(new Scenario("advised call", iteration -> inventoryService.available((int) iteration)));
+        // 首次创建：每次新建一个子容器，共享元数据，单例全部重新创建
+        scenarios.add(new Scenario("first-time creation(child context)", iteration -> {
+            AnnotationConfigApplicationContext child = context.createChildContext(LoadTestConfig.class);
+            try {
+                return child.getBean("inventoryService").hashCode();
+            } finally {
+                child.close();
+            }
+        }));
+
+        List<Result> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            // 单线程预热至少 2 秒，让 JIT 完成编译，否则 1 个线程的结果偏低，扩展倍数会虚高
+            runRound(scenario, 1, false, Math.max(durationMillis, 2000));
+            System.out.printf("%n== %s ==%n", scenario.name);
+            System.out.printf("%-9s %7s %14s %8s %10s %10s %10s %10s%n", "threads", "kind", "ops/s", "scaling", "p50", "p99", "p99.9", "max");
+            for (String threadKind : virtualThreadsSupported ? new String[]{"platform", "virtual"} : new String[]{"platform"}) {
+                double singleThreadThroughput = 0;
+                for (int threads : threadCounts(maxThreads)) {
+                    System.gc();
+                    Result result = runRound(scenario, threads, "virtual".equals(threadKind), durationMillis);
+                    if (threads == 1) {
+                        singleThreadThroughput = result.throughput();
+                    }
+                    results.add(result);
+                    System.out.printf("%-9d %7s %14.0f %7.2fx %10s %10s %10s %10s%n", threads, threadKind, result.throughput(),
+                            result.throughput() / singleThreadThroughput, format(result.histogram.percentile(50)),
+                            format(result.histogram.percentile(99)), format(result.histogram.percentile(99.9)),
+                            format(result.histogram.getMaxNanos()));
+                }
+            }
+        }
+        context.close();
+        System.out.printf("%n前置通知共执行 %d 次，校验值 %d%n", StockAspect.QUERIES.sum(), sink);
+        if (csvFile != null) {
+            writeCsv(results, csvFile);
+            System.out.println("已写入 " + csvFile.getPath());
+        }
+    }
+
+    /**
+     * 1、2、4 ... 直到最大线程数
+     */
+    private static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads <<= 1) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+        return counts;
+    }
+
+    /**
+     * 所有线程就绪后同时开始，到时间后同时停止；每个线程记录自己的直方图，结束后合并
+     */
+    private static Result runRound(Scenario scenario, int threads, boolean virtual, long durationMillis) throws Exception {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        LatencyHistogram[] histograms = new LatencyHistogram[threads];
+        long[] operations = new long[threads];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Runnable worker = () -> {
+                LatencyHistogram histogram = new LatencyHistogram();
+                long count = 0;
+                long checksum = 0;
+                try {
+                    ready.countDown();
+                    start.await();
+                    long end = deadline[0];
+                    while (true) {
+                        long begin = System.nanoTime();
+                        if (begin >= end) {
+                            break;
+                        }
+                        checksum += scenario.operation.run(count);
+                        histogram.record(System.nanoTime() - begin);
+                        count++;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    histograms[index] = histogram;
+                    operations[index] = count;
+                    sink += checksum;
+                    done.countDown();
+                }
+            };
+            newThread(worker, virtual, scenario.name + "-" + t).start();
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        deadline[0] = begin + durationMillis * 1_000_000;
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        if (failure.get() != null) {
+            throw new IllegalStateException("场景 " + scenario.name + " 执行失败", failure.get());
+        }
+        LatencyHistogram merged = new LatencyHistogram();
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            merged.merge(histograms[t]);
+            total += operations[t];
+        }
+        return new Result(scenario.name, virtual ? "virtual" : "platform", threads, total, elapsed, merged);
+    }
+
+    /**
+     * 虚拟线程通过反射创建，这样在 Java 8 上也能编译
+     */
+    private static Thread newThread(Runnable runnable, boolean virtual, String name) throws ReflectiveOperationException {
+        if (virtual) {
+            Object builder = virtualThreadFactory().invoke(null);
+            // 按公开的 Thread.Builder 接口查找方法，实现类 ThreadBuilders$VirtualThreadBuilder 不是公开类，无法通过它反射调用
+            Class<?> builderInterface = Class.forName("java.lang.Thread$Builder");
+            builder = builderInterface.getMethod("name", String.class).invoke(builder, name);
+            return (Thread) builderInterface.getMethod("unstarted", Runnable.class).invoke(builder, runnable);
+        }
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * @return  Thread.ofVirtual()，不支持时为 null
+     */
+    private static Method virtualThreadFactory() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static String format(long nanos) {
+        if (nanos < 10_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 10_000_000) {
+            return String.format("%.1fus", nanos / 1_000.0);
+        }
+        return String.format("%.1fms", nanos / 1_000_000.0);
+    }
+
+    private static void writeCsv(List<Result> results, File csvFile) throws IOException {
+        StringBuilder sb = new StringBuilder("scenario,kind,threads,ops_per_sec,p50_ns,p99_ns,p999_ns,max_ns\n");
+        for (Result result : results) {
+            sb.append(result.scenario).append(',').append(result.threadKind).append(',').append(result.threads).append(',')
+                    .append(String.format("%.0f", result.throughput())).append(',')
+                    .append(result.histogram.percentile(50)).append(',').append(result.histogram.percentile(99)).append(',')
+                    .append(result.histogram.percentile(99.9)).append(',').append(result.histogram.getMaxNanos()).append('\n');
+        }
+        if (csvFile.getParentFile() != null) {
+            csvFile.getParentFile().mkdirs();
+        }
+        Files.write(csvFile.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
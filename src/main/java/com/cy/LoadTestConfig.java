@@ -0,0 +1,15 @@
+package com.cy;
+
+import com.myspring.ComponentScan;
+import com.myspring.EnableAspectAutoProxy;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 压测使用的配置，只扫描 com.cy.bench 中不输出日志的 Bean
+ */
+@ComponentScan("com.cy.bench")
+@EnableAspectAutoProxy
+public class LoadTestConfig {
+
+}
@@ -1,8 +1,24 @@
 package com.cy;
 
+import com.cy.service.Notifier;
 import com.cy.service.OrderService;
+import com.cy.service.ShippingQuote;
 import com.cy.service.UserService;
 import com.myspring.AnnotationConfigApplicationContext;
+import com.myspring.AotApplicationContext;
+import com.myspring.AotContextGenerator;
+import com.myspring.Autowired;
+import com.myspring.BeanDependencyGraph;
+import com.myspring.ComponentIndex;
+import com.myspring.RateLimitExceededException;
+import com.myspring.ScheduledTaskMetrics;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * @author codeep
@@ -11,7 +27,7 @@ import com.myspring.AnnotationConfigApplicationContext;
  */
 public class Test {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext(AppConfig.class);
         UserService userService1 = (UserService) applicationContext.getBean("userService");
         // 1.1 测试单例和多例
@@ -38,9 +54,243 @@ public class Test {
         // userService1.methodWithOrders();
         // orderService1.methodWithUsers();
         // 8. 测试 AOP 对循环依赖的影响
-        OrderService orderService1 = (OrderService) applicationContext.getBean("orderService");
-        userService1.methodWithOrders().methodWithUsers();
-        orderService1.methodWithUsers().methodWithOrders();
+        // OrderService orderService1 = (OrderService) applicationContext.getBean("orderService");
+        // userService1.methodWithOrders().methodWithUsers();
+        // orderService1.methodWithUsers().methodWithOrders();
+        // 9. 测试容器关闭时的销毁回调
+        // applicationContext.registerShutdownHook();
+        // applicationContext.close();
+        // 10. 测试事件发布
+        // OrderService orderService1 = (OrderService) applicationContext.getBean("orderService");
+        // orderService1.placeOrder("order-001");
+        // applicationContext.close();
+        // 11. 测试父子容器：两个租户容器共享父容器中的 Bean 和同一份解析结果，但各自持有单例
+        // AnnotationConfigApplicationContext infraContext = new AnnotationConfigApplicationContext(InfraConfig.class);
+        // AnnotationConfigApplicationContext tenant1 = infraContext.createChildContext(AppConfig.class);
+        // AnnotationConfigApplicationContext tenant2 = infraContext.createChildContext(AppConfig.class);
+        // System.out.println(tenant1.getBean("idGenerator") == tenant2.getBean("idGenerator"));
+        // System.out.println(tenant1.getBean("orderService") != tenant2.getBean("orderService"));
+        // tenant1.close();
+        // tenant2.close();
+        // infraContext.close();
+        // 12. 测试 @Value 配置注入
+        // OrderService orderService1 = (OrderService) applicationContext.getBean("orderService");
+        // orderService1.placeOrder("order-002");
+        // 13. 测试 @Retry 和 @RateLimit：前两次失败后重试成功，之后连续调用会被限流
+        // OrderService orderService1 = (OrderService) applicationContext.getBean("orderService");
+        // System.out.println(orderService1.queryStock("sku-1"));
+        // for (int i = 0; i < 10; i++) {
+        //     try {
+        //         orderService1.queryStock("sku-1");
+        //     } catch (RateLimitExceededException e) {
+        //         System.out.println(e.getMessage());
+        //     }
+        // }
+        // System.out.println(applicationContext.getResilienceMetrics());
+        // 14. 测试 @UnitOfWork：单独下单立即写入，批量下单时嵌套的下单调用加入外层工作单元，最后只写入一次
+        // OrderService orderService1 = (OrderService) applicationContext.getBean("orderService");
+        // orderService1.placeOrder("order-003");
+        // userService1.placeOrders("order-004", "order-005", "order-006");
+        // 15. 测试 AOT：生成的容器由 build-tools profile 在 process-classes 阶段生成并编译，不使用反射，
+        // 与反射容器对比 Bean 和 @Autowired 装配关系必须一致，再对比两种容器的启动耗时
+        String aotClassName = new AotContextGenerator(AppConfig.class).getClassName();
+        Class<?> aotClass;
+        try {
+            aotClass = Class.forName(aotClassName);
+        } catch (ClassNotFoundException e) {
+            aotClass = null;
+            System.out.println("找不到 " + aotClassName + "，AOT 容器在 mvn -Pbuild-tools process-classes（或 package）时生成");
+        }
+        if (aotClass != null) {
+            long reflectiveStart = System.nanoTime();
+            AnnotationConfigApplicationContext reflectiveContext = new AnnotationConfigApplicationContext(AppConfig.class);
+            System.out.println("反射容器启动耗时：" + (System.nanoTime() - reflectiveStart) / 1000 + "us");
+            BeanDependencyGraph reflectiveGraph = reflectiveContext.getDependencyGraph();
+            reflectiveContext.close();
+            long aotStart = System.nanoTime();
+            AotApplicationContext aotContext = (AotApplicationContext) aotClass.getDeclaredConstructor().newInstance();
+            System.out.println("AOT 容器启动耗时：" + (System.nanoTime() - aotStart) / 1000 + "us");
+            Set<String> reflectiveBeans = new TreeSet<>(reflectiveGraph.getNodes().keySet());
+            if (!reflectiveBeans.equals(aotContext.getBeanNames())) {
+                throw new IllegalStateException("AOT 容器与反射容器的 Bean 不一致：" + aotContext.getBeanNames() + " / " + reflectiveBeans);
+            }
+            Set<String> reflectiveWiring = autowiringOf(reflectiveGraph);
+            Set<String> aotWiring = autowiringOf(aotContext);
+            if (!reflectiveWiring.equals(aotWiring)) {
+                throw new IllegalStateException("AOT 容器与反射容器的装配关系不一致：" + aotWiring + " / " + reflectiveWiring);
+            }
+            UserService aotUserService = (UserService) aotContext.getBean("userService");
+            // 静态代理不是 JDK 动态代理
+            if (Proxy.isProxyClass(aotUserService.getClass())) {
+                throw new IllegalStateException("AOT 容器中的代理应当是生成的静态代理");
+            }
+            aotUserService.methodWithOrders().methodWithUsers();
+            aotUserService.placeOrders("order-007", "order-008");
+            aotContext.close();
+            System.out.println("AOT 容器的 " + reflectiveBeans.size() + " 个 Bean 及 " + aotWiring.size() + " 处 @Autowired 装配与反射容器一致");
+        }
+        // 16. 测试内存占用报告：同一个父容器下的 100 个租户容器共享一份元数据
+        // AnnotationConfigApplicationContext infraContext = new AnnotationConfigApplicationContext(InfraConfig.class);
+        // List<AnnotationConfigApplicationContext> tenants = new ArrayList<>();
+        // for (int i = 0; i < 100; i++) {
+        //     tenants.add(infraContext.createChildContext(AppConfig.class));
+        // }
+        // System.out.println(tenants.get(0).getMemoryFootprint());
+        // System.out.println(tenants.get(99).getMemoryFootprint());
+        // for (AnnotationConfigApplicationContext tenant : tenants) {
+        //     tenant.close();
+        // }
+        // infraContext.close();
+        // 17. 测试条件注册：默认部署不开启审计、没有 Redis 客户端，单独部署时使用本地 id 生成器
+        // AnnotationConfigApplicationContext standalone = new AnnotationConfigApplicationContext(AppConfig.class);
+        // System.out.println(standalone.getConditionReport());
+        // System.out.println(standalone.containsBean("orderAuditor") + " " + standalone.containsBean("localIdGenerator"));
+        // standalone.close();
+        // 开启审计的租户，父容器已经提供 IdGenerator
+        // System.setProperty("order.audit.enabled", "true");
+        // AnnotationConfigApplicationContext infra = new AnnotationConfigApplicationContext(InfraConfig.class);
+        // AnnotationConfigApplicationContext auditedTenant = infra.createChildContext(AppConfig.class);
+        // System.out.println(auditedTenant.getConditionReport());
+        // ((OrderService) auditedTenant.getBean("orderService")).placeOrder("order-009");
+        // auditedTenant.close();
+        // infra.close();
+        // System.clearProperty("order.audit.enabled");
+        // 18. 测试 @Bean：AppConfig 中的原型 @Bean 通过预先绑定的方法句柄创建，接口配置类中 @Bean 方法之间的调用返回单例
+        // AnnotationConfigApplicationContext beanContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        // System.out.println(beanContext.getBean("orderTicket") + " " + beanContext.getBean("orderTicket"));
+        // Notifier notifier = (Notifier) beanContext.getBean("notifier");
+        // System.out.println(notifier.getChannel() == beanContext.getBean("smsChannel"));
+        // notifier.notifyOrder("order-010");
+        // long ticketStart = System.nanoTime();
+        // for (int i = 0; i < 1_000_000; i++) {
+        //     beanContext.getBean("orderTicket");
+        // }
+        // System.out.println("创建 100 万个原型 @Bean 耗时：" + (System.nanoTime() - ticketStart) / 1_000_000 + "ms");
+        // beanContext.close();
+        // 19. 测试定时任务：所有 @Scheduled 方法共用一个时间轮线程，关闭容器时任务随之停止
+        // AnnotationConfigApplicationContext scheduledContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        // Thread.sleep(1100);
+        // scheduledContext.close();
+        // for (ScheduledTaskMetrics metrics : scheduledContext.getScheduledTaskMetrics().values()) {
+        //     System.out.println(metrics);
+        // }
+        // 20. 测试启动依赖图：打印关键路径，并导出 DOT 和 JSON
+        // AnnotationConfigApplicationContext graphContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        // BeanDependencyGraph graph = graphContext.getDependencyGraph();
+        // System.out.print(graph);
+        // System.out.println(graph.toDot());
+        // graphContext.close();
+        // 21. 测试 @Memoize：每个原型实例各自缓存，单个 int 参数的方法按基本类型查表
+        // AnnotationConfigApplicationContext memoContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        // ShippingQuote quote1 = (ShippingQuote) memoContext.getBean("shippingQuote");
+        // ShippingQuote quote2 = (ShippingQuote) memoContext.getBean("shippingQuote");
+        // long feeSum = 0;
+        // long memoStart = System.nanoTime();
+        // for (int i = 0; i < 10_000_000; i++) {
+        //     feeSum += quote1.feeOf(500 + (i & 511) * 10);
+        // }
+        // System.out.println("1000 万次 feeOf 耗时：" + (System.nanoTime() - memoStart) / 1_000_000 + "ms，合计 " + feeSum);
+        // System.out.println(quote1.zoneOf("杭州") + " " + quote1.zoneOf("杭州") + " " + quote2.feeOf(1200));
+        // System.out.println("quote1 实际计算 " + quote1.computations() + " 次，quote2 实际计算 " + quote2.computations() + " 次");
+        // memoContext.close();
+        // 22. 测试禁止扫描启动：组件索引由 build-tools profile 在 process-classes 阶段生成，运行时加 -Dmyspring.scan.disabled=true 只从索引读取组件
+        if (ComponentIndex.isScanDisabled()) {
+            AnnotationConfigApplicationContext indexedContext = new AnnotationConfigApplicationContext(AppConfig.class);
+            ((UserService) indexedContext.getBean("userService")).queryAllUsers();
+            BeanDependencyGraph indexedGraph = indexedContext.getDependencyGraph();
+            indexedContext.close();
+            // 临时打开扫描再启动一次，两种方式得到的 Bean 及其装配关系必须完全一致
+            System.clearProperty(ComponentIndex.SCAN_DISABLED_PROPERTY);
+            AnnotationConfigApplicationContext scannedContext = new AnnotationConfigApplicationContext(AppConfig.class);
+            BeanDependencyGraph scannedGraph = scannedContext.getDependencyGraph();
+            scannedContext.close();
+            System.setProperty(ComponentIndex.SCAN_DISABLED_PROPERTY, "true");
+            if (!beansOf(indexedGraph).equals(beansOf(scannedGraph))) {
+                throw new IllegalStateException("组件索引与扫描得到的 Bean 不一致：" + beansOf(indexedGraph) + " / " + beansOf(scannedGraph));
+            }
+            if (!wiringOf(indexedGraph).equals(wiringOf(scannedGraph))) {
+                throw new IllegalStateException("组件索引与扫描得到的装配关系不一致：" + wiringOf(indexedGraph) + " / " + wiringOf(scannedGraph));
+            }
+            System.out.println("从组件索引启动的 " + indexedGraph.getNodes().size() + " 个 Bean 及其装配关系与扫描启动一致：" + indexedGraph.getNodes().keySet());
+        } else {
+            System.out.println("请加 -D" + ComponentIndex.SCAN_DISABLED_PROPERTY + "=true 运行，组件索引在 mvn -Pbuild-tools process-classes（或 package）时生成");
+        }
+    }
+
+    /**
+     * 反射容器中的 @Autowired 装配关系：依赖方 -> 被依赖方
+     */
+    private static Set<String> autowiringOf(BeanDependencyGraph graph) {
+        Set<String> wiring = new TreeSet<>();
+        for (BeanDependencyGraph.Edge edge : graph.getEdges()) {
+            if (BeanDependencyGraph.AUTOWIRED.equals(edge.getKind())) {
+                wiring.add(edge.getFrom() + " -> " + edge.getTo());
+            }
+        }
+        return wiring;
+    }
+
+    /**
+     * AOT 容器中的 @Autowired 装配关系：读取每个 Bean 原始对象上 @Autowired 属性的值（按属性名注入），
+     * 单例必须正是容器中的那个对象，原型必须是同一个类的实例
+     */
+    private static Set<String> autowiringOf(AotApplicationContext aotContext) throws IllegalAccessException {
+        Set<String> wiring = new TreeSet<>();
+        for (String beanName : aotContext.getBeanNames()) {
+            Object bean = unwrap(aotContext, aotContext.getBean(beanName));
+            for (Class<?> clazz = bean.getClass(); clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (!field.isAnnotationPresent(Autowired.class)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object value = field.get(bean);
+                    Object expected = aotContext.getBean(field.getName());
+                    if (value == expected || (value != null && unwrap(aotContext, value).getClass() == unwrap(aotContext, expected).getClass())) {
+                        wiring.add(beanName + " -> " + field.getName());
+                    }
+                }
+            }
+        }
+        return wiring;
+    }
+
+    /**
+     * 去掉 AOT 容器生成的静态代理，静态代理是生成类的内部类，原始对象保存在 target 属性中
+     */
+    private static Object unwrap(AotApplicationContext aotContext, Object bean) throws IllegalAccessException {
+        if (bean.getClass().getEnclosingClass() != aotContext.getClass()) {
+            return bean;
+        }
+        try {
+            Field target = bean.getClass().getDeclaredField("target");
+            target.setAccessible(true);
+            return target.get(bean);
+        } catch (NoSuchFieldException e) {
+            return bean;
+        }
+    }
+
+    /**
+     * 容器中的 Bean：beanName=类名
+     */
+    private static Set<String> beansOf(BeanDependencyGraph graph) {
+        Set<String> beans = new TreeSet<>();
+        for (BeanDependencyGraph.Node node : graph.getNodes().values()) {
+            beans.add(node.getName() + "=" + node.getClassName());
+        }
+        return beans;
+    }
+
+    /**
+     * 容器中的装配关系：依赖方 -> 被依赖方（依赖类型），与创建顺序无关
+     */
+    private static Set<String> wiringOf(BeanDependencyGraph graph) {
+        Set<String> wiring = new TreeSet<>();
+        for (BeanDependencyGraph.Edge edge : graph.getEdges()) {
+            wiring.add(edge.getFrom() + " -> " + edge.getTo() + "（" + edge.getKind() + "）");
+        }
+        return wiring;
     }
 
 }
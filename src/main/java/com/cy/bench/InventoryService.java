@@ -0,0 +1,15 @@
+package com.cy.bench;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 压测用的库存查询，被切面增强
+ */
+public interface InventoryService {
+
+    /**
+     * 查询商品的可用库存
+     */
+    int available(int sku);
+
+}
@@ -0,0 +1,18 @@
+package com.cy.bench;
+
+import com.myspring.Component;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 库存按 sku 计算得出，调用本身几乎没有开销，压测测到的是容器和代理的开销
+ */
+@Component("inventoryService")
+public class InventoryServiceImpl implements InventoryService {
+
+    @Override
+    public int available(int sku) {
+        return (sku * 31) & 1023;
+    }
+
+}
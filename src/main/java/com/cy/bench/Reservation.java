@@ -0,0 +1,23 @@
+package com.cy.bench;
+
+import com.myspring.Autowired;
+import com.myspring.Component;
+import com.myspring.Scope;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 每次获取都新建的库存预占，依赖单例的库存查询
+ */
+@Component("reservation")
+@Scope("prototype")
+public class Reservation {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    public InventoryService getInventoryService() {
+        return inventoryService;
+    }
+
+}
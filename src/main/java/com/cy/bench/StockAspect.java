@@ -0,0 +1,25 @@
+package com.cy.bench;
+
+import com.myspring.Aspect;
+import com.myspring.Before;
+import com.myspring.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 压测用的切面，只计数不输出，避免控制台成为瓶颈
+ */
+@Component("stockAspect")
+@Aspect
+public class StockAspect {
+
+    public static final LongAdder QUERIES = new LongAdder();
+
+    @Before("inventoryService.available")
+    public void countQuery() {
+        QUERIES.increment();
+    }
+
+}
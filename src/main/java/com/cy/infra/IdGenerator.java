@@ -0,0 +1,21 @@
+package com.cy.infra;
+
+import com.myspring.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 父容器中由所有租户共享的 id 生成器
+ */
+@Component("idGenerator")
+public class IdGenerator {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+}
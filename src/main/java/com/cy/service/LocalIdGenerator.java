@@ -0,0 +1,16 @@
+package com.cy.service;
+
+import com.cy.infra.IdGenerator;
+import com.myspring.Component;
+import com.myspring.ConditionalOnMissingBean;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 单独部署时使用的 id 生成器，父容器已经提供 IdGenerator 时不注册
+ */
+@Component("localIdGenerator")
+@ConditionalOnMissingBean(type = IdGenerator.class)
+public class LocalIdGenerator extends IdGenerator {
+
+}
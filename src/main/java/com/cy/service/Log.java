@@ -4,6 +4,7 @@ import com.myspring.After;
 import com.myspring.Aspect;
 import com.myspring.Before;
 import com.myspring.Component;
+import com.myspring.EventListener;
 
 /**
  * @author codeep
@@ -24,4 +25,9 @@ public class Log {
         System.out.println("【debug】这是方法执行后的日志输出。");
     }
 
+    @EventListener
+    public void logOrderPlaced(OrderPlacedEvent event) {
+        System.out.println("【debug】收到下单事件：" + event.getOrderId());
+    }
+
 }
@@ -0,0 +1,20 @@
+package com.cy.service;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 消息通道，由 NotificationConfig 创建
+ */
+public class MessageChannel {
+
+    private final String name;
+
+    public MessageChannel(String name) {
+        this.name = name;
+    }
+
+    public void send(String message) {
+        System.out.println("[" + name + "] " + message);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.cy.service;
+
+import com.myspring.Bean;
+import com.myspring.Configuration;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 接口形式的配置类，@Bean 方法之间的调用返回容器中的单例
+ */
+@Configuration
+public interface NotificationConfig {
+
+    @Bean
+    default MessageChannel smsChannel() {
+        return new MessageChannel("sms");
+    }
+
+    @Bean
+    default Notifier notifier() {
+        // 经过代理，返回的是容器中的 smsChannel
+        return new Notifier(smsChannel());
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.cy.service;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 通知发送者，由 NotificationConfig 创建
+ */
+public class Notifier {
+
+    private final MessageChannel channel;
+
+    public Notifier(MessageChannel channel) {
+        this.channel = channel;
+    }
+
+    public MessageChannel getChannel() {
+        return channel;
+    }
+
+    public void notifyOrder(String orderId) {
+        channel.send("订单 " + orderId + " 已创建");
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.cy.service;
+
+import com.myspring.Component;
+import com.myspring.ConditionalOnProperty;
+import com.myspring.EventListener;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 只在开启审计的部署中注册的订单审计，未开启时也不会收到事件
+ */
+@Component("orderAuditor")
+@ConditionalOnProperty(name = "order.audit.enabled", havingValue = "true")
+public class OrderAuditor {
+
+    @EventListener
+    public void audit(OrderPlacedEvent event) {
+        System.out.println("【audit】记录下单：" + event.getOrderId());
+    }
+
+}
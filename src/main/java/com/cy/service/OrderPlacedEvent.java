@@ -0,0 +1,25 @@
+package com.cy.service;
+
+import com.myspring.ApplicationEvent;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 下单完成后发布的事件
+ */
+public class OrderPlacedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String orderId;
+
+    public OrderPlacedEvent(Object source, String orderId) {
+        super(source);
+        this.orderId = orderId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.cy.service;
+
+import com.myspring.Component;
+import com.myspring.Scheduled;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 定时对账，原来自己启动一个 Timer 线程，现在交给容器统一调度
+ */
+@Component("orderReconciler")
+public class OrderReconciler {
+
+    private final AtomicInteger rounds = new AtomicInteger();
+
+    @Scheduled(fixedRate = 100)
+    public void reconcile() {
+        rounds.incrementAndGet();
+    }
+
+    /**
+     * 每次执行比周期长，会被记为超时跳过
+     */
+    @Scheduled(fixedRate = 50, initialDelay = 20)
+    public void exportReport() throws InterruptedException {
+        Thread.sleep(120);
+    }
+
+    @Scheduled(fixedDelay = 200)
+    public void cleanExpiredTickets() {
+        System.out.println("【reconcile】清理过期票据，已对账 " + rounds.get() + " 轮");
+    }
+
+    @Scheduled(cron = "*/1 * * * * *")
+    public void heartbeat() {
+        System.out.println("【reconcile】心跳");
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.cy.service;
+
+import com.myspring.Component;
+import com.myspring.TransactionalResource;
+import com.myspring.UnitOfWorkHolder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 内存中的订单存储，模拟一个支持批量写入的数据库
+ */
+@Component("orderRepository")
+public class OrderRepository implements TransactionalResource {
+
+    private final List<Object> orders = new CopyOnWriteArrayList<>();
+
+    public void save(String orderId) {
+        UnitOfWorkHolder.write(this, orderId);
+    }
+
+    @Override
+    public void flush(List<Object> writes) {
+        System.out.println("批量写入 " + writes.size() + " 条订单：" + writes);
+        orders.addAll(writes);
+    }
+
+    public int count() {
+        return orders.size();
+    }
+}
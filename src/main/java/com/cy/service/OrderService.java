@@ -9,4 +9,14 @@ public interface OrderService {
 
     UserService methodWithUsers();
 
+    /**
+     * 下单，完成后发布 OrderPlacedEvent 事件
+     */
+    void placeOrder(String orderId);
+
+    /**
+     * 查询库存，模拟一个不稳定的远程调用
+     */
+    int queryStock(String sku);
+
 }
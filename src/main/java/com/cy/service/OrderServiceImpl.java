@@ -1,7 +1,17 @@
 package com.cy.service;
 
+import com.myspring.ApplicationEventPublisher;
+import com.myspring.ApplicationEventPublisherAware;
 import com.myspring.Autowired;
 import com.myspring.Component;
+import com.myspring.PreDestroy;
+import com.myspring.RateLimit;
+import com.myspring.Retry;
+import com.myspring.UnitOfWork;
+import com.myspring.Value;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author codeep
@@ -9,14 +19,77 @@ import com.myspring.Component;
  * @description:
  */
 @Component("orderService")
-public class OrderServiceImpl implements OrderService{
+public class OrderServiceImpl implements OrderService, ApplicationEventPublisherAware {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${order.max-items:10}")
+    private int maxItems;
+
+    @Value("${order.timeout:5s}")
+    private Duration timeout;
+
+    /**
+     * 查询库存的调用次数，用于模拟前两次调用失败
+     */
+    private final AtomicInteger stockQueries = new AtomicInteger();
+
+    // AOT 生成的容器不使用反射，通过以下 setter 注入私有属性
+
+    public void setUserService(UserService userService) {
+        this.userService = userService;
+    }
+
+    public void setOrderRepository(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
     @Override
     public UserService methodWithUsers() {
         // System.out.println(userService);
         return userService;
     }
+
+    @Override
+    @UnitOfWork
+    public void placeOrder(String orderId) {
+        System.out.println("调用了方法：下单 " + orderId + "，最多 " + maxItems + " 件商品，超时时间 " + timeout);
+        orderRepository.save(orderId);
+        applicationEventPublisher.publishEvent(new OrderPlacedEvent(this, orderId));
+    }
+
+    @Override
+    @Retry(maxAttempts = 3, delay = 50)
+    @RateLimit(permitsPerSecond = 5)
+    public int queryStock(String sku) {
+        if (stockQueries.incrementAndGet() <= 2) {
+            throw new IllegalStateException("库存服务暂时不可用");
+        }
+        System.out.println("调用了方法：查询库存 " + sku);
+        return 100;
+    }
+
+    @PreDestroy
+    public void close() {
+        System.out.println("orderService被销毁了！");
+    }
 }
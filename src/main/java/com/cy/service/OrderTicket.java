@@ -0,0 +1,25 @@
+package com.cy.service;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 订单票据，由 AppConfig 中的 @Bean 方法按原型创建
+ */
+public class OrderTicket {
+
+    private final String number;
+
+    public OrderTicket(String number) {
+        this.number = number;
+    }
+
+    public String getNumber() {
+        return number;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderTicket(" + number + ")";
+    }
+
+}
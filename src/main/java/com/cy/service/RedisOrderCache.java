@@ -0,0 +1,15 @@
+package com.cy.service;
+
+import com.myspring.Component;
+import com.myspring.ConditionalOnClass;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 类路径上有 Redis 客户端时才注册的订单缓存
+ */
+@Component("redisOrderCache")
+@ConditionalOnClass("redis.clients.jedis.Jedis")
+public class RedisOrderCache {
+
+}
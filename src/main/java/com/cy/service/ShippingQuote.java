@@ -0,0 +1,25 @@
+package com.cy.service;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一次报价会话中的运费计算，每个会话一个实例
+ */
+public interface ShippingQuote {
+
+    /**
+     * 按重量计算运费（分）
+     */
+    long feeOf(int weightGrams);
+
+    /**
+     * 城市所在的配送区域
+     */
+    String zoneOf(String city);
+
+    /**
+     * 实际执行计算的次数
+     */
+    int computations();
+
+}
@@ -0,0 +1,42 @@
+package com.cy.service;
+
+import com.myspring.Component;
+import com.myspring.Memoize;
+import com.myspring.Scope;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 运费计算是纯函数，同一个会话中重复的重量直接复用结果
+ */
+@Component("shippingQuote")
+@Scope("prototype")
+public class ShippingQuoteImpl implements ShippingQuote {
+
+    private int computations;
+
+    @Override
+    @Memoize(maxSize = 1024)
+    public long feeOf(int weightGrams) {
+        computations++;
+        // 阶梯计价：首重 500g 800 分，之后每 100g 逐级递增
+        long fee = 800;
+        for (int grams = 500, step = 0; grams < weightGrams; grams += 100, step++) {
+            fee += 50 + step % 7;
+        }
+        return fee;
+    }
+
+    @Override
+    @Memoize
+    public String zoneOf(String city) {
+        computations++;
+        return Math.abs(city.hashCode() % 4) == 0 ? "同城" : "跨省";
+    }
+
+    @Override
+    public int computations() {
+        return computations;
+    }
+
+}
@@ -22,4 +22,9 @@ public interface UserService {
      */
     void printBeanName();
 
+    /**
+     * 为用户批量下单
+     */
+    void placeOrders(String... orderIds);
+
 }
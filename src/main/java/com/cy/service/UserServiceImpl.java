@@ -9,13 +9,20 @@ import com.myspring.*;
  */
 @Component("userService")
 @Scope("singleton")
-public class UserServiceImpl implements UserService, BeanNameAware, InitializeBean {
+public class UserServiceImpl implements UserService, BeanNameAware, InitializeBean, DisposableBean {
 
     @Autowired
     private OrderService orderService;
 
     private String beanName;
 
+    /**
+     * AOT 生成的容器不使用反射，通过 setter 注入私有属性
+     */
+    public void setOrderService(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
     @Override
     public void setName(String name) {
         this.beanName = name;
@@ -37,8 +44,21 @@ public class UserServiceImpl implements UserService, BeanNameAware, InitializeBe
         System.out.println(beanName);
     }
 
+    @Override
+    @UnitOfWork
+    public void placeOrders(String... orderIds) {
+        for (String orderId : orderIds) {
+            orderService.placeOrder(orderId);
+        }
+    }
+
     @Override
     public void afterPropertiesSet() {
         System.out.println(beanName + "被初始化了！");
     }
+
+    @Override
+    public void destroy() {
+        System.out.println(beanName + "被销毁了！");
+    }
 }
@@ -0,0 +1,109 @@
+package com.myspring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: AOP 代理对象的调用处理器。除了目标对象外，通知和拦截器链都是同一个 Bean 的所有代理对象共享的
+ */
+public class AdvisedInvocationHandler implements InvocationHandler {
+
+    /**
+     * 原始 Bean 对象
+     */
+    private final Object target;
+
+    /**
+     * 该 Bean 的前置、后置通知
+     */
+    private final BeanAdvice advice;
+
+    /**
+     * 该 Bean 各个接口方法的拦截器链
+     */
+    private final Map<Method, MethodInterceptor[]> chains;
+
+    /**
+     * 该 Bean 的 @Memoize 方法，没有时为空 Map
+     */
+    private final Map<Method, MemoizedMethod> memoizedMethods;
+
+    /**
+     * 本代理对象自己的结果表，下标见 MemoizedMethod.getIndex()，没有 @Memoize 方法时为 null
+     */
+    private final MemoTable[] memoTables;
+
+    public AdvisedInvocationHandler(Object target, BeanAdvice advice, Map<Method, MethodInterceptor[]> chains) {
+        this(target, advice, chains, Collections.emptyMap());
+    }
+
+    public AdvisedInvocationHandler(Object target, BeanAdvice advice, Map<Method, MethodInterceptor[]> chains, Map<Method, MemoizedMethod> memoizedMethods) {
+        this.target = target;
+        this.advice = advice;
+        this.chains = chains;
+        this.memoizedMethods = memoizedMethods;
+        if (memoizedMethods.isEmpty()) {
+            this.memoTables = null;
+        } else {
+            this.memoTables = new MemoTable[memoizedMethods.size()];
+            for (MemoizedMethod memoizedMethod : memoizedMethods.values()) {
+                memoTables[memoizedMethod.getIndex()] = memoizedMethod.newTable();
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        // @Memoize 方法先查结果表，命中时不再经过通知和拦截器链，也不创建 MethodInvocation
+        MemoizedMethod memoizedMethod = memoTables == null ? null : memoizedMethods.get(method);
+        if (memoizedMethod != null) {
+            MemoTable memoTable = memoTables[memoizedMethod.getIndex()];
+            Object cached = memoizedMethod.lookup(memoTable, args);
+            if (cached != MemoTable.MISS) {
+                return cached;
+            }
+            Object result = invokeAdvised(method, args);
+            memoizedMethod.store(memoTable, args, result);
+            return result;
+        }
+        return invokeAdvised(method, args);
+    }
+
+    private Object invokeAdvised(Method method, Object[] args) throws Throwable {
+        // 依次调用前置通知
+        invokeAdvice(advice.getBefore(method.getName()));
+        // 执行原本的方法，有拦截器时先经过拦截器链；两条路径都把原方法抛出的异常原样抛出，调用方捕获的异常与方法上有没有拦截器无关
+        MethodInterceptor[] chain = chains.get(method);
+        Object result;
+        if (chain == null) {
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        } else {
+            result = new MethodInvocation(target, method, args, chain).proceed();
+        }
+        // 依次调用后置通知
+        invokeAdvice(advice.getAfter(method.getName()));
+        // 返回原本的返回值
+        return result;
+    }
+
+    private static void invokeAdvice(MethodWithClass[] methodWithClasses) throws ReflectiveOperationException {
+        for (MethodWithClass methodWithClass : methodWithClasses) {
+            Object instance = methodWithClass.getClazz().getDeclaredConstructor().newInstance();
+            methodWithClass.getMethod().invoke(instance);
+        }
+    }
+
+    public Object getTarget() {
+        return target;
+    }
+
+}
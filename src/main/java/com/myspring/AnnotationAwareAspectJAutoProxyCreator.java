@@ -2,11 +2,13 @@ package com.myspring;
 
 import lombok.Setter;
 
-import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -18,14 +20,32 @@ import java.util.concurrent.ConcurrentHashMap;
 public class AnnotationAwareAspectJAutoProxyCreator implements BeanPostProcessor {
 
     /**
-     * 用于存储通过 @Before 注解解析出的切入点及通知
+     * 每个 Bean 的前置、后置通知，由 ConfigurationMetadata 预先分组，共享同一份元数据的容器共用
+     * key: beanName
      */
-    private ConcurrentHashMap<String, List<MethodWithClass>> beforeMethodMap = new ConcurrentHashMap<>();
+    private Map<String, BeanAdvice> beanAdviceMap = Collections.emptyMap();
 
     /**
-     * 用于存储通过 @After 注解解析出的切入点及通知
+     * 根据方法注解创建拦截器的工厂，默认包含 @Retry、@RateLimit、@Bulkhead 和 @UnitOfWork，按此顺序由外到内执行
      */
-    private ConcurrentHashMap<String, List<MethodWithClass>> afterMethodMap = new ConcurrentHashMap<>();
+    private List<MethodInterceptorFactory> interceptorFactories = new ArrayList<>();
+
+    /**
+     * 容错注解的拦截器工厂，单独保存用于导出计数
+     */
+    private final ResilienceInterceptorFactory resilienceInterceptorFactory = new ResilienceInterceptorFactory();
+
+    /**
+     * 每个 Bean 的方法拦截器链，同一个 Bean 的多个实例（原型 Bean）共享限流、舱壁等状态
+     * key: beanName
+     */
+    private final Map<String, InterceptorChains> interceptorChainsMap = new ConcurrentHashMap<>();
+
+    public AnnotationAwareAspectJAutoProxyCreator() {
+        interceptorFactories.add(resilienceInterceptorFactory);
+        // 工作单元在重试之内，每次重试都是一个新的工作单元
+        interceptorFactories.add(new UnitOfWorkInterceptorFactory());
+    }
 
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) {
@@ -40,81 +60,100 @@ public class AnnotationAwareAspectJAutoProxyCreator implements BeanPostProcessor
      */
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) {
-        // 存储该 bean 的前置 methodName
-        LinkedList<String> beforeMethods = new LinkedList<>();
-        // 存储该 bean 的后置 methodName
-        LinkedList<String> afterMethods = new LinkedList<>();
-        // 填充上面两个 list
-        fillMethodList(beanName, beforeMethods, afterMethods);
+        // 获取该 bean 的通知
+        BeanAdvice advice = beanAdviceMap.getOrDefault(beanName, BeanAdvice.NONE);
+        // 获取该 bean 各个接口方法的拦截器链和 @Memoize 方法
+        InterceptorChains interceptorChains = getInterceptorChains(beanName, bean.getClass());
+        Map<Method, MethodInterceptor[]> chains = interceptorChains.chains;
+        Map<Method, MemoizedMethod> memoizedMethods = interceptorChains.memoizedMethods;
         // 判断是否需要执行 AOP 操作
-        if (!beforeMethods.isEmpty() || !afterMethods.isEmpty()) {
-            // 使用 JDK 动态代理来为 bean 创建一个动态代理对象
-            Object proxy = Proxy.newProxyInstance(bean.getClass().getClassLoader(), bean.getClass().getInterfaces(), new InvocationHandler() {
-                @Override
-                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                    // 判断当前方法是否存在于 beforeMethods 列表中
-                    if (beforeMethods.contains(method.getName())) {
-                        // 拼接 beanName 和 methodName
-                        String theKey = new StringBuilder(beanName).append('.').append(method.getName()).toString();
-                        // 判断 beforeMethodMap 中是否存在相符的 key
-                        if (beforeMethodMap.containsKey(theKey)) {
-                            // 获取对应 List 中的所有 MethodWithClass 对象
-                            List<MethodWithClass> methodWithClassList = beforeMethodMap.get(theKey);
-                            // 依次调用这些方法
-                            for (MethodWithClass methodWithClass : methodWithClassList) {
-                                Object instance = methodWithClass.getClazz().getDeclaredConstructor().newInstance();
-                                methodWithClass.getMethod().invoke(instance);
-                            }
-                        }
-                    }
-
-                    // 执行原本的方法
-                    Object result = method.invoke(bean, args);
-
-                    // 判断当前方法是否存在于 afterMethods 列表中
-                    if (afterMethods.contains(method.getName())) {
-                        // 拼接 beanName 和 methodName
-                        String theKey = new StringBuilder(beanName).append('.').append(method.getName()).toString();
-                        // 判断 beforeMethodMap 中是否存在相符的 key
-                        if (afterMethodMap.containsKey(theKey)) {
-                            // 获取对应 List 中的所有 MethodWithClass 对象
-                            List<MethodWithClass> methodWithClassList = afterMethodMap.get(theKey);
-                            // 依次调用这些方法
-                            for (MethodWithClass methodWithClass : methodWithClassList) {
-                                Object instance = methodWithClass.getClazz().getDeclaredConstructor().newInstance();
-                                methodWithClass.getMethod().invoke(instance);
-                            }
-                        }
-                    }
-                    // 返回原本的返回值
-                    return result;
-                }
-            });
-            // 直接返回代理对象来代替 bean 对象
-            return proxy;
+        if (!advice.isEmpty() || !chains.isEmpty() || !memoizedMethods.isEmpty()) {
+            // 使用 JDK 动态代理来为 bean 创建一个动态代理对象，代理对象只持有 bean、共享的通知和拦截器链，以及自己的结果表
+            return Proxy.newProxyInstance(bean.getClass().getClassLoader(), bean.getClass().getInterfaces(),
+                    new AdvisedInvocationHandler(bean, advice, chains, memoizedMethods));
         }
         return bean;
     }
 
-    private void fillMethodList(String beanName, LinkedList<String> beforeMethods, LinkedList<String> afterMethods) {
-        // 判断 beforeMethodMap 中有无传入的 beanName
-        for (String key : beforeMethodMap.keySet()) {
-            // 把 Map 中的 x.x 格式拆分成 beanName 和 methodName, 注意 . 需要转义，否则会当作正则匹配所有
-            String[] beanAndMethod = key.split("\\.");
-            if (beanAndMethod[0].equals(beanName)) {
-                // 相同就把 methodName 先存入 List 中等待后面使用
-                beforeMethods.add(beanAndMethod[1]);
-            }
+    /**
+     * 获取 bean 各个接口方法的拦截器链，拦截器的注解从实现类的方法上读取
+     * @param beanName  Bean 的名称
+     * @param beanClass  Bean 的实现类
+     * @return  key 为接口方法，只包含有拦截器或 @Memoize 的方法
+     */
+    private InterceptorChains getInterceptorChains(String beanName, Class<?> beanClass) {
+        InterceptorChains cached = interceptorChainsMap.get(beanName);
+        if (cached != null && cached.beanClass == beanClass) {
+            return cached;
         }
-        // 判断 afterMethodMap 中有无传入的 beanName
-        for (String key : afterMethodMap.keySet()) {
-            // 把 Map 中的 x.x 格式拆分成 beanName 和 methodName
-            String[] beanAndMethod = key.split("\\.");
-            // 判断数组中的 beanName 是否与传入的 beanName 相同
-            if (beanAndMethod[0].equals(beanName)) {
-                // 相同就把 methodName 先存入 List 中等待后面使用
-                afterMethods.add(beanAndMethod[1]);
+        // 早期引用和初始化后都会调用到这里，在 compute 中解析保证同一个 Bean 只有一份拦截器；热加载后实现类会变化，需要重新解析
+        return interceptorChainsMap.compute(beanName, (name, old) ->
+                old != null && old.beanClass == beanClass ? old : createInterceptorChains(beanName, beanClass));
+    }
+
+    private InterceptorChains createInterceptorChains(String beanName, Class<?> beanClass) {
+        Map<Method, MethodInterceptor[]> chains = new HashMap<>();
+        Map<Method, MemoizedMethod> memoizedMethods = new HashMap<>();
+        for (Class<?> anInterface : beanClass.getInterfaces()) {
+            for (Method method : anInterface.getMethods()) {
+                Method implMethod;
+                try {
+                    implMethod = beanClass.getMethod(method.getName(), method.getParameterTypes());
+                } catch (NoSuchMethodException e) {
+                    continue;
+                }
+                List<MethodInterceptor> interceptors = new ArrayList<>();
+                for (MethodInterceptorFactory factory : interceptorFactories) {
+                    factory.addInterceptors(beanName, implMethod, interceptors);
+                }
+                if (!interceptors.isEmpty()) {
+                    chains.put(method, interceptors.toArray(new MethodInterceptor[0]));
+                }
+                Memoize memoize = implMethod.getAnnotation(Memoize.class);
+                if (memoize != null && !memoizedMethods.containsKey(method)) {
+                    memoizedMethods.put(method, new MemoizedMethod(memoizedMethods.size(), implMethod, memoize));
+                }
             }
         }
+        // 大多数 Bean 没有拦截器，共用同一个空 Map
+        return new InterceptorChains(beanClass,
+                chains.isEmpty() ? Collections.emptyMap() : chains,
+                memoizedMethods.isEmpty() ? Collections.emptyMap() : memoizedMethods);
+    }
+
+    /**
+     * 实现类的接口方法上是否有拦截器注解或 @Memoize，构建时生成代理配置使用，不写入缓存
+     * @param beanName  Bean 的名称
+     * @param beanClass  Bean 的实现类
+     */
+    boolean hasInterceptors(String beanName, Class<?> beanClass) {
+        InterceptorChains interceptorChains = createInterceptorChains(beanName, beanClass);
+        return !interceptorChains.chains.isEmpty() || !interceptorChains.memoizedMethods.isEmpty();
+    }
+
+    /**
+     * 获取容错注解的计数
+     * @return  key: beanName.methodName
+     */
+    public Map<String, ResilienceMetrics> getResilienceMetrics() {
+        return resilienceInterceptorFactory.getMetrics();
+    }
+
+    /**
+     * 一个 Bean 实现类对应的拦截器链
+     */
+    private static class InterceptorChains {
+
+        private final Class<?> beanClass;
+
+        private final Map<Method, MethodInterceptor[]> chains;
+
+        private final Map<Method, MemoizedMethod> memoizedMethods;
+
+        private InterceptorChains(Class<?> beanClass, Map<Method, MethodInterceptor[]> chains, Map<Method, MemoizedMethod> memoizedMethods) {
+            this.beanClass = beanClass;
+            this.chains = chains;
+            this.memoizedMethods = memoizedMethods;
+        }
     }
 }
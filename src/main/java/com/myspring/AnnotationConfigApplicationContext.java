@@ -1,37 +1,61 @@
 package com.myspring;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URL;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * @author codeep
  * @date 2024/3/15 10:47
  * @description:
  */
-public class AnnotationConfigApplicationContext {
+public class AnnotationConfigApplicationContext implements ApplicationEventPublisher, Closeable {
 
     /**
      * 用户传来的配置类
      */
-    private Class configClass;
+    private Class<?> configClass;
 
     /**
      * 单例池
      */
-    private ConcurrentHashMap<String, Object> singletonObjects = new ConcurrentHashMap();
+    private ConcurrentHashMap<String, Object> singletonObjects = new ConcurrentHashMap<>();
 
     /**
-     * 二级缓存单例池，存放还没进行属性赋值的半成品单例 Bean
+     * 二级缓存单例池，存放还没进行属性赋值的半成品单例 Bean，单例创建完成后即删除
      */
-    private ConcurrentHashMap<String, Object> earlySingletonObjects = new ConcurrentHashMap();
+    private ConcurrentHashMap<String, Object> earlySingletonObjects = new ConcurrentHashMap<>();
 
     /**
      * 三级缓存
@@ -39,9 +63,36 @@ public class AnnotationConfigApplicationContext {
     private ConcurrentHashMap<String, ObjectFactory> singletonFactories = new ConcurrentHashMap<>();
 
     /**
-     * BeanDefinition 对象存储空间
+     * 配置类解析出的元数据（BeanDefinition、切入点、注入计划等），只读，可能与其他容器共享，热重载时整体替换
      */
-    private ConcurrentHashMap<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>();
+    private volatile ConfigurationMetadata metadata;
+
+    /**
+     * 父容器，本容器中找不到的 Bean 会到父容器中查找
+     */
+    private final AnnotationConfigApplicationContext parent;
+
+    /**
+     * 子容器的元数据缓存，同一个配置类的所有子容器共享同一份元数据
+     */
+    private final ConcurrentHashMap<Class<?>, ConfigurationMetadata> childMetadataCache = new ConcurrentHashMap<>();
+
+    /**
+     * 配置字符串的类型转换器
+     */
+    private final TypeConverter typeConverter = new TypeConverter();
+
+    /**
+     * @Value 属性绑定好配置字符串的转换函数，配置快照只读，所以每个属性只需解析一次占位符；
+     * 缓存的是转换函数而不是转换结果，每次注入都得到新对象，String[] 等可变值不会在实例之间共享
+     */
+    private final ConcurrentHashMap<Field, Supplier<Object>> valueCache = new ConcurrentHashMap<>();
+
+    /**
+     * @Bean 方法绑定好配置类实例和 @Value 参数后的调用器，第一次创建时生成，热重载时清空
+     * key: beanName
+     */
+    private final ConcurrentHashMap<String, FactoryMethodInvoker> factoryMethodInvokers = new ConcurrentHashMap<>();
 
     /**
      * 用于存储 BeanPostProcessor 实现类
@@ -49,36 +100,387 @@ public class AnnotationConfigApplicationContext {
     private List<BeanPostProcessor> beanPostProcessorList = new ArrayList<>();
 
     /**
-     * 用于存储通过 @Before 注解解析出的切入点及通知
-     * key: execute 表达式
-     * value: 同一个 execute 表达式的所有增强方法
+     * 记录每个线程正在创建中的 Bean 的名称
+     */
+    private final BeanCreationTracker creationTracker = new BeanCreationTracker();
+
+    /**
+     * 每个单例各自的创建锁，不同的单例可以在不同线程中同时创建
+     */
+    private final ConcurrentHashMap<String, ReentrantLock> singletonLocks = new ConcurrentHashMap<>();
+
+    /**
+     * 正在创建某个单例的线程，用于发现跨线程的循环等待
+     */
+    private final ConcurrentHashMap<String, Thread> singletonCreators = new ConcurrentHashMap<>();
+
+    /**
+     * 正在等待其他线程创建单例的线程，以及它等待的 beanName
+     */
+    private final ConcurrentHashMap<Thread, String> waitingSingletons = new ConcurrentHashMap<>();
+
+    /**
+     * 等待其他线程创建单例时，每隔多久检查一次是否形成了循环等待（毫秒）
+     */
+    private static final long SINGLETON_WAIT_CHECK_MILLIS = 10;
+
+    /**
+     * 需要在容器关闭时执行销毁回调的单例 Bean
+     */
+    private ConcurrentHashMap<String, DisposableBeanAdapter> disposableBeans = new ConcurrentHashMap<>();
+
+    /**
+     * Bean 之间的依赖关系
+     * key: 被依赖的 beanName
+     * value: 依赖它的所有 beanName
+     */
+    private ConcurrentHashMap<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>();
+
+    /**
+     * 单个 Bean 的销毁回调允许执行的最长时间（毫秒）
+     */
+    private volatile long destroyTimeoutMillis = 10000;
+
+    /**
+     * 容器是否处于活动状态，关闭后不再允许获取 Bean
+     */
+    private final AtomicBoolean active = new AtomicBoolean(true);
+
+    /**
+     * 是否已经调用过 close()，保证关闭流程只执行一次
+     */
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * 事件分发器，扫描时注册 @EventListener 方法
+     */
+    private ApplicationEventMulticaster applicationEventMulticaster;
+
+    /**
+     * 启动期间记录每个 Bean 的创建耗时，启动完成后置为 null，之后创建 Bean 不再记录
+     */
+    private volatile StartupRecorder startupRecorder = new StartupRecorder();
+
+    /**
+     * 启动完成时构建的依赖图
+     */
+    private BeanDependencyGraph dependencyGraph;
+
+    /**
+     * 定时任务调度器，开启 @EnableScheduling 时创建，子容器直接使用父容器的调度器
+     */
+    private TaskScheduler taskScheduler;
+
+    /**
+     * 调度器是否由本容器创建，只有创建者负责在关闭时停止它
+     */
+    private boolean ownsTaskScheduler;
+
+    /**
+     * 正在调度的定时任务，热重载时整体替换
+     */
+    private volatile List<ScheduledTask> scheduledTasks = Collections.emptyList();
+
+    /**
+     * 定时任务的计数，热重载后同名任务继续累计
+     * key: beanName.methodName
+     */
+    private final ConcurrentHashMap<String, ScheduledTaskMetrics> scheduledTaskMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * JVM 关闭钩子，调用 registerShutdownHook() 后才会注册
+     */
+    private Thread shutdownHook;
+
+    /**
+     * 是否开启了热重载
      */
-    private ConcurrentHashMap<String, List<MethodWithClass>> beforeMethodMap = new ConcurrentHashMap<>();
+    private final boolean hotReloadEnabled;
 
     /**
-     * 用于存储通过 @After 注解解析出的切入点及通知
+     * 热重载模式下单例 Bean 的可替换目标
      */
-    private ConcurrentHashMap<String, List<MethodWithClass>> afterMethodMap = new ConcurrentHashMap<>();
+    private final RefreshableTargets refreshableTargets = new RefreshableTargets();
 
     /**
-     * 正在创建中的 Bean 的名称
+     * 最近一次热重载使用的类加载器，下一次热重载以它为父加载器
      */
-    private LinkedList<String> creatingBeanNameList = new LinkedList<>();
+    private ClassLoader reloadClassLoader;
+
+    /**
+     * 热重载时监听 class 文件变化的监听器
+     */
+    private ClassFileWatcher classFileWatcher;
+
+    /**
+     * 保证同一时间只有一次热重载
+     */
+    private final Object reloadLock = new Object();
 
     /**
      * 初始化 IoC 容器
      *
      * @param configClass 配置类
      */
-    public AnnotationConfigApplicationContext(Class configClass) {
+    public AnnotationConfigApplicationContext(Class<?> configClass) {
+        this(configClass, null);
+    }
+
+    /**
+     * 初始化一个子容器，同一个父容器下相同配置类的子容器只扫描解析一次，
+     * 每个子容器只持有自己的单例 Bean，找不到的 Bean 到父容器中查找
+     *
+     * @param configClass 配置类
+     * @param parent    父容器，为 null 时等同于普通容器
+     */
+    public AnnotationConfigApplicationContext(Class<?> configClass, AnnotationConfigApplicationContext parent) {
         // 接收传入的配置类
         this.configClass = configClass;
-        // 扫描配置类中指定的路径
-        scan(configClass);
+        this.parent = parent;
+        // 判断配置类是否开启热重载
+        this.hotReloadEnabled = configClass.isAnnotationPresent(EnableHotReload.class);
+        // 根据配置类创建同步或异步的事件分发器
+        initApplicationEventMulticaster();
+        // 扫描配置类中指定的路径，有父容器时复用父容器中缓存的解析结果
+        this.metadata = parent == null ? new ConfigurationMetadata(configClass, null) : parent.getChildMetadata(configClass);
+        // 热重载需要监听扫描目录，在创建任何 Bean 之前检查
+        if (hotReloadEnabled && metadata.getScanDirectory() == null) {
+            throw new IllegalStateException("扫描路径不是文件目录，无法开启热重载：" + configClass.getName());
+        }
+        // 实例化元数据中的 BeanPostProcessor
+        registerBeanPostProcessors();
+        // 把元数据中的监听方法注册到事件分发器中
+        for (ListenerMethod listenerMethod : metadata.getListenerMethods()) {
+            applicationEventMulticaster.addListener(listenerMethod);
+        }
         // 判断配置类是否开启 AOP
         checkAop();
         // 在扫描完成后创建所有的单例 Bean 并放入单例池中
         createAllSingletons();
+        // 通知监听者容器已经启动完成
+        publishEvent(new ContextRefreshedEvent(this));
+        // 停止记录创建耗时，构建启动时的依赖图
+        finishStartupRecording();
+        // 所有 Bean 就绪后开始调度定时任务
+        startScheduling();
+        // 开启热重载时开始监听扫描目录
+        startHotReload();
+    }
+
+    /**
+     * 以当前容器为父容器，创建一个子容器
+     * @param configClass   子容器的配置类
+     * @return  子容器
+     */
+    public AnnotationConfigApplicationContext createChildContext(Class<?> configClass) {
+        return new AnnotationConfigApplicationContext(configClass, this);
+    }
+
+    /**
+     * 获取子容器使用的元数据，同一个配置类只解析一次
+     * @param configClass   子容器的配置类
+     * @return  共享的元数据
+     */
+    private ConfigurationMetadata getChildMetadata(Class<?> configClass) {
+        return childMetadataCache.computeIfAbsent(configClass, clazz -> new ConfigurationMetadata(clazz, metadata));
+    }
+
+    /**
+     * 获取容器的配置快照
+     */
+    public Environment getEnvironment() {
+        return metadata.getEnvironment();
+    }
+
+    /**
+     * 获取扫描时条件注解的判断报告
+     */
+    public ConditionEvaluationReport getConditionReport() {
+        return metadata.getConditionReport();
+    }
+
+    /**
+     * 获取 @Retry、@RateLimit、@Bulkhead 的计数，未开启 AOP 时为空
+     * @return  key: beanName.methodName
+     */
+    public Map<String, ResilienceMetrics> getResilienceMetrics() {
+        for (BeanPostProcessor beanPostProcessor : beanPostProcessorList) {
+            if (beanPostProcessor instanceof AnnotationAwareAspectJAutoProxyCreator) {
+                return ((AnnotationAwareAspectJAutoProxyCreator) beanPostProcessor).getResilienceMetrics();
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 获取启动时的 Bean 依赖图，包含每个 Bean 的创建耗时和启动的关键路径
+     */
+    public BeanDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    private void finishStartupRecording() {
+        StartupRecorder recorder = startupRecorder;
+        startupRecorder = null;
+        dependencyGraph = BeanDependencyGraph.build(metadata, recorder.getSteps(), System.nanoTime() - recorder.getStartNanos());
+    }
+
+    /**
+     * 获取定时任务的计数，未开启 @EnableScheduling 时为空
+     * @return  key: beanName.methodName
+     */
+    public Map<String, ScheduledTaskMetrics> getScheduledTaskMetrics() {
+        return Collections.unmodifiableMap(scheduledTaskMetrics);
+    }
+
+    /**
+     * 开始调度元数据中的 @Scheduled 方法。配置类上有 @EnableScheduling 或父容器已开启调度时才生效，
+     * 否则与 Spring 一样不调度这些方法，也不会创建时间轮线程；
+     * 父子容器共用同一个时间轮线程和工作线程
+     */
+    private void startScheduling() {
+        TaskScheduler parentScheduler = parent != null ? parent.taskScheduler : null;
+        EnableScheduling enableScheduling = configClass.getAnnotation(EnableScheduling.class);
+        if ((enableScheduling == null && parentScheduler == null) || metadata.getScheduledMethods().isEmpty()) {
+            return;
+        }
+        if (parentScheduler != null) {
+            taskScheduler = parentScheduler;
+        } else {
+            taskScheduler = new TaskScheduler(enableScheduling);
+            ownsTaskScheduler = true;
+        }
+        scheduleTasks(metadata.getScheduledMethods());
+    }
+
+    /**
+     * 为每个定时方法创建任务，Bean 在每次执行时才获取，热重载后自动使用新的 Bean
+     */
+    private void scheduleTasks(List<ScheduledMethod> scheduledMethods) {
+        List<ScheduledTask> tasks = new ArrayList<>(scheduledMethods.size());
+        for (ScheduledMethod scheduledMethod : scheduledMethods) {
+            ScheduledTaskMetrics metrics = scheduledTaskMetrics.computeIfAbsent(scheduledMethod.getName(), ScheduledTaskMetrics::new);
+            tasks.add(taskScheduler.schedule(scheduledMethod, this::getBean, metrics));
+        }
+        scheduledTasks = Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * 取消本容器的定时任务并等待正在执行的结束，调度器由本容器创建时一并停止
+     * @param failures  收集未能按时结束的情况
+     */
+    private void stopScheduling(List<Exception> failures) {
+        if (taskScheduler == null) {
+            return;
+        }
+        if (!TaskScheduler.cancel(scheduledTasks, destroyTimeoutMillis)) {
+            failures.add(new IllegalStateException("部分定时任务在 " + destroyTimeoutMillis + "ms 内未能结束"));
+        }
+        scheduledTasks = Collections.emptyList();
+        if (ownsTaskScheduler && !taskScheduler.shutdown(destroyTimeoutMillis)) {
+            failures.add(new IllegalStateException("定时任务线程在 " + destroyTimeoutMillis + "ms 内未能结束，已被中断"));
+        }
+    }
+
+    /**
+     * 估算本容器的内存占用。先统计共享的元数据，再依次统计每个单例 Bean 和它的代理，最后统计容器自身，
+     * 被多处引用的对象只计入最先统计到它的一项；父容器和其他 Bean 不计入
+     * @return  内存占用报告
+     */
+    public MemoryFootprintReport getMemoryFootprint() {
+        MemoryFootprint footprint = new MemoryFootprint();
+        footprint.addBoundary(this);
+        footprint.addBoundary(parent);
+        footprint.addBoundary(metadata.getParent());
+        // 按定义顺序统计
+        Map<String, Object> beans = new LinkedHashMap<>();
+        for (String beanName : metadata.getBeanDefinitionMap().keySet()) {
+            Object bean = singletonObjects.get(beanName);
+            if (bean != null) {
+                beans.put(beanName, bean);
+            }
+        }
+        for (Object bean : beans.values()) {
+            footprint.addBoundary(bean);
+            footprint.addBoundary(unwrapProxy(bean));
+        }
+        long metadataBytes = footprint.measure(metadata);
+        List<BeanFootprint> beanFootprints = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : beans.entrySet()) {
+            Object exposed = entry.getValue();
+            Object target = unwrapProxy(exposed);
+            long beanBytes = footprint.measure(target);
+            long proxyBytes = target == exposed ? 0 : footprint.measure(exposed);
+            beanFootprints.add(new BeanFootprint(entry.getKey(), beanBytes, proxyBytes));
+        }
+        long containerBytes = footprint.measure(this);
+        return new MemoryFootprintReport(beanFootprints, metadataBytes, containerBytes);
+    }
+
+    /**
+     * 取出 AOP 代理对象中的原始 Bean，不是 AOP 代理时原样返回
+     */
+    private static Object unwrapProxy(Object bean) {
+        if (Proxy.isProxyClass(bean.getClass()) && Proxy.getInvocationHandler(bean) instanceof AdvisedInvocationHandler) {
+            return ((AdvisedInvocationHandler) Proxy.getInvocationHandler(bean)).getTarget();
+        }
+        return bean;
+    }
+
+    public AnnotationConfigApplicationContext getParent() {
+        return parent;
+    }
+
+    /**
+     * 实例化元数据中所有实现了 BeanPostProcessor 接口的类，并放进池子中
+     */
+    private void registerBeanPostProcessors() {
+        for (Class<?> clazz : metadata.getBeanPostProcessorClassList()) {
+            try {
+                // 实现了 BeanPostProcessor 接口的类直接实例化
+                BeanPostProcessor instance = (BeanPostProcessor) clazz.getDeclaredConstructor().newInstance();
+                // 把实例存入池子中
+                beanPostProcessorList.add(instance);
+            } catch (InstantiationException e) {
+                e.printStackTrace();
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            } catch (InvocationTargetException e) {
+                e.printStackTrace();
+            } catch (NoSuchMethodException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * 判断配置类是否开启了异步事件，开启就使用有界线程池分发事件，否则在发布线程中同步分发
+     */
+    private void initApplicationEventMulticaster() {
+        // 判断类上是否有 @EnableAsyncEvent 注解
+        if (configClass.isAnnotationPresent(EnableAsyncEvent.class)) {
+            EnableAsyncEvent asyncEventAnnotation = configClass.getDeclaredAnnotation(EnableAsyncEvent.class);
+            applicationEventMulticaster = new ApplicationEventMulticaster(this::getBean,
+                    ApplicationEventMulticaster.createBoundedExecutor(asyncEventAnnotation.threads(), asyncEventAnnotation.queueCapacity()));
+        } else {
+            applicationEventMulticaster = new ApplicationEventMulticaster(this::getBean);
+        }
+    }
+
+    /**
+     * 发布事件
+     * @param event 事件对象
+     */
+    @Override
+    public void publishEvent(Object event) {
+        if (event == null) {
+            throw new IllegalArgumentException("事件不能为 null");
+        }
+        applicationEventMulticaster.multicastEvent(event);
+        // 事件同时发布到父容器中
+        if (parent != null) {
+            parent.publishEvent(event);
+        }
     }
 
     /**
@@ -107,25 +509,12 @@ public class AnnotationConfigApplicationContext {
     private void checkAop() {
         // 判断类上是否有 @EnableAspectJAutoProxy 注解
         if (configClass.isAnnotationPresent(EnableAspectAutoProxy.class)) {
-            // 如果存在此注解，便先获取 AnnotationAwareAspectJAutoProxyCreator 的 Class 对象
-            Class clazz = AnnotationAwareAspectJAutoProxyCreator.class;
-            try {
-                // 将 AnnotationAwareAspectJAutoProxyCreator 实例化
-                AnnotationAwareAspectJAutoProxyCreator instance = (AnnotationAwareAspectJAutoProxyCreator) clazz.getDeclaredConstructor().newInstance();
-                // 填充这个实例的两个属性
-                instance.setAfterMethodMap(afterMethodMap);
-                instance.setBeforeMethodMap(beforeMethodMap);
-                // 把实例存入 beanPostProcessor 池子中
-                beanPostProcessorList.add(instance);
-            } catch (InstantiationException e) {
-                e.printStackTrace();
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            } catch (InvocationTargetException e) {
-                e.printStackTrace();
-            } catch (NoSuchMethodException e) {
-                e.printStackTrace();
-            }
+            // 直接实例化 AnnotationAwareAspectJAutoProxyCreator，框架自己的类不经过反射，封闭环境下无需额外配置
+            AnnotationAwareAspectJAutoProxyCreator instance = new AnnotationAwareAspectJAutoProxyCreator();
+            // 填充这个实例的通知，按 Bean 分组的通知由元数据共享
+            instance.setBeanAdviceMap(metadata.getBeanAdviceMap());
+            // 把实例存入 beanPostProcessor 池子中
+            beanPostProcessorList.add(instance);
         }
     }
 
@@ -134,7 +523,7 @@ public class AnnotationConfigApplicationContext {
      */
     private void createAllSingletons() {
         // 获取 beanDefinitionMap 中的所有键值对
-        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
             // 拿到 beanName
             String beanName = entry.getKey();
             // 拿到 BeanDefinition 对象
@@ -154,30 +543,21 @@ public class AnnotationConfigApplicationContext {
      * @return Bean 对象
      */
     public Object getBean(String beanName) {
+        // 容器关闭后不再提供 Bean
+        if (!active.get()) {
+            throw new IllegalStateException("容器已关闭，无法获取 Bean：" + beanName);
+        }
         // 判断传入的参数是否在 beanDefinitionMap 中定义过
-        if (beanDefinitionMap.containsKey(beanName)) {
+        if (metadata.containsBeanDefinition(beanName)) {
             // 获取 BeanDefinition 对象
-            BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+            BeanDefinition beanDefinition = metadata.getBeanDefinition(beanName);
             // 存在意味着之前定义过，那么就需要判断它的作用域
             if ("singleton".equals(beanDefinition.getScope())) {
-                // 单例模式直接取出即可
+                // 单例模式直接取出即可，已经创建完成的单例无需加锁
                 Object bean = singletonObjects.get(beanName);
-                // 如果取不到，且这个 Bean 正在创建，就尝试从二级缓存中取出
-                if (bean == null && creatingBeanNameList.contains(beanName)) {
-                    bean = earlySingletonObjects.get(beanName);
-                }
-                // 如果仍然取不到，且这个 Bean 正在创建，就从三级缓存中去取，并放入二级缓存
-                if (bean == null && creatingBeanNameList.contains(beanName)) {
-                    // 从三级缓存中取出，调用 getObject() 方法来执行 getEarlyBeanReference() 方法
-                    bean = singletonFactories.get(beanName).getObject();
-                    // 放入二级缓存
-                    earlySingletonObjects.put(beanName, bean);
-                    // 从三级缓存中删除
-                    singletonFactories.remove(beanName);
-                }
-                // 否则直接调用 createBean() 方法创建对象
+                // 取不到就加锁后再从缓存中获取或创建
                 if (bean == null) {
-                    bean = createBean(beanName, beanDefinition);
+                    bean = getOrCreateSingleton(beanName, beanDefinition);
                 }
                 return bean;
             } else {
@@ -185,6 +565,9 @@ public class AnnotationConfigApplicationContext {
                 Object bean = createBean(beanName, beanDefinition);
                 return bean;
             }
+        } else if (parent != null && parent.containsBean(beanName)) {
+            // 本容器中没有定义，就交给父容器
+            return parent.getBean(beanName);
         } else {
             // 不存在意味着没有定义，则抛出异常（推荐自定义异常，这里用空指针代替）
             throw new NullPointerException("池中无对象");
@@ -192,154 +575,127 @@ public class AnnotationConfigApplicationContext {
     }
 
     /**
-     * 扫描包下的注解
-     *
-     * @param configClass 配置类
+     * 加锁获取或创建单例 Bean，保证并发时同一个单例只创建一次。每个单例使用各自的锁，
+     * 初始化回调中等待其他线程获取别的 Bean 不会因为一把全局锁而死锁
+     * @param beanName  Bean 的名称
+     * @param beanDefinition    Bean 的定义
+     * @return  Bean 对象
      */
-    private void scan(Class configClass) {
-        // 判断类上是否有 @ComponentScan 注解
-        if (configClass.isAnnotationPresent(ComponentScan.class)) {
-            // 获取类上的 @ComponentScan 注解
-            ComponentScan componentScanAnnotation = (ComponentScan) configClass.getDeclaredAnnotation(ComponentScan.class);
-            // 得到扫描路径
-            String scanPath = componentScanAnnotation.value();
-            // 获取应用类加载器
-            ClassLoader classLoader = AnnotationConfigApplicationContext.class.getClassLoader();
-            // 通过应用类加载器来获取资源路径
-            URL resource = classLoader.getResource(scanPath.replace('.', '/'));
-            // 把资源路径转化成文件
-            File file = new File(resource.getFile());
-            // 判断此文件是否是一个目录文件
-            if (file.isDirectory()) {
-                // 获取此目录下的所有文件
-                File[] files = file.listFiles();
-                // 遍历所有的文件
-                for (File f : files) {
-                    // 将文件名转化为全限定名
-                    String fileName = f.getName();
-                    if (fileName.endsWith(".class")) {
-                        // 将文件名转化成类的全限定名
-                        String className = scanPath.concat(".").concat(fileName.substring(0, fileName.lastIndexOf('.')));
-                        try {
-                            // 通过类加载器加载类文件来获取 Class 对象
-                            Class<?> clazz = classLoader.loadClass(className);
-                            // 通过每个类的 Class 对象判断该类是否添加了 @Component 注解
-                            if (clazz.isAnnotationPresent(Component.class)) {
-                                // 把实现了 BeanPostProcessor 接口的类实例添加到 list 中
-                                addToBeanPostProcessorList(clazz);
-                                // 对添加了 @Aspect 注解的类执行额外操作
-                                getPointcutFromAspect(clazz);
-                                // 创建当前类的 BeanDefinition 对象并添加到 map 中
-                                putInBeanDefinitionMap(clazz);
-                            }
-                        } catch (ClassNotFoundException e) {
-                            e.printStackTrace();
-                        } catch (InvocationTargetException e) {
-                            e.printStackTrace();
-                        } catch (InstantiationException e) {
-                            e.printStackTrace();
-                        } catch (IllegalAccessException e) {
-                            e.printStackTrace();
-                        } catch (NoSuchMethodException e) {
-                            e.printStackTrace();
-                        }
-                    }
+    private Object getOrCreateSingleton(String beanName, BeanDefinition beanDefinition) {
+        // 这个 Bean 正在被当前线程创建，说明出现了循环依赖，需要使用提前暴露的引用
+        if (creationTracker.isCurrentlyInCreation(beanName)) {
+            Object bean = singletonObjects.get(beanName);
+            return bean != null ? bean : getEarlySingleton(beanName);
+        }
+        ReentrantLock lock = singletonLockOf(beanName);
+        if (!lock.tryLock() && !awaitSingletonLock(beanName, lock)) {
+            // 创建它的线程正在等待当前线程创建中的 Bean，这是跨线程的循环依赖，同样使用提前暴露的引用
+            Object bean = singletonObjects.get(beanName);
+            return bean != null ? bean : getEarlySingleton(beanName);
+        }
+        try {
+            // 加锁后再检查一次，其他线程可能已经创建完成
+            Object bean = singletonObjects.get(beanName);
+            if (bean == null) {
+                singletonCreators.put(beanName, Thread.currentThread());
+                try {
+                    bean = createBean(beanName, beanDefinition);
+                } finally {
+                    singletonCreators.remove(beanName);
                 }
             }
+            return bean;
+        } finally {
+            lock.unlock();
         }
     }
 
+    private ReentrantLock singletonLockOf(String beanName) {
+        return singletonLocks.computeIfAbsent(beanName, key -> new ReentrantLock());
+    }
+
     /**
-     * 判断传入的类是否是切面类，如果是切面类就进行解析
-     * @param clazz
+     * 等待其他线程创建完单例。如果创建它的线程直接或间接地在等待当前线程正在创建的 Bean，继续等待就会死锁，此时放弃等待
+     * @param beanName  Bean 的名称
+     * @param lock  这个单例的创建锁
+     * @return  是否获得了锁
      */
-    private void getPointcutFromAspect(Class<?> clazz) {
-        // 判断是否添加了 @Aspect 注解
-        if (clazz.isAnnotationPresent(Aspect.class)) {
-            // 遍历这个类的全部方法
-            for (Method declaredMethod : clazz.getDeclaredMethods()) {
-                // 判断是否添加了 @Before 注解
-                if (declaredMethod.isAnnotationPresent(Before.class)) {
-                    // 获取 @Before 注解
-                    Before beforeAnnotation = declaredMethod.getDeclaredAnnotation(Before.class);
-                    // 获取注解中的参数
-                    String pointcut = beforeAnnotation.value();
-                    // 将解析出的参数和方法本身填入 map
-                    List<MethodWithClass> methodWithClassList = null;
-                    if (beforeMethodMap.get(pointcut) == null) {
-                        methodWithClassList = new LinkedList<>();
-                    }
-                    else {
-                        methodWithClassList = beforeMethodMap.get(pointcut);
-                    }
-                    MethodWithClass methodWithClass = new MethodWithClass(clazz, declaredMethod);
-                    methodWithClassList.add(methodWithClass);
-                    beforeMethodMap.put(pointcut, methodWithClassList);
-                }
-                // 判断是否添加了 @After 注解
-                if (declaredMethod.isAnnotationPresent(After.class)) {
-                    // 获取 @After 注解
-                    After afterAnnotation = declaredMethod.getDeclaredAnnotation(After.class);
-                    // 获取注解中的参数
-                    String pointcut = afterAnnotation.value();
-                    // 将解析出的参数和方法本身填入 map
-                    List<MethodWithClass> methodWithClassList = null;
-                    if (afterMethodMap.get(pointcut) == null) {
-                        methodWithClassList = new LinkedList<>();
-                    }
-                    else {
-                        methodWithClassList = afterMethodMap.get(pointcut);
-                    }
-                    MethodWithClass methodWithClass = new MethodWithClass(clazz, declaredMethod);
-                    methodWithClassList.add(methodWithClass);
-                    afterMethodMap.put(pointcut, methodWithClassList);
+    private boolean awaitSingletonLock(String beanName, ReentrantLock lock) {
+        Thread current = Thread.currentThread();
+        // 先登记再检查，两个线程同时开始等待时至少后检查的一方能发现循环
+        waitingSingletons.put(current, beanName);
+        try {
+            while (!isWaitingForCurrentThread(beanName)) {
+                if (lock.tryLock(SINGLETON_WAIT_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
                 }
             }
+            return false;
+        } catch (InterruptedException e) {
+            current.interrupt();
+            throw new IllegalStateException("等待其他线程创建 Bean 时被中断：" + beanName, e);
+        } finally {
+            waitingSingletons.remove(current);
         }
     }
 
     /**
-     * 把实现了 BeanPostProcessor 接口的对象实例放进池子中
-     * @param clazz 实现了 BeanPostProcessor 接口的类对象
-     *
+     * 沿着“被等待的 Bean -> 创建它的线程 -> 该线程等待的 Bean”查找，回到当前线程说明形成了循环等待
      */
-    private void addToBeanPostProcessorList(Class<?> clazz) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-        // 判断这个类是否实现了 BeanPostProcessor 接口
-        if (BeanPostProcessor.class.isAssignableFrom(clazz)) {
-            // 如果实现了 BeanPostProcessor 接口，就直接实例化
-            BeanPostProcessor instance = (BeanPostProcessor) clazz.getDeclaredConstructor().newInstance();
-            // 把实例存入池子中
-            beanPostProcessorList.add(instance);
+    private boolean isWaitingForCurrentThread(String beanName) {
+        Thread current = Thread.currentThread();
+        String waitedBeanName = beanName;
+        // 每个线程最多出现一次，步数超过等待中的线程数就不可能回到当前线程
+        for (int i = 0; i <= waitingSingletons.size(); i++) {
+            Thread creator = singletonCreators.get(waitedBeanName);
+            if (creator == null) {
+                return false;
+            }
+            if (creator == current) {
+                return true;
+            }
+            waitedBeanName = waitingSingletons.get(creator);
+            if (waitedBeanName == null) {
+                return false;
+            }
         }
+        return false;
     }
 
     /**
-     * 根据传入的 CLass 对象创建 BeanDefinition 对象并存入 Map 中
-     * @param clazz 需要创建实例的类对象
-     */
-    private void putInBeanDefinitionMap(Class<?> clazz) {
-        // 获取类的 @Component 注解
-        Component componentAnnotation = clazz.getDeclaredAnnotation(Component.class);
-        // 获取注解的参数
-        String beanName = componentAnnotation.value();
-        // 创建 BeanDefinition 对象
-        BeanDefinition beanDefinition = new BeanDefinition();
-        // 为 BeanDefinition 注入 clazz 属性
-        beanDefinition.setClazz(clazz);
-        // 判断类上是否添加了 @Scope 注解
-        if (clazz.isAnnotationPresent(Scope.class)) {
-            // 获取类上的 @Scope 注解
-            Scope scopeAnnotation = clazz.getDeclaredAnnotation(Scope.class);
-            // 获取此注解的参数，即 Bean 的作用域
-            String scope = scopeAnnotation.value();
-            // 把这个作用域赋值给 beanDefinition 对象
-            beanDefinition.setScope(scope);
-        } else {
-            // 没有配置 @Scope 注解的默认是单例模式
-            beanDefinition.setScope("singleton");
+     * 获取正在创建中的单例提前暴露的引用
+     * @param beanName  Bean 的名称
+     * @return  二级缓存中的引用，或者由三级缓存生成的引用
+     */
+    private Object getEarlySingleton(String beanName) {
+        // 跨线程的循环依赖中可能有多个线程同时来取，三级缓存到二级缓存的转移需要互斥
+        synchronized (earlySingletonObjects) {
+            // 先尝试从二级缓存中取出
+            Object bean = earlySingletonObjects.get(beanName);
+            // 如果仍然取不到，就从三级缓存中取出并删除，调用 getObject() 方法来执行 getEarlyBeanReference() 方法
+            if (bean == null) {
+                ObjectFactory singletonFactory = singletonFactories.remove(beanName);
+                // 属性填充完成后三级缓存就被删除了，此时再获取意味着无法解决的循环依赖（例如在初始化方法中）
+                if (singletonFactory == null) {
+                    List<String> creationChain = creationTracker.getCreationChain();
+                    creationChain.add(beanName);
+                    throw new BeanCurrentlyInCreationException(beanName, creationChain);
+                }
+                bean = singletonFactory.getObject();
+                // 放入二级缓存
+                earlySingletonObjects.put(beanName, bean);
+            }
+            return bean;
         }
-        // 把 BeanDefinition 对象放入 Map
-        beanDefinitionMap.put(beanName, beanDefinition);
+    }
+
+    /**
+     * 判断本容器或祖先容器中是否定义了某个 Bean
+     * @param beanName  Bean 的名称
+     * @return  是否定义
+     */
+    public boolean containsBean(String beanName) {
+        return metadata.containsBeanDefinition(beanName) || (parent != null && parent.containsBean(beanName));
     }
 
     /**
@@ -350,18 +706,42 @@ public class AnnotationConfigApplicationContext {
      * @return Bean 对象
      */
     private Object createBean(String beanName, BeanDefinition beanDefinition) {
+        return createBean(beanName, beanDefinition, null);
+    }
+
+    /**
+     * 根据 Bean 的定义创建 Bean 对象
+     *
+     * @param beanName Bean 的名称
+     * @param beanDefinition Bean 的定义
+     * @param reloadBatch   热重载时不为 null，新建的单例先放入其中，整批创建完成后再统一替换
+     * @return Bean 对象
+     */
+    private Object createBean(String beanName, BeanDefinition beanDefinition, ReloadBatch reloadBatch) {
         // 获取要创建的 Bean 对象的 Class 对象
-        Class clazz = beanDefinition.getClazz();
+        Class<?> clazz = beanDefinition.getClazz();
+        boolean singleton = "singleton".equals(beanDefinition.getScope());
+        // 记录当前线程正在创建这个 Bean，同一线程中重复创建意味着出现了无法解决的循环依赖
+        creationTracker.beforeCreation(beanName);
+        // 启动期间记录各阶段的耗时
+        StartupRecorder recorder = startupRecorder;
+        StartupRecorder.Frame startupFrame = recorder != null ? recorder.begin(beanName) : null;
         try {
-            // 通过反射创建对象
-            Object bean = clazz.getDeclaredConstructor().newInstance();
-            // 把 Bean 对象的名称放入 creatingBeanNameList 中
-            creatingBeanNameList.add(beanName);
-            // 把 Bean 对象及其名称放入三级缓存
+            // 通过构造方法或 @Bean 方法创建对象
+            Object bean = instantiate(beanName, beanDefinition);
+            if (startupFrame != null) {
+                startupFrame.enter(BeanCreationPhase.POPULATE);
+            }
+            // 只有单例需要提前暴露引用，把 Bean 对象及其名称放入三级缓存
             Object finalBean = bean;
-            singletonFactories.put(beanName, () -> getEarlyBeanReference(beanName, finalBean));
+            if (singleton) {
+                singletonFactories.put(beanName, () -> exposeRefreshable(beanName, beanDefinition, getEarlyBeanReference(beanName, finalBean)));
+            }
             // 填充 Bean 对象的属性
-            populateBean(clazz, bean);
+            populateBean(beanName, beanDefinition.getInjectionMetadata(), bean);
+            if (startupFrame != null) {
+                startupFrame.enter(BeanCreationPhase.INITIALIZE);
+            }
             // 把 Bean 对象从三级缓存中删除
             singletonFactories.remove(beanName);
             // 判断当前 Bean 是否实现了 BeanNameAware 接口
@@ -369,6 +749,10 @@ public class AnnotationConfigApplicationContext {
                 // 如果实现了 BeanNameAware 接口，就可以直接强转，然后调用 setBeanName() 方法
                 ((BeanNameAware) bean).setName(beanName);
             }
+            // 判断当前 Bean 是否实现了 ApplicationEventPublisherAware 接口
+            if (bean instanceof ApplicationEventPublisherAware) {
+                ((ApplicationEventPublisherAware) bean).setApplicationEventPublisher(this);
+            }
             // 调用 beanPostProcessorList 中所有实现类的 postProcessBeforeInitialization() 方法
             for (BeanPostProcessor beanPostProcessor : beanPostProcessorList) {
                 bean = beanPostProcessor.postProcessBeforeInitialization(bean, beanName);
@@ -382,17 +766,34 @@ public class AnnotationConfigApplicationContext {
                 bean = beanPostProcessor.postProcessAfterInitialization(bean, beanName);
             }
             // 判断二级缓存中是否存在 Bean 对象
-            if (earlySingletonObjects.containsKey(beanName)) {
+            if (singleton && earlySingletonObjects.containsKey(beanName)) {
                 // 如果存在意味着它提前 AOP 了，需要取出
                 bean = earlySingletonObjects.get(beanName);
+            } else if (reloadBatch == null) {
+                // 热重载模式下把单例包装成可替换代理
+                bean = exposeRefreshable(beanName, beanDefinition, bean);
             }
             // 把单例的 Bean 对象放入单例池
-            if ("singleton".equals(beanDefinition.getScope())) {
-                singletonObjects.put(beanName, bean);
+            if (singleton) {
+                // 单例 Bean 如果有销毁回调，就登记下来，销毁时使用原始对象而不是代理对象
+                DisposableBeanAdapter disposableBean = DisposableBeanAdapter.forBean(beanName, finalBean, preDestroyMethodsOf(beanDefinition, finalBean));
+                if (reloadBatch != null) {
+                    // 热重载时暂不替换
+                    reloadBatch.beans.put(beanName, bean);
+                    if (disposableBean != null) {
+                        reloadBatch.disposableBeans.put(beanName, disposableBean);
+                    }
+                } else {
+                    singletonObjects.put(beanName, bean);
+                    if (disposableBean != null) {
+                        disposableBeans.put(beanName, disposableBean);
+                    }
+                }
             }
-            // 从 creatingBeanNameList 中删除 BeanName
-            creatingBeanNameList.remove(beanName);
             return bean;
+        } catch (BeanCurrentlyInCreationException | BeanNotOfRequiredTypeException e) {
+            // 循环依赖和类型不匹配的诊断信息需要传递到最外层
+            throw e;
         } catch (InstantiationException e) {
             e.printStackTrace();
         } catch (IllegalAccessException e) {
@@ -403,33 +804,658 @@ public class AnnotationConfigApplicationContext {
             e.printStackTrace();
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            // 创建结束后清理二、三级缓存，之后只从单例池中获取
+            if (singleton) {
+                singletonFactories.remove(beanName);
+                earlySingletonObjects.remove(beanName);
+            }
+            creationTracker.afterCreation(beanName);
+            if (startupFrame != null) {
+                startupFrame.end();
+            }
         }
         return null;
     }
 
+    /**
+     * 创建 Bean 的原始对象
+     * @param beanName  Bean 的名称
+     * @param beanDefinition    Bean 的定义
+     * @return  尚未填充属性的对象
+     */
+    private Object instantiate(String beanName, BeanDefinition beanDefinition) throws Exception {
+        if (beanDefinition.getFactoryMethod() != null) {
+            return invokeFactoryMethod(beanName, beanDefinition.getFactoryMethod());
+        }
+        Class<?> clazz = beanDefinition.getClazz();
+        if (clazz.isInterface()) {
+            // 接口配置类由 JDK 动态代理实现，调用 @Bean 方法时从容器中获取
+            return ConfigurationInvocationHandler.createProxy(clazz, this::getBean);
+        }
+        return clazz.getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * 调用 @Bean 方法创建对象，依赖的 Bean 每次调用时从容器中获取
+     * @param beanName  Bean 的名称
+     * @param factoryMethod @Bean 方法
+     * @return  方法的返回值
+     */
+    private Object invokeFactoryMethod(String beanName, FactoryMethod factoryMethod) throws Exception {
+        FactoryMethodInvoker invoker = factoryMethodInvokers.get(beanName);
+        if (invoker == null) {
+            // 绑定时获取配置类实例可能递归创建其他 Bean，所以不能放在 computeIfAbsent 中
+            invoker = bindFactoryMethod(beanName, factoryMethod);
+            FactoryMethodInvoker existing = factoryMethodInvokers.putIfAbsent(beanName, invoker);
+            if (existing != null) {
+                invoker = existing;
+            }
+        }
+        String[] argumentNames = invoker.argumentNames;
+        Object[] args = new Object[argumentNames.length];
+        for (int i = 0; i < argumentNames.length; i++) {
+            args[i] = getBean(argumentNames[i]);
+            registerDependentBean(argumentNames[i], beanName);
+            checkRequiredType(argumentNames[i], args[i], invoker.argumentTypes[i], factoryMethod.getMethod() + " 的第 " + (i + 1) + " 个依赖参数");
+        }
+        Object bean;
+        try {
+            bean = (Object) invoker.handle.invokeExact(args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+        if (bean == null) {
+            throw new IllegalStateException("@Bean 方法返回了 null：" + factoryMethod);
+        }
+        return bean;
+    }
+
+    /**
+     * 把 @Bean 方法转换为方法句柄：绑定配置类实例，填入 @Value 参数，剩下的依赖参数展开为一个 Object[]
+     */
+    private FactoryMethodInvoker bindFactoryMethod(String beanName, FactoryMethod factoryMethod) throws IllegalAccessException {
+        Method method = factoryMethod.getMethod();
+        MethodHandle handle;
+        if (factoryMethod.isStatic()) {
+            handle = MethodHandles.lookup().unreflect(method);
+        } else {
+            String configBeanName = factoryMethod.getConfigBeanName();
+            Object config = getBean(configBeanName);
+            registerDependentBean(configBeanName, beanName);
+            if (method.isDefault()) {
+                // 接口配置类：直接执行默认方法的方法体，方法体中对其他 @Bean 方法的调用仍然经过代理
+                handle = ConfigurationInvocationHandler.specialHandle(method).bindTo(config);
+            } else {
+                // 普通配置类被 AOP 代理时绑定原始对象
+                handle = MethodHandles.lookup().unreflect(method).bindTo(unwrapProxy(config));
+            }
+        }
+        // @Value 参数的值固定不变，从后往前填入，前面参数的位置不受影响
+        String[] allArgumentNames = metadata.getFactoryArgumentNames(beanName);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        List<String> argumentNames = new ArrayList<>();
+        List<Class<?>> argumentTypes = new ArrayList<>();
+        for (int i = allArgumentNames.length - 1; i >= 0; i--) {
+            if (allArgumentNames[i] == null) {
+                Object value = typeConverter.convert(getEnvironment().resolvePlaceholders(factoryMethod.getValueExpression(i)), parameterTypes[i]);
+                handle = MethodHandles.insertArguments(handle, i, value);
+            } else {
+                argumentNames.add(0, allArgumentNames[i]);
+                argumentTypes.add(0, parameterTypes[i]);
+            }
+        }
+        handle = handle.asSpreader(Object[].class, argumentNames.size())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return new FactoryMethodInvoker(handle, argumentNames.toArray(new String[0]), argumentTypes.toArray(new Class<?>[0]));
+    }
+
     /**
      * 填充 Bean 对象的属性
-     * @param clazz Bean 对象的 Class 对象
+     * @param beanName  Bean 的名称
+     * @param injectionMetadata Bean 的注入计划
      * @param bean  待填充的 bean 对象
      * @throws IllegalAccessException
      */
-    private void populateBean(Class clazz, Object bean) throws IllegalAccessException {
-        // 遍历该类的全部属性准备进行属性填充
-        for (Field declaredField : clazz.getDeclaredFields()) {
-            // 判断属性上是否存在 @Autowired 注解
-            if (declaredField.isAnnotationPresent(Autowired.class)) {
-                // 把属性名作为参数传递到 getBean() 方法中来获取对象
-                Object fieldBean = getBean(declaredField.getName());
-                if (fieldBean == null) {
-                    Autowired autowiredAnnotation = declaredField.getDeclaredAnnotation(Autowired.class);
-                    if (autowiredAnnotation.required()) {
-                        throw new NullPointerException("参数注入错误");
+    private void populateBean(String beanName, InjectionMetadata injectionMetadata, Object bean) throws IllegalAccessException {
+        // 遍历注入计划中所有添加了 @Autowired 注解的属性
+        Field[] autowiredFields = injectionMetadata.getAutowiredFields();
+        for (int i = 0; i < autowiredFields.length; i++) {
+            Field autowiredField = autowiredFields[i];
+            // 把属性名作为参数传递到 getBean() 方法中来获取对象
+            Object fieldBean = getBean(autowiredField.getName());
+            // 记录依赖关系，关闭容器时先销毁依赖方
+            registerDependentBean(autowiredField.getName(), beanName);
+            if (fieldBean == null && injectionMetadata.isRequired(i)) {
+                throw new NullPointerException("参数注入错误");
+            }
+            checkRequiredType(autowiredField.getName(), fieldBean, autowiredField.getType(), "属性 " + autowiredField);
+            // 将 fieldBean 注入 bean 的属性值，属性在解析注入计划时已经破坏过私有
+            autowiredField.set(bean, fieldBean);
+        }
+        // 遍历注入计划中所有添加了 @Value 注解的属性
+        Field[] valueFields = injectionMetadata.getValueFields();
+        for (int i = 0; i < valueFields.length; i++) {
+            Field valueField = valueFields[i];
+            String expression = injectionMetadata.getValueExpression(i);
+            // 同一个属性只在第一次注入时解析占位符并查找转换函数，之后每次注入重新转换
+            Supplier<Object> value = valueCache.computeIfAbsent(valueField,
+                    field -> typeConverter.bind(getEnvironment().resolvePlaceholders(expression), field.getType()));
+            valueField.set(bean, value.get());
+        }
+    }
+
+    /**
+     * 检查要注入的 Bean 与注入点声明的类型是否匹配，不匹配时给出明确的错误，而不是反射赋值时的类型错误
+     */
+    private static void checkRequiredType(String beanName, Object bean, Class<?> requiredType, String injectionPoint) {
+        if (bean != null && !requiredType.isInstance(bean)) {
+            throw new BeanNotOfRequiredTypeException(beanName, requiredType, bean.getClass(), injectionPoint);
+        }
+    }
+
+    /**
+     * 记录 dependentBeanName 依赖于 beanName
+     * @param beanName  被依赖的 Bean 的名称
+     * @param dependentBeanName 依赖方 Bean 的名称
+     */
+    private void registerDependentBean(String beanName, String dependentBeanName) {
+        dependentBeanMap.computeIfAbsent(beanName, k -> ConcurrentHashMap.newKeySet()).add(dependentBeanName);
+    }
+
+    /**
+     * 获取 Bean 的 @PreDestroy 方法：@Bean 方法返回的对象可能是声明类型的子类，需要按实际类型解析
+     */
+    private static Method[] preDestroyMethodsOf(BeanDefinition beanDefinition, Object bean) {
+        if (beanDefinition.getFactoryMethod() != null && bean.getClass() != beanDefinition.getClazz()) {
+            return InjectionMetadata.resolvePreDestroyMethods(bean.getClass(), beanDefinition.getClazz());
+        }
+        return beanDefinition.getInjectionMetadata().getPreDestroyMethods();
+    }
+
+    /**
+     * 热重载模式下把单例 Bean 包装成可替换代理，其他情况原样返回
+     * @param beanName  Bean 的名称
+     * @param beanDefinition    Bean 的定义
+     * @param bean  完成创建的 Bean 对象（可能已经是 AOP 代理对象）
+     * @return  可替换代理对象或原对象
+     */
+    private Object exposeRefreshable(String beanName, BeanDefinition beanDefinition, Object bean) {
+        // 可替换代理只实现接口，有注入点按类声明时不能包装，这样的 Bean 在热重载时直接替换并重建依赖方
+        if (hotReloadEnabled && "singleton".equals(beanDefinition.getScope()) && !metadata.isInjectedByClass(beanName)
+                && RefreshableTargets.isRefreshable(bean)) {
+            return refreshableTargets.createProxy(beanName, bean);
+        }
+        return bean;
+    }
+
+    /**
+     * 开始监听扫描目录中 class 文件的变化
+     */
+    private void startHotReload() {
+        if (!hotReloadEnabled) {
+            return;
+        }
+        File scanDirectory = metadata.getScanDirectory();
+        EnableHotReload hotReloadAnnotation = configClass.getDeclaredAnnotation(EnableHotReload.class);
+        try {
+            classFileWatcher = new ClassFileWatcher(scanDirectory, metadata.getScanPackage(), hotReloadAnnotation.quietPeriod(), this::onClassFilesChanged);
+            classFileWatcher.start();
+        } catch (IOException e) {
+            // 此时 Bean 和定时任务都已启动，关闭容器后再抛出
+            IllegalStateException exception = new IllegalStateException("无法监听扫描目录：" + scanDirectory, e);
+            try {
+                close();
+            } catch (IllegalStateException closeFailure) {
+                exception.addSuppressed(closeFailure);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * 监听线程发现 class 文件变化后的回调，监听线程没有调用方，重载失败时发布 ContextReloadFailedEvent 通知监听者
+     * @param classNames    发生变化的类的全限定名
+     */
+    private void onClassFilesChanged(Set<String> classNames) {
+        try {
+            reload(classNames);
+        } catch (RuntimeException e) {
+            publishEvent(new ContextReloadFailedEvent(this, classNames, e));
+        }
+    }
+
+    /**
+     * 热重载指定的类：只重新解析这些类，重建由它们定义的 Bean、被它们增强的 Bean 以及所有依赖这些 Bean 的 Bean，
+     * 可替换代理后面的 Bean 在全部创建完成后同时替换，旧对象随后执行销毁回调
+     * @param classNames    发生变化的类的全限定名
+     * @throws IllegalStateException    变化的类无法加载时抛出，此时容器保持重载前的状态；
+     *                                  旧 Bean 的销毁回调出错时在新 Bean 全部生效后抛出，每个错误作为 suppressed 附加在上面
+     */
+    public void reload(Collection<String> classNames) {
+        synchronized (reloadLock) {
+            if (!active.get()) {
+                return;
+            }
+            ConfigurationMetadata oldMetadata = metadata;
+            File scanDirectory = oldMetadata.getScanDirectory();
+            if (scanDirectory == null) {
+                throw new IllegalStateException("扫描路径不是文件目录，无法热重载");
+            }
+            // class 文件还在的类重新加载，已被删除的类只从元数据中去掉
+            Set<String> changedClassNames = new LinkedHashSet<>(classNames);
+            Set<String> loadedClassNames = new LinkedHashSet<>();
+            Set<String> removedClassNames = new LinkedHashSet<>();
+            String scanPackage = oldMetadata.getScanPackage();
+            for (String className : changedClassNames) {
+                if (ReloadingClassLoader.classFileOf(scanDirectory, scanPackage, className).isFile()) {
+                    loadedClassNames.add(className);
+                } else {
+                    removedClassNames.add(className);
+                }
+            }
+            // 变化的类不是扫描到的组件时（例如组件使用的工具类、子包中的类），旧的组件类仍然链接着旧版本，
+            // 扫描目录中的组件类需要一起用新的类加载器重新加载
+            Set<String> componentClassNames = new LinkedHashSet<>();
+            for (Class<?> component : oldMetadata.getScannedComponents()) {
+                componentClassNames.add(component.getName());
+            }
+            if (!componentClassNames.containsAll(loadedClassNames)) {
+                for (String componentClassName : componentClassNames) {
+                    if (ReloadingClassLoader.classFileOf(scanDirectory, scanPackage, componentClassName).isFile()) {
+                        loadedClassNames.add(componentClassName);
+                        changedClassNames.add(componentClassName);
+                    }
+                }
+            }
+            // 用新的类加载器重新加载发生变化的类
+            ClassLoader parentClassLoader = reloadClassLoader != null ? reloadClassLoader : ConfigurationMetadata.class.getClassLoader();
+            ReloadingClassLoader classLoader = new ReloadingClassLoader(parentClassLoader, scanDirectory, scanPackage, loadedClassNames);
+            List<Class<?>> changedClasses = new ArrayList<>();
+            for (String className : loadedClassNames) {
+                try {
+                    changedClasses.add(classLoader.loadClass(className));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // class 文件不完整，放弃本次重载
+                    throw new IllegalStateException("热重载失败，无法加载类：" + className, e);
+                }
+            }
+            reloadClassLoader = classLoader;
+            // 只重新解析变化的类
+            ConfigurationMetadata newMetadata = oldMetadata.reload(changedClasses, removedClassNames);
+            // 找出受影响的 Bean：由变化的类定义的 Bean 以及被变化的切面增强的 Bean
+            Set<String> affectedBeanNames = new LinkedHashSet<>();
+            collectBeanNamesOfClasses(oldMetadata, changedClassNames, affectedBeanNames);
+            collectBeanNamesOfClasses(newMetadata, changedClassNames, affectedBeanNames);
+            affectedBeanNames.addAll(oldMetadata.getAdvisedBeanNames(changedClassNames));
+            affectedBeanNames.addAll(newMetadata.getAdvisedBeanNames(changedClassNames));
+            // BeanPostProcessor 发生变化时，所有 Bean 都需要重新加工
+            boolean postProcessorChanged = !oldMetadata.getBeanPostProcessorClassList().equals(newMetadata.getBeanPostProcessorClassList());
+            if (postProcessorChanged) {
+                affectedBeanNames.addAll(newMetadata.getBeanDefinitionMap().keySet());
+            }
+            // 依赖受影响 Bean 的 Bean 同样需要重建
+            addDependents(affectedBeanNames);
+            // 切换到新的元数据，@Bean 方法需要重新绑定
+            metadata = newMetadata;
+            factoryMethodInvokers.clear();
+            // 被替换的类的 @Value 转换结果不再使用，移除后旧的类加载器才能被回收
+            valueCache.keySet().removeIf(field -> changedClassNames.contains(field.getDeclaringClass().getName()));
+            if (postProcessorChanged) {
+                beanPostProcessorList = new ArrayList<>();
+                registerBeanPostProcessors();
+                checkAop();
+            } else {
+                for (BeanPostProcessor beanPostProcessor : beanPostProcessorList) {
+                    if (beanPostProcessor instanceof AnnotationAwareAspectJAutoProxyCreator) {
+                        ((AnnotationAwareAspectJAutoProxyCreator) beanPostProcessor).setBeanAdviceMap(newMetadata.getBeanAdviceMap());
+                    }
+                }
+            }
+            applicationEventMulticaster.resetListeners(newMetadata.getListenerMethods());
+            // 定时方法可能增减或修改了触发规则，取消旧任务后按新的元数据重新调度
+            if (taskScheduler != null) {
+                TaskScheduler.cancel(scheduledTasks, destroyTimeoutMillis);
+                scheduleTasks(newMetadata.getScheduledMethods());
+            }
+            // 按依赖顺序重建受影响的单例 Bean，被依赖的先创建
+            ReloadBatch reloadBatch = new ReloadBatch();
+            for (String beanName : sortByDependency(affectedBeanNames)) {
+                BeanDefinition beanDefinition = newMetadata.getBeanDefinition(beanName);
+                if (beanDefinition == null || !"singleton".equals(beanDefinition.getScope())) {
+                    continue;
+                }
+                ReentrantLock lock = singletonLockOf(beanName);
+                lock.lock();
+                singletonCreators.put(beanName, Thread.currentThread());
+                try {
+                    Object bean = createBean(beanName, beanDefinition, reloadBatch);
+                    // 没有可替换代理的 Bean 只能直接替换，这样后面重建的依赖方能拿到新对象；
+                    // 新版本中出现了按类声明的注入点时同样直接替换，不再使用原来的代理
+                    if (bean != null && (!refreshableTargets.contains(beanName) || newMetadata.isInjectedByClass(beanName))) {
+                        singletonObjects.put(beanName, exposeRefreshable(beanName, beanDefinition, bean));
                     }
+                } finally {
+                    singletonCreators.remove(beanName);
+                    lock.unlock();
                 }
-                // 破坏属性的私有
-                declaredField.setAccessible(true);
-                // 将 fieldBean 注入 bean 的属性值
-                declaredField.set(bean, fieldBean);
+            }
+            // 新元数据中已经没有定义的 Bean 随类一起删除，可替换代理之后再调用会抛出异常
+            Set<String> removedBeanNames = new LinkedHashSet<>();
+            for (String beanName : affectedBeanNames) {
+                if (newMetadata.getBeanDefinition(beanName) == null) {
+                    removedBeanNames.add(beanName);
+                    singletonObjects.remove(beanName);
+                    dependentBeanMap.remove(beanName);
+                }
+            }
+            // 所有可替换代理后面的 Bean 同时切换
+            Map<String, Object> newTargets = new HashMap<>();
+            for (Map.Entry<String, Object> entry : reloadBatch.beans.entrySet()) {
+                if (refreshableTargets.contains(entry.getKey())) {
+                    newTargets.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (String beanName : removedBeanNames) {
+                if (refreshableTargets.contains(beanName)) {
+                    newTargets.put(beanName, null);
+                }
+            }
+            refreshableTargets.swap(newTargets);
+            // 旧对象执行销毁回调，出错时不影响其他旧对象的销毁
+            List<Exception> destroyFailures = new ArrayList<>();
+            Set<String> replacedBeanNames = new LinkedHashSet<>(reloadBatch.beans.keySet());
+            replacedBeanNames.addAll(removedBeanNames);
+            for (String beanName : replacedBeanNames) {
+                DisposableBeanAdapter oldDisposableBean = disposableBeans.remove(beanName);
+                DisposableBeanAdapter newDisposableBean = reloadBatch.disposableBeans.get(beanName);
+                if (newDisposableBean != null) {
+                    disposableBeans.put(beanName, newDisposableBean);
+                }
+                if (oldDisposableBean != null) {
+                    try {
+                        oldDisposableBean.destroy();
+                    } catch (Exception e) {
+                        destroyFailures.add(new IllegalStateException("销毁旧 Bean 失败：" + beanName, e));
+                    }
+                }
+            }
+            // 通知监听者本次重建了哪些 Bean
+            publishEvent(new ContextReloadedEvent(this, new LinkedHashSet<>(reloadBatch.beans.keySet())));
+            if (!destroyFailures.isEmpty()) {
+                IllegalStateException exception = new IllegalStateException("热重载已完成，但有 " + destroyFailures.size() + " 个旧 Bean 销毁失败");
+                for (Exception failure : destroyFailures) {
+                    exception.addSuppressed(failure);
+                }
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * 找出元数据中由指定类定义的 beanName
+     */
+    private static void collectBeanNamesOfClasses(ConfigurationMetadata metadata, Set<String> classNames, Set<String> beanNames) {
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            if (classNames.contains(entry.getValue().getSourceClass().getName())) {
+                beanNames.add(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * 把直接或间接依赖 beanNames 的 Bean 也加入其中
+     */
+    private void addDependents(Set<String> beanNames) {
+        Deque<String> queue = new ArrayDeque<>(beanNames);
+        while (!queue.isEmpty()) {
+            Set<String> dependents = dependentBeanMap.get(queue.poll());
+            if (dependents != null) {
+                for (String dependent : dependents) {
+                    if (beanNames.add(dependent)) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 把 beanNames 排序为被依赖的 Bean 在前、依赖方在后
+     */
+    private List<String> sortByDependency(Set<String> beanNames) {
+        // 由 dependentBeanMap 反推出每个 Bean 依赖的 Bean
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : dependentBeanMap.entrySet()) {
+            for (String dependent : entry.getValue()) {
+                dependencies.computeIfAbsent(dependent, k -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        List<String> sorted = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        for (String beanName : beanNames) {
+            visitDependencies(beanName, beanNames, dependencies, visited, sorted);
+        }
+        return sorted;
+    }
+
+    private void visitDependencies(String beanName, Set<String> beanNames, Map<String, Set<String>> dependencies, Set<String> visited, List<String> sorted) {
+        // 已经访问过的直接跳过，循环依赖也在这里终止
+        if (!visited.add(beanName)) {
+            return;
+        }
+        for (String dependency : dependencies.getOrDefault(beanName, Collections.emptySet())) {
+            if (beanNames.contains(dependency)) {
+                visitDependencies(dependency, beanNames, dependencies, visited, sorted);
+            }
+        }
+        sorted.add(beanName);
+    }
+
+    /**
+     * 绑定好的 @Bean 方法
+     */
+    private static class FactoryMethodInvoker {
+
+        /**
+         * 类型为 (Object[])Object，数组中依次为依赖的 Bean
+         */
+        private final MethodHandle handle;
+
+        /**
+         * 依赖的 beanName，与 handle 展开后的参数一一对应
+         */
+        private final String[] argumentNames;
+
+        /**
+         * 与 argumentNames 一一对应，参数声明的类型
+         */
+        private final Class<?>[] argumentTypes;
+
+        private FactoryMethodInvoker(MethodHandle handle, String[] argumentNames, Class<?>[] argumentTypes) {
+            this.handle = handle;
+            this.argumentNames = argumentNames;
+            this.argumentTypes = argumentTypes;
+        }
+
+    }
+
+    /**
+     * 一次热重载中新建的单例 Bean
+     */
+    private static class ReloadBatch {
+
+        private final Map<String, Object> beans = new LinkedHashMap<>();
+
+        private final Map<String, DisposableBeanAdapter> disposableBeans = new HashMap<>();
+
+    }
+
+    /**
+     * 设置销毁回调的超时时间，按批次计算：同一批次并行执行的回调共用这个时间
+     * @param timeout   超时时间
+     * @param unit  时间单位
+     */
+    public void setDestroyTimeout(long timeout, TimeUnit unit) {
+        this.destroyTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * 向 JVM 注册一个关闭钩子，JVM 退出时自动关闭容器
+     */
+    public synchronized void registerShutdownHook() {
+        if (shutdownHook == null) {
+            shutdownHook = new Thread(this::close, "myspring-shutdown-hook");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    /**
+     * 关闭容器，按依赖关系的逆序销毁所有单例 Bean，重复调用只会生效一次
+     * @throws IllegalStateException    监听者或销毁回调出错、定时任务或销毁回调超时时，在全部清理完成后抛出，每个错误作为 suppressed 附加在上面
+     */
+    @Override
+    public void close() {
+        // 保证只关闭一次
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        // 停止热重载
+        if (classFileWatcher != null) {
+            classFileWatcher.close();
+        }
+        // 主动关闭时把关闭钩子移除，避免 JVM 退出时再执行一次
+        synchronized (this) {
+            if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException e) {
+                    // JVM 已经在关闭中，忽略即可
+                }
+            }
+        }
+        // 关闭过程中的错误先收集起来，不影响后续的清理
+        List<Exception> failures = new ArrayList<>();
+        // 先通知监听者，此时 Bean 仍然可用
+        try {
+            publishEvent(new ContextClosedEvent(this));
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+        // 停止定时任务，正在执行的任务仍然可以使用 Bean
+        stopScheduling(failures);
+        // 等待异步事件处理完毕后再销毁 Bean
+        applicationEventMulticaster.shutdown(destroyTimeoutMillis);
+        active.set(false);
+        destroySingletons(failures);
+        valueCache.clear();
+        if (!failures.isEmpty()) {
+            IllegalStateException exception = new IllegalStateException("关闭容器时出现 " + failures.size() + " 个错误");
+            for (Exception failure : failures) {
+                exception.addSuppressed(failure);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * 容器是否仍处于活动状态
+     */
+    public boolean isActive() {
+        return active.get();
+    }
+
+    /**
+     * 按依赖关系的逆序分批销毁单例 Bean：依赖方全部销毁后才销毁被依赖方，
+     * 同一批中互不依赖的 Bean 并行执行销毁回调
+     * @param failures  收集销毁回调抛出的异常以及超时
+     */
+    private void destroySingletons(List<Exception> failures) {
+        // 所有还未销毁的单例 Bean
+        Set<String> remaining = new HashSet<>(singletonObjects.keySet());
+        ExecutorService executor = null;
+        if (!disposableBeans.isEmpty()) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "myspring-destroy-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        try {
+            while (!remaining.isEmpty()) {
+                // 找出依赖方都已销毁的 Bean 作为本批次
+                List<String> batch = new ArrayList<>();
+                for (String beanName : remaining) {
+                    if (!hasRemainingDependent(beanName, remaining)) {
+                        batch.add(beanName);
+                    }
+                }
+                // 找不到意味着剩下的 Bean 之间存在循环依赖，只能放在同一批次中销毁
+                if (batch.isEmpty()) {
+                    batch.addAll(remaining);
+                }
+                destroyBatch(batch, executor, failures);
+                remaining.removeAll(batch);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            singletonObjects.clear();
+            earlySingletonObjects.clear();
+            singletonFactories.clear();
+            disposableBeans.clear();
+            dependentBeanMap.clear();
+        }
+    }
+
+    /**
+     * 判断是否还有未销毁的 Bean 依赖于 beanName
+     */
+    private boolean hasRemainingDependent(String beanName, Set<String> remaining) {
+        Set<String> dependents = dependentBeanMap.get(beanName);
+        if (dependents == null) {
+            return false;
+        }
+        for (String dependent : dependents) {
+            if (!dependent.equals(beanName) && remaining.contains(dependent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 并行执行同一批次 Bean 的销毁回调。同一批次的回调同时开始执行，整批共用一个截止时间，
+     * 所以一个批次最多等待 destroyTimeoutMillis 毫秒；批次之间依次执行，关闭总耗时的上限是批次数乘以 destroyTimeoutMillis
+     */
+    private void destroyBatch(List<String> batch, ExecutorService executor, List<Exception> failures) {
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        for (String beanName : batch) {
+            DisposableBeanAdapter disposableBean = disposableBeans.remove(beanName);
+            if (disposableBean != null) {
+                futures.put(beanName, executor.submit(() -> {
+                    disposableBean.destroy();
+                    return null;
+                }));
+            }
+        }
+        // 所有回调同时开始执行，因此共用同一个截止时间
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(destroyTimeoutMillis);
+        for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                failures.add(new IllegalStateException("销毁 Bean 超时（" + destroyTimeoutMillis + "ms）：" + entry.getKey(), e));
+            } catch (ExecutionException e) {
+                failures.add(new IllegalStateException("销毁 Bean 失败：" + entry.getKey(), e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(true);
             }
         }
     }
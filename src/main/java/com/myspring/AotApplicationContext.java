@@ -0,0 +1,308 @@
+package com.myspring;
+
+import java.io.Closeable;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: AOT 生成的容器的父类。子类由 AotContextGenerator 生成，在构造方法中直接 new 出所有 Bean、
+ * 完成属性注入并创建静态代理，运行时不扫描也不解析注解，也不使用反射；这里只提供 Bean 的存取、事件发布、定时任务和销毁
+ */
+public abstract class AotApplicationContext implements ApplicationEventPublisher, Closeable {
+
+    /**
+     * 关闭时等待事件分发、定时任务结束的时间
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * 配置快照
+     */
+    private final Environment environment;
+
+    /**
+     * 类型转换器，@Value 注入时使用
+     */
+    private final TypeConverter typeConverter = new TypeConverter();
+
+    /**
+     * 事件分发器
+     */
+    private final ApplicationEventMulticaster applicationEventMulticaster;
+
+    /**
+     * 单例池，只在构造期间写入
+     */
+    private final Map<String, Object> singletonObjects = new HashMap<>();
+
+    /**
+     * 构造期间提前暴露的单例，用于原型 Bean 与单例之间的循环依赖，构造完成后清空
+     */
+    private final Map<String, Object> earlySingletonObjects = new HashMap<>();
+
+    /**
+     * 原型 Bean 的创建方法
+     */
+    private final Map<String, Supplier<Object>> prototypeFactories = new HashMap<>();
+
+    /**
+     * 销毁回调，按单例创建完成的顺序登记，逆序执行，依赖方总是先于被依赖方销毁
+     */
+    private final Deque<Map.Entry<String, DisposableBean>> disposableBeans = new ArrayDeque<>();
+
+    /**
+     * 容错注解的拦截器工厂，生成的代码通过它共享计数
+     */
+    private final ResilienceInterceptorFactory resilienceInterceptorFactory = new ResilienceInterceptorFactory();
+
+    /**
+     * 定时任务调度器，配置类上没有 @EnableScheduling 或没有 @Scheduled 方法时为 null
+     */
+    private TaskScheduler taskScheduler;
+
+    /**
+     * 已调度的定时任务
+     */
+    private final List<ScheduledTask> scheduledTasks = new ArrayList<>();
+
+    /**
+     * 定时任务的计数
+     * key: beanName.methodName
+     */
+    private final Map<String, ScheduledTaskMetrics> scheduledTaskMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * 容器是否可用
+     */
+    private final AtomicBoolean active = new AtomicBoolean(true);
+
+    /**
+     * @param configClass   配置类，只用于读取 @PropertySource
+     * @param asyncThreads  异步分发事件的线程数，为 0 时同步分发
+     * @param asyncQueueCapacity    异步分发的队列容量
+     */
+    protected AotApplicationContext(Class<?> configClass, int asyncThreads, int asyncQueueCapacity) {
+        this.environment = Environment.load(configClass, null);
+        this.applicationEventMulticaster = asyncThreads > 0
+                ? new ApplicationEventMulticaster(this::getBean, ApplicationEventMulticaster.createBoundedExecutor(asyncThreads, asyncQueueCapacity))
+                : new ApplicationEventMulticaster(this::getBean);
+    }
+
+    /**
+     * 获取 Bean 对象
+     * @param beanName  Bean 的名称
+     * @return  Bean 对象
+     */
+    public Object getBean(String beanName) {
+        if (!active.get()) {
+            throw new IllegalStateException("容器已关闭，无法获取 Bean：" + beanName);
+        }
+        Object bean = singletonObjects.get(beanName);
+        if (bean != null) {
+            return bean;
+        }
+        Supplier<Object> prototypeFactory = prototypeFactories.get(beanName);
+        if (prototypeFactory != null) {
+            return prototypeFactory.get();
+        }
+        bean = earlySingletonObjects.get(beanName);
+        if (bean != null) {
+            return bean;
+        }
+        throw new NullPointerException("池中无对象");
+    }
+
+    public boolean containsBean(String beanName) {
+        return singletonObjects.containsKey(beanName) || prototypeFactories.containsKey(beanName);
+    }
+
+    /**
+     * 获取容器中所有 Bean 的名称，包括单例和原型
+     */
+    public Set<String> getBeanNames() {
+        Set<String> beanNames = new TreeSet<>(singletonObjects.keySet());
+        beanNames.addAll(prototypeFactories.keySet());
+        return beanNames;
+    }
+
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * 获取 @Retry、@RateLimit、@Bulkhead 的计数
+     * @return  key: beanName.methodName
+     */
+    public Map<String, ResilienceMetrics> getResilienceMetrics() {
+        return resilienceInterceptorFactory.getMetrics();
+    }
+
+    /**
+     * 获取 @Scheduled 任务的计数
+     * @return  key: beanName.methodName
+     */
+    public Map<String, ScheduledTaskMetrics> getScheduledTaskMetrics() {
+        return Collections.unmodifiableMap(scheduledTaskMetrics);
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        if (event == null) {
+            throw new IllegalArgumentException("事件不能为 null");
+        }
+        applicationEventMulticaster.multicastEvent(event);
+    }
+
+    public boolean isActive() {
+        return active.get();
+    }
+
+    /**
+     * 关闭容器：通知监听者，停止定时任务和事件分发，再按创建的逆序销毁单例
+     * @throws IllegalStateException    监听者、定时任务或销毁回调出错时在全部清理完成后抛出，每个错误作为 suppressed 附加在上面
+     */
+    @Override
+    public void close() {
+        if (!active.compareAndSet(true, false)) {
+            return;
+        }
+        List<Exception> failures = new ArrayList<>();
+        try {
+            publishEvent(new ContextClosedEvent(this));
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+        if (taskScheduler != null) {
+            if (!TaskScheduler.cancel(scheduledTasks, SHUTDOWN_TIMEOUT_MILLIS)) {
+                failures.add(new IllegalStateException("部分定时任务在 " + SHUTDOWN_TIMEOUT_MILLIS + "ms 内未能结束"));
+            }
+            if (!taskScheduler.shutdown(SHUTDOWN_TIMEOUT_MILLIS)) {
+                failures.add(new IllegalStateException("定时任务线程在 " + SHUTDOWN_TIMEOUT_MILLIS + "ms 内未能结束，已被中断"));
+            }
+        }
+        applicationEventMulticaster.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+        while (!disposableBeans.isEmpty()) {
+            Map.Entry<String, DisposableBean> entry = disposableBeans.pollLast();
+            try {
+                entry.getValue().destroy();
+            } catch (Exception e) {
+                failures.add(new IllegalStateException("销毁 Bean " + entry.getKey() + " 时出错", e));
+            }
+        }
+        if (!failures.isEmpty()) {
+            IllegalStateException exception = new IllegalStateException("关闭容器时出现 " + failures.size() + " 个错误");
+            for (Exception failure : failures) {
+                exception.addSuppressed(failure);
+            }
+            throw exception;
+        }
+    }
+
+    // 以下方法只供生成的子类使用
+
+    protected void registerSingleton(String beanName, Object bean) {
+        singletonObjects.put(beanName, bean);
+        earlySingletonObjects.remove(beanName);
+    }
+
+    protected void registerEarlySingleton(String beanName, Object bean) {
+        earlySingletonObjects.put(beanName, bean);
+    }
+
+    protected void registerPrototype(String beanName, Supplier<Object> prototypeFactory) {
+        prototypeFactories.put(beanName, prototypeFactory);
+    }
+
+    protected void registerDisposableBean(String beanName, DisposableBean disposableBean) {
+        disposableBeans.add(new AbstractMap.SimpleImmutableEntry<>(beanName, disposableBean));
+    }
+
+    protected void addListener(ListenerMethod listenerMethod) {
+        applicationEventMulticaster.addListener(listenerMethod);
+    }
+
+    /**
+     * 创建定时任务调度器，参数与 @EnableScheduling 的属性相同，需要在 schedule() 之前调用
+     */
+    protected void enableScheduling(int poolSize, boolean virtualThreads, long tickMillis, int wheelSize) {
+        taskScheduler = new TaskScheduler(poolSize, virtualThreads, tickMillis, wheelSize);
+    }
+
+    /**
+     * 开始调度一个定时方法，Bean 在每次执行时才获取
+     */
+    protected void schedule(ScheduledMethod scheduledMethod) {
+        ScheduledTaskMetrics metrics = scheduledTaskMetrics.computeIfAbsent(scheduledMethod.getName(), ScheduledTaskMetrics::new);
+        scheduledTasks.add(taskScheduler.schedule(scheduledMethod, this::getBean, metrics));
+    }
+
+    /**
+     * 全部单例创建完成后调用
+     */
+    protected void finishRefresh() {
+        earlySingletonObjects.clear();
+        publishEvent(new ContextRefreshedEvent(this));
+    }
+
+    /**
+     * 调用 Bean 的初始化方法，失败时直接中止容器的创建
+     */
+    protected static void initializeBean(Object bean, String beanName) {
+        if (bean instanceof InitializeBean) {
+            try {
+                ((InitializeBean) bean).afterPropertiesSet();
+            } catch (Exception e) {
+                throw new IllegalStateException("初始化 Bean " + beanName + " 失败", e);
+            }
+        }
+    }
+
+    /**
+     * 解析 @Value 表达式并转换类型
+     */
+    protected Object resolveValue(String expression, Class<?> type) {
+        return typeConverter.convert(environment.resolvePlaceholders(expression), type);
+    }
+
+    protected ResilienceMetrics resilienceMetrics(String name) {
+        return resilienceInterceptorFactory.getOrCreateMetrics(name);
+    }
+
+    /**
+     * 静态代理中把拦截器链抛出的异常原样抛出，未声明的受检异常与 JDK 动态代理一样包装为 UndeclaredThrowableException
+     * @param e 拦截器链抛出的异常
+     * @param declaredExceptions    方法声明的异常
+     * @return  不会返回，声明返回值只为了让生成的代码可以写成 throw rethrow(...)
+     */
+    protected static RuntimeException rethrow(Throwable e, Class<?>... declaredExceptions) {
+        if (e instanceof RuntimeException || e instanceof Error) {
+            throw AotApplicationContext.<RuntimeException>sneakyThrow(e);
+        }
+        for (Class<?> declaredException : declaredExceptions) {
+            if (declaredException.isInstance(e)) {
+                throw AotApplicationContext.<RuntimeException>sneakyThrow(e);
+            }
+        }
+        throw new UndeclaredThrowableException(e);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T sneakyThrow(Throwable e) throws T {
+        throw (T) e;
+    }
+
+}
@@ -0,0 +1,1118 @@
+package com.myspring;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: AOT 生成器。在构建期按反射容器的规则解析配置类，生成一个 AotApplicationContext 的子类源码：
+ * 所有 Bean 直接 new 出来并按依赖顺序注入，AOP 代理生成为实现相同接口的静态代理类，拦截器链直接用注解中的值构造。
+ * 生成的代码不使用反射，生成代码无法直接访问的构造方法、属性和方法在生成时全部列出并拒绝生成
+ */
+public class AotContextGenerator {
+
+    /**
+     * 生成的类名后缀
+     */
+    private static final String CLASS_NAME_SUFFIX = "__AotContext";
+
+    private final Class<?> configClass;
+
+    private final ConfigurationMetadata metadata;
+
+    private final boolean aopEnabled;
+
+    /**
+     * 生成的类所在的包，与配置类相同
+     */
+    private final String packageName;
+
+    private final String simpleClassName;
+
+    /**
+     * 生成的代码无法直接访问的成员，生成结束后一并报告
+     */
+    private final List<String> inaccessibleMembers = new ArrayList<>();
+
+    /**
+     * 需要代理的 Bean 及其各个接口方法的拦截器链（源码）
+     * key: beanName
+     */
+    private final Map<String, Map<Method, List<String>>> advisedBeans = new LinkedHashMap<>();
+
+    /**
+     * 需要代理的 Bean 中添加了 @Memoize 的接口方法
+     * key: beanName
+     */
+    private final Map<String, Map<Method, Memoize>> memoizedBeans = new HashMap<>();
+
+    /**
+     * 已经生成完创建代码的单例，value 为保存其最终引用的变量名
+     */
+    private final Map<String, String> createdSingletons = new HashMap<>();
+
+    /**
+     * 正在生成创建代码的单例，value 为保存其提前暴露引用的变量名
+     */
+    private final Map<String, String> singletonsInCreation = new LinkedHashMap<>();
+
+    /**
+     * 提前暴露的引用被其他 Bean 使用过的单例
+     */
+    private final Set<String> earlyReferenceUsed = new HashSet<>();
+
+    /**
+     * 已经生成的静态代理类名
+     * key: beanName
+     */
+    private final Map<String, String> proxyClassNames = new HashMap<>();
+
+    /**
+     * 原型 Bean 对应的创建方法名
+     */
+    private final Map<String, String> prototypeMethods = new LinkedHashMap<>();
+
+    /**
+     * 配置类单例的原始对象所在的成员变量，@Bean 方法通过它调用
+     * key: 配置类的 beanName
+     */
+    private final Map<String, String> configFields = new HashMap<>();
+
+    /**
+     * 接口配置类生成的实现类名
+     * key: 配置类的 beanName
+     */
+    private final Map<String, String> configClassNames = new HashMap<>();
+
+    /**
+     * 接口配置类中 @Bean 默认方法对应的、直接执行方法体的方法名
+     */
+    private final Map<Method, String> defaultMethodNames = new HashMap<>();
+
+    /**
+     * 正在生成参数的 @Bean 方法，用于发现参数之间的循环依赖
+     */
+    private final Set<String> factoryArgumentsInCreation = new HashSet<>();
+
+    /**
+     * 类的成员（原型 Bean 的创建方法、代理类、拦截器链）
+     */
+    private final StringBuilder members = new StringBuilder();
+
+    private int variableIndex;
+
+    public AotContextGenerator(Class<?> configClass) {
+        this.configClass = configClass;
+        this.metadata = new ConfigurationMetadata(configClass, null);
+        this.aopEnabled = configClass.isAnnotationPresent(EnableAspectAutoProxy.class);
+        this.packageName = packageOf(configClass);
+        this.simpleClassName = configClass.getSimpleName() + CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * 生成的类的全限定名
+     */
+    public String getClassName() {
+        return packageName.isEmpty() ? simpleClassName : packageName + "." + simpleClassName;
+    }
+
+    /**
+     * 生成源码并写入源码根目录
+     * @param sourceRoot    源码根目录，按包名创建子目录
+     * @return  生成的源文件
+     * @throws IllegalStateException    配置无法生成为不使用反射的代码时抛出，见 generate()
+     */
+    public File writeTo(File sourceRoot) throws IOException {
+        File file = new File(sourceRoot, getClassName().replace('.', File.separatorChar) + ".java");
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), generate().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * 生成源码
+     * @return  AotApplicationContext 子类的源码
+     * @throws IllegalStateException    配置类开启了热重载，或者有生成的代码无法直接访问的私有构造方法、属性和方法时抛出
+     */
+    public String generate() {
+        inaccessibleMembers.clear();
+        advisedBeans.clear();
+        memoizedBeans.clear();
+        createdSingletons.clear();
+        singletonsInCreation.clear();
+        earlyReferenceUsed.clear();
+        prototypeMethods.clear();
+        proxyClassNames.clear();
+        configFields.clear();
+        configClassNames.clear();
+        defaultMethodNames.clear();
+        factoryArgumentsInCreation.clear();
+        members.setLength(0);
+        variableIndex = 0;
+        if (configClass.isAnnotationPresent(EnableHotReload.class)) {
+            // 生成的代码在构建时固定了所有 Bean，运行时没有可以重新加载的类
+            throw new IllegalStateException("AOT 生成失败，AOT 模式不支持热重载，请去掉配置类上的 @EnableHotReload：" + configClass.getName());
+        }
+        // 先找出所有需要代理的 Bean
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            collectAdvice(entry.getKey(), entry.getValue().getClazz());
+        }
+        // 配置类的成员变量先声明，原型 Bean 的创建方法中会用到
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            declareConfigurationField(entry.getKey(), entry.getValue());
+        }
+        StringBuilder constructor = new StringBuilder();
+        int asyncThreads = 0;
+        int asyncQueueCapacity = 0;
+        if (configClass.isAnnotationPresent(EnableAsyncEvent.class)) {
+            EnableAsyncEvent asyncEvent = configClass.getDeclaredAnnotation(EnableAsyncEvent.class);
+            asyncThreads = asyncEvent.threads();
+            asyncQueueCapacity = asyncEvent.queueCapacity();
+        }
+        line(constructor, 2, "super(" + configClass.getCanonicalName() + ".class, " + asyncThreads + ", " + asyncQueueCapacity + ");");
+        // BeanPostProcessor
+        List<String> postProcessors = new ArrayList<>();
+        for (Class<?> clazz : metadata.getBeanPostProcessorClassList()) {
+            postProcessors.add("(com.myspring.BeanPostProcessor) " + instantiateExpression(clazz));
+        }
+        line(constructor, 2, "this.postProcessors = new com.myspring.BeanPostProcessor[]{" + String.join(", ", postProcessors) + "};");
+        // 监听方法
+        for (ListenerMethod listenerMethod : metadata.getListenerMethods()) {
+            generateListener(constructor, listenerMethod);
+        }
+        // 原型 Bean 先登记，单例创建过程中可能用到
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            if (!isSingleton(entry.getValue())) {
+                String methodName = "create" + (variableIndex++);
+                prototypeMethods.put(entry.getKey(), methodName);
+                line(constructor, 2, "registerPrototype(" + literal(entry.getKey()) + ", this::" + methodName + ");");
+            }
+        }
+        for (Map.Entry<String, String> entry : prototypeMethods.entrySet()) {
+            generatePrototypeMethod(entry.getKey(), entry.getValue());
+        }
+        // 按定义顺序创建单例，依赖先于依赖方创建
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            if (isSingleton(entry.getValue())) {
+                generateSingleton(constructor, entry.getKey());
+            }
+        }
+        line(constructor, 2, "finishRefresh();");
+        generateScheduling(constructor);
+        if (!inaccessibleMembers.isEmpty()) {
+            throw new IllegalStateException("AOT 生成失败，生成的代码无法直接访问以下成员，请改为 public 或包级私有（属性也可以提供 public setter）："
+                    + inaccessibleMembers);
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            line(source, 0, "package " + packageName + ";");
+            line(source, 0, "");
+        }
+        line(source, 0, "/**");
+        line(source, 0, " * 由 " + AotContextGenerator.class.getName() + " 根据 " + configClass.getName() + " 生成，请勿手动修改");
+        // 条件注解在生成时判断，结果固定在生成的代码中
+        List<ConditionOutcome> conditionOutcomes = metadata.getConditionReport().getOutcomes();
+        if (!conditionOutcomes.isEmpty()) {
+            line(source, 0, " * 条件注解已在生成时判断：");
+            for (ConditionOutcome conditionOutcome : conditionOutcomes) {
+                line(source, 0, " *   " + conditionOutcome);
+            }
+        }
+        line(source, 0, " */");
+        line(source, 0, "public class " + simpleClassName + " extends com.myspring.AotApplicationContext {");
+        line(source, 0, "");
+        line(source, 1, "private final com.myspring.BeanPostProcessor[] postProcessors;");
+        source.append(members);
+        line(source, 0, "");
+        line(source, 1, "public " + simpleClassName + "() {");
+        source.append(constructor);
+        line(source, 1, "}");
+        line(source, 0, "}");
+        return source.toString();
+    }
+
+    /**
+     * 与 AnnotationAwareAspectJAutoProxyCreator 的规则相同：有前置/后置通知或方法上有拦截器注解的 Bean 需要代理
+     */
+    private void collectAdvice(String beanName, Class<?> clazz) {
+        if (!aopEnabled) {
+            return;
+        }
+        boolean hasAdvice = hasAdvice(metadata.getBeforeMethodMap(), beanName) || hasAdvice(metadata.getAfterMethodMap(), beanName);
+        Map<Method, List<String>> chains = new LinkedHashMap<>();
+        Map<Method, Memoize> memoized = new LinkedHashMap<>();
+        for (Method method : proxyMethods(clazz)) {
+            Method implMethod;
+            try {
+                implMethod = clazz.getMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                continue;
+            }
+            List<String> interceptors = interceptorExpressions(beanName, implMethod);
+            if (!interceptors.isEmpty()) {
+                chains.put(method, interceptors);
+            }
+            Memoize memoize = implMethod.getAnnotation(Memoize.class);
+            if (memoize != null) {
+                if (method.getReturnType() == void.class) {
+                    throw new IllegalStateException("@Memoize 方法必须有返回值：" + implMethod);
+                }
+                memoized.put(method, memoize);
+            }
+        }
+        if (hasAdvice || !chains.isEmpty() || !memoized.isEmpty()) {
+            advisedBeans.put(beanName, chains);
+            memoizedBeans.put(beanName, memoized);
+        }
+    }
+
+    private static boolean hasAdvice(Map<String, List<MethodWithClass>> methodMap, String beanName) {
+        for (String key : methodMap.keySet()) {
+            if (key.split("\\.")[0].equals(beanName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与拦截器工厂的顺序相同：@Retry、@RateLimit、@Bulkhead、@UnitOfWork
+     */
+    private List<String> interceptorExpressions(String beanName, Method method) {
+        List<String> interceptors = new ArrayList<>();
+        String metrics = "resilienceMetrics(" + literal(beanName + "." + method.getName()) + ")";
+        Retry retry = method.getAnnotation(Retry.class);
+        if (retry != null) {
+            interceptors.add("new com.myspring.RetryInterceptor(" + retry.maxAttempts() + ", " + retry.delay() + "L, " + retry.multiplier() + ", "
+                    + retry.maxDelay() + "L, " + classArray(retry.retryFor()) + ", " + classArray(retry.noRetryFor()) + ", " + metrics + ")");
+        }
+        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        if (rateLimit != null) {
+            interceptors.add("new com.myspring.RateLimitInterceptor(" + rateLimit.permitsPerSecond() + ", " + rateLimit.capacity() + ", " + metrics + ")");
+        }
+        Bulkhead bulkhead = method.getAnnotation(Bulkhead.class);
+        if (bulkhead != null) {
+            interceptors.add("new com.myspring.BulkheadInterceptor(" + bulkhead.maxConcurrent() + ", " + bulkhead.maxWait() + "L, " + metrics + ")");
+        }
+        UnitOfWork unitOfWork = method.getAnnotation(UnitOfWork.class);
+        if (unitOfWork != null) {
+            interceptors.add("new com.myspring.UnitOfWorkInterceptor(" + unitOfWork.requiresNew() + ", " + classArray(unitOfWork.rollbackFor()) + ")");
+        }
+        return interceptors;
+    }
+
+    /**
+     * 生成一个单例的创建代码，依赖的单例先递归生成
+     * @return  保存该单例引用的变量名，循环依赖时为提前暴露的引用
+     */
+    private String generateSingleton(StringBuilder code, String beanName) {
+        String created = createdSingletons.get(beanName);
+        if (created != null) {
+            return created;
+        }
+        String early = singletonsInCreation.get(beanName);
+        if (early != null) {
+            earlyReferenceUsed.add(beanName);
+            return early;
+        }
+        BeanDefinition beanDefinition = metadata.getBeanDefinition(beanName);
+        Class<?> clazz = beanDefinition.getClazz();
+        // 先生成 @Bean 方法的参数，再生成当前 Bean
+        String instantiation = instantiateExpression(code, beanName, beanDefinition, true);
+        int index = variableIndex++;
+        String raw = "raw" + index;
+        String bean = "bean" + index;
+        line(code, 2, "// " + beanName);
+        line(code, 2, rawType(clazz) + " " + raw + " = " + instantiation + ";");
+        rememberConfiguration(code, beanName, clazz, raw);
+        // 提前暴露引用，需要代理时暴露代理对象
+        early = raw;
+        if (advisedBeans.containsKey(beanName)) {
+            early = "early" + index;
+            line(code, 2, "Object " + early + " = new " + proxyClass(beanName, clazz) + "(" + raw + ");");
+        }
+        line(code, 2, "registerEarlySingleton(" + literal(beanName) + ", " + early + ");");
+        singletonsInCreation.put(beanName, early);
+        populate(code, beanName, clazz, raw, true);
+        initialize(code, beanName, clazz, raw, bean);
+        singletonsInCreation.remove(beanName);
+        // 提前暴露的引用被使用过时，最终对象必须与其一致
+        if (earlyReferenceUsed.contains(beanName)) {
+            line(code, 2, bean + " = " + early + ";");
+        } else if (advisedBeans.containsKey(beanName)) {
+            line(code, 2, bean + " = new " + proxyClass(beanName, clazz) + "(" + bean + ");");
+        }
+        line(code, 2, "registerSingleton(" + literal(beanName) + ", " + bean + ");");
+        generateDisposable(code, beanName, clazz, beanDefinition.getInjectionMetadata(), raw);
+        createdSingletons.put(beanName, bean);
+        return bean;
+    }
+
+    private void generatePrototypeMethod(String beanName, String methodName) {
+        BeanDefinition beanDefinition = metadata.getBeanDefinition(beanName);
+        Class<?> clazz = beanDefinition.getClazz();
+        StringBuilder code = new StringBuilder();
+        line(code, 0, "");
+        line(code, 1, "private Object " + methodName + "() {");
+        line(code, 2, "// " + beanName);
+        line(code, 2, rawType(clazz) + " raw = " + instantiateExpression(code, beanName, beanDefinition, false) + ";");
+        populate(code, beanName, clazz, "raw", false);
+        initialize(code, beanName, clazz, "raw", "bean");
+        if (advisedBeans.containsKey(beanName)) {
+            line(code, 2, "bean = new " + proxyClass(beanName, clazz) + "(bean);");
+        }
+        line(code, 2, "return bean;");
+        line(code, 1, "}");
+        members.append(code);
+    }
+
+    /**
+     * 生成属性注入代码
+     * @param inConstructor 是否在构造方法中，此时依赖的单例直接使用局部变量
+     */
+    private void populate(StringBuilder code, String beanName, Class<?> clazz, String raw, boolean inConstructor) {
+        InjectionMetadata injectionMetadata = metadata.getBeanDefinition(beanName).getInjectionMetadata();
+        Field[] autowiredFields = injectionMetadata.getAutowiredFields();
+        for (int i = 0; i < autowiredFields.length; i++) {
+            Field field = autowiredFields[i];
+            String dependency = field.getName();
+            BeanDefinition dependencyDefinition = metadata.getBeanDefinition(dependency);
+            if (dependencyDefinition == null) {
+                if (injectionMetadata.isRequired(i)) {
+                    throw new IllegalStateException("AOT 生成失败，" + beanName + " 依赖的 Bean 不存在：" + dependency);
+                }
+                continue;
+            }
+            String value;
+            if (inConstructor && isSingleton(dependencyDefinition)) {
+                value = generateSingleton(code, dependency);
+            } else {
+                if (inConstructor) {
+                    // 原型 Bean 在运行时通过 getBean() 获取依赖，它依赖的单例需要先创建
+                    ensurePrototypeDependencies(code, dependency, new HashSet<>());
+                }
+                value = "getBean(" + literal(dependency) + ")";
+            }
+            assignField(code, clazz, raw, field, value);
+        }
+        Field[] valueFields = injectionMetadata.getValueFields();
+        for (int i = 0; i < valueFields.length; i++) {
+            Field field = valueFields[i];
+            String value = "resolveValue(" + literal(injectionMetadata.getValueExpression(i)) + ", " + typeName(boxed(field.getType())) + ".class)";
+            assignField(code, clazz, raw, field, value);
+        }
+        if (BeanNameAware.class.isAssignableFrom(clazz)) {
+            line(code, 2, "((com.myspring.BeanNameAware) " + raw + ").setName(" + literal(beanName) + ");");
+        }
+        if (ApplicationEventPublisherAware.class.isAssignableFrom(clazz)) {
+            line(code, 2, "((com.myspring.ApplicationEventPublisherAware) " + raw + ").setApplicationEventPublisher(this);");
+        }
+    }
+
+    private void ensurePrototypeDependencies(StringBuilder code, String prototypeName, Set<String> visiting) {
+        if (!visiting.add(prototypeName)) {
+            throw new IllegalStateException("AOT 生成失败，原型 Bean 之间存在循环依赖：" + visiting);
+        }
+        for (String dependency : dependenciesOf(prototypeName)) {
+            BeanDefinition dependencyDefinition = metadata.getBeanDefinition(dependency);
+            if (dependencyDefinition == null) {
+                continue;
+            }
+            if (isSingleton(dependencyDefinition)) {
+                generateSingleton(code, dependency);
+            } else {
+                ensurePrototypeDependencies(code, dependency, visiting);
+            }
+        }
+        visiting.remove(prototypeName);
+    }
+
+    /**
+     * Bean 直接依赖的 beanName：@Autowired 属性，以及 @Bean 方法所在的配置类和方法参数
+     */
+    private List<String> dependenciesOf(String beanName) {
+        BeanDefinition beanDefinition = metadata.getBeanDefinition(beanName);
+        List<String> dependencies = new ArrayList<>();
+        for (Field field : beanDefinition.getInjectionMetadata().getAutowiredFields()) {
+            dependencies.add(field.getName());
+        }
+        FactoryMethod factoryMethod = beanDefinition.getFactoryMethod();
+        if (factoryMethod != null) {
+            if (!factoryMethod.isStatic()) {
+                dependencies.add(factoryMethod.getConfigBeanName());
+            }
+            for (String argumentName : metadata.getFactoryArgumentNames(beanName)) {
+                if (argumentName != null) {
+                    dependencies.add(argumentName);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * 生成创建原始对象的表达式：组件类直接 new，接口配置类 new 出生成的实现类，@Bean 定义的 Bean 调用工厂方法
+     * @param inConstructor 是否在构造方法中，此时依赖的单例先生成并直接使用局部变量
+     */
+    private String instantiateExpression(StringBuilder code, String beanName, BeanDefinition beanDefinition, boolean inConstructor) {
+        Class<?> clazz = beanDefinition.getClazz();
+        FactoryMethod factoryMethod = beanDefinition.getFactoryMethod();
+        if (factoryMethod == null) {
+            return clazz.isInterface() ? "new " + configurationClass(beanName, clazz) + "()" : instantiateExpression(clazz);
+        }
+        Method method = factoryMethod.getMethod();
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!factoryArgumentsInCreation.add(beanName)) {
+            throw new IllegalStateException("AOT 生成失败，@Bean 方法的参数之间存在循环依赖：" + factoryArgumentsInCreation);
+        }
+        List<String> arguments = new ArrayList<>();
+        boolean argumentsAccessible = true;
+        String[] argumentNames = metadata.getFactoryArgumentNames(beanName);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            String value;
+            if (argumentNames[i] == null) {
+                value = "resolveValue(" + literal(factoryMethod.getValueExpression(i)) + ", " + typeName(boxed(parameterTypes[i])) + ".class)";
+            } else if (inConstructor && isSingleton(metadata.getBeanDefinition(argumentNames[i]))) {
+                value = generateSingleton(code, argumentNames[i]);
+            } else {
+                if (inConstructor) {
+                    ensurePrototypeDependencies(code, argumentNames[i], new HashSet<>());
+                }
+                value = "getBean(" + literal(argumentNames[i]) + ")";
+            }
+            if (isAccessible(parameterTypes[i])) {
+                arguments.add("(" + typeName(boxed(parameterTypes[i])) + ") " + value);
+            } else {
+                argumentsAccessible = false;
+                arguments.add(value);
+            }
+        }
+        factoryArgumentsInCreation.remove(beanName);
+        String argumentList = String.join(", ", arguments);
+        if (factoryMethod.isStatic() && argumentsAccessible && isAccessible(declaringClass) && isAccessible(declaringClass, method.getModifiers())) {
+            return typeName(declaringClass) + "." + method.getName() + "(" + argumentList + ")";
+        }
+        String config = factoryMethod.isStatic() ? "null" : configField(code, factoryMethod.getConfigBeanName(), inConstructor);
+        if (method.isDefault()) {
+            // 生成的实现类中直接执行默认方法方法体的方法
+            return config + "." + defaultMethodNames.get(method) + "(" + argumentList + ")";
+        }
+        if (!factoryMethod.isStatic() && argumentsAccessible && isAccessible(declaringClass) && isAccessible(declaringClass, method.getModifiers())) {
+            return config + "." + method.getName() + "(" + argumentList + ")";
+        }
+        return reject("方法 " + declaringClass.getName() + "." + method.getName() + "()");
+    }
+
+    /**
+     * 获取保存配置类原始对象的成员变量，在构造方法中时先生成配置类单例
+     */
+    private String configField(StringBuilder code, String configBeanName, boolean inConstructor) {
+        if (inConstructor) {
+            generateSingleton(code, configBeanName);
+        }
+        return configFields.get(configBeanName);
+    }
+
+    /**
+     * 为配置类声明保存其原始对象的成员变量
+     */
+    private void declareConfigurationField(String beanName, BeanDefinition beanDefinition) {
+        Class<?> clazz = beanDefinition.getClazz();
+        if (beanDefinition.getFactoryMethod() != null || !clazz.isAnnotationPresent(Configuration.class)) {
+            return;
+        }
+        if (!isSingleton(beanDefinition)) {
+            throw new IllegalStateException("AOT 生成失败，配置类必须是单例：" + beanName);
+        }
+        String configField = "config" + (variableIndex++);
+        String fieldType = clazz.isInterface() ? configurationClass(beanName, clazz) : rawType(clazz);
+        line(members, 0, "");
+        line(members, 1, "private " + fieldType + " " + configField + ";");
+        configFields.put(beanName, configField);
+    }
+
+    /**
+     * 配置类的原始对象创建后保存到成员变量中，供 @Bean 方法使用
+     */
+    private void rememberConfiguration(StringBuilder code, String beanName, Class<?> clazz, String raw) {
+        String configField = configFields.get(beanName);
+        if (configField != null) {
+            String cast = clazz.isInterface() ? "(" + configClassNames.get(beanName) + ") " : "";
+            line(code, 2, "this." + configField + " = " + cast + raw + ";");
+        }
+    }
+
+    /**
+     * 获取接口配置类的实现类名，第一次获取时生成实现类：@Bean 方法从容器中获取 Bean，与运行时的代理行为相同，
+     * 另外为每个 @Bean 默认方法生成一个直接执行方法体的方法，供容器创建 Bean 时调用
+     */
+    private String configurationClass(String beanName, Class<?> configInterface) {
+        String configClassName = configClassNames.get(beanName);
+        if (configClassName != null) {
+            return configClassName;
+        }
+        if (!isAccessible(configInterface)) {
+            throw new IllegalStateException("AOT 生成失败，接口配置类不可访问：" + configInterface.getName());
+        }
+        configClassName = "Configuration" + (variableIndex++);
+        configClassNames.put(beanName, configClassName);
+        StringBuilder code = new StringBuilder();
+        line(code, 0, "");
+        line(code, 1, "/**");
+        line(code, 1, " * " + beanName + " 的实现");
+        line(code, 1, " */");
+        line(code, 1, "private final class " + configClassName + " implements " + typeName(configInterface) + " {");
+        for (Method method : configInterface.getMethods()) {
+            if (!method.isAnnotationPresent(Bean.class) || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String returnType = typeName(method.getReturnType());
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            List<String> parameters = new ArrayList<>();
+            List<String> arguments = new ArrayList<>();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameters.add(typeName(parameterTypes[i]) + " a" + i);
+                arguments.add("a" + i);
+            }
+            line(code, 0, "");
+            line(code, 2, "@Override");
+            line(code, 2, "public " + returnType + " " + method.getName() + "(" + String.join(", ", parameters) + ") {");
+            line(code, 3, "return (" + returnType + ") getBean(" + literal(FactoryMethod.beanNameOf(method)) + ");");
+            line(code, 2, "}");
+            if (method.isDefault()) {
+                String defaultMethodName = method.getName() + "$body" + (variableIndex++);
+                defaultMethodNames.put(method, defaultMethodName);
+                line(code, 0, "");
+                line(code, 2, returnType + " " + defaultMethodName + "(" + String.join(", ", parameters) + ") {");
+                line(code, 3, "return " + typeName(configInterface) + ".super." + method.getName() + "(" + String.join(", ", arguments) + ");");
+                line(code, 2, "}");
+            }
+        }
+        line(code, 1, "}");
+        members.append(code);
+        return configClassName;
+    }
+
+    /**
+     * 生成 BeanPostProcessor 和初始化方法的调用，结果保存在 bean 变量中
+     */
+    private void initialize(StringBuilder code, String beanName, Class<?> clazz, String raw, String bean) {
+        line(code, 2, "Object " + bean + " = " + raw + ";");
+        boolean hasPostProcessors = !metadata.getBeanPostProcessorClassList().isEmpty();
+        if (hasPostProcessors) {
+            line(code, 2, "for (com.myspring.BeanPostProcessor postProcessor : postProcessors) {");
+            line(code, 3, bean + " = postProcessor.postProcessBeforeInitialization(" + bean + ", " + literal(beanName) + ");");
+            line(code, 2, "}");
+        }
+        if (hasPostProcessors || InitializeBean.class.isAssignableFrom(clazz)) {
+            line(code, 2, "initializeBean(" + bean + ", " + literal(beanName) + ");");
+        }
+        if (hasPostProcessors) {
+            line(code, 2, "for (com.myspring.BeanPostProcessor postProcessor : postProcessors) {");
+            line(code, 3, bean + " = postProcessor.postProcessAfterInitialization(" + bean + ", " + literal(beanName) + ");");
+            line(code, 2, "}");
+        }
+    }
+
+    /**
+     * 与 DisposableBeanAdapter 的顺序相同：先调用 @PreDestroy 方法，再调用 DisposableBean 接口
+     */
+    private void generateDisposable(StringBuilder code, String beanName, Class<?> clazz, InjectionMetadata injectionMetadata, String raw) {
+        Method[] preDestroyMethods = injectionMetadata.getPreDestroyMethods();
+        boolean disposable = DisposableBean.class.isAssignableFrom(clazz);
+        if (preDestroyMethods.length == 0 && !disposable) {
+            return;
+        }
+        line(code, 2, "registerDisposableBean(" + literal(beanName) + ", () -> {");
+        for (Method preDestroyMethod : preDestroyMethods) {
+            if (isAccessible(clazz) && isAccessible(preDestroyMethod.getDeclaringClass(), preDestroyMethod.getModifiers())) {
+                line(code, 3, "((" + typeName(preDestroyMethod.getDeclaringClass()) + ") " + raw + ")." + preDestroyMethod.getName() + "();");
+            } else {
+                reject("方法 " + preDestroyMethod.getDeclaringClass().getName() + "." + preDestroyMethod.getName() + "()");
+            }
+        }
+        if (disposable) {
+            line(code, 3, "((com.myspring.DisposableBean) " + raw + ").destroy();");
+        }
+        line(code, 2, "});");
+    }
+
+    /**
+     * 生成属性赋值代码：可以直接访问时直接赋值，否则尝试 setter 方法，都不行时拒绝生成
+     */
+    private void assignField(StringBuilder code, Class<?> clazz, String raw, Field field, String value) {
+        Class<?> declaringClass = field.getDeclaringClass();
+        if (isAccessible(clazz) && isAccessible(declaringClass, field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+            line(code, 2, "((" + typeName(declaringClass) + ") " + raw + ")." + field.getName() + " = (" + typeName(field.getType()) + ") " + value + ";");
+            return;
+        }
+        String setterName = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method setter = clazz.getMethod(setterName, field.getType());
+            if (isAccessible(clazz) && isAccessible(setter.getDeclaringClass()) && isAccessible(field.getType())) {
+                line(code, 2, raw + "." + setterName + "((" + typeName(field.getType()) + ") " + value + ");");
+                return;
+            }
+        } catch (NoSuchMethodException e) {
+            // 没有 setter 方法
+        }
+        reject("属性 " + declaringClass.getName() + "." + field.getName());
+    }
+
+    private void generateListener(StringBuilder code, ListenerMethod listenerMethod) {
+        String beanName = listenerMethod.getBeanName();
+        Method method = listenerMethod.getMethod();
+        Class<?> eventType = listenerMethod.getEventType();
+        String invocation;
+        if (advisedBeans.containsKey(beanName)) {
+            // 被代理的 Bean 只能通过接口调用监听方法
+            Method interfaceMethod = findInterfaceMethod(metadata.getBeanDefinition(beanName).getClazz(), method);
+            if (interfaceMethod == null) {
+                throw new IllegalStateException("Bean " + beanName + " 已被代理，@EventListener 方法需要声明在其实现的接口中：" + method);
+            }
+            invocation = "((" + typeName(interfaceMethod.getDeclaringClass()) + ") bean)." + method.getName() + "((" + typeName(eventType) + ") event);";
+        } else if (isAccessible(method.getDeclaringClass(), method.getModifiers()) && isAccessible(eventType)) {
+            invocation = "((" + typeName(method.getDeclaringClass()) + ") bean)." + method.getName() + "((" + typeName(eventType) + ") event);";
+        } else {
+            reject("方法 " + method.getDeclaringClass().getName() + "." + method.getName() + "(" + eventType.getName() + ")");
+            return;
+        }
+        line(code, 2, "addListener(new com.myspring.ListenerMethod(" + literal(beanName) + ", " + typeName(eventType) + ".class) {");
+        line(code, 3, "@Override");
+        line(code, 3, "public void invoke(Object bean, Object event) throws Throwable {");
+        line(code, 4, invocation);
+        line(code, 3, "}");
+        line(code, 2, "});");
+    }
+
+    /**
+     * 与 AnnotationConfigApplicationContext 相同：配置类上有 @EnableScheduling 时才调度 @Scheduled 方法，
+     * 触发规则在生成时读取，任务执行时直接调用定时方法
+     */
+    private void generateScheduling(StringBuilder code) {
+        EnableScheduling enableScheduling = configClass.getAnnotation(EnableScheduling.class);
+        if (enableScheduling == null || metadata.getScheduledMethods().isEmpty()) {
+            return;
+        }
+        line(code, 2, "enableScheduling(" + enableScheduling.poolSize() + ", " + enableScheduling.virtualThreads() + ", "
+                + enableScheduling.tickMillis() + "L, " + enableScheduling.wheelSize() + ");");
+        for (ScheduledMethod scheduledMethod : metadata.getScheduledMethods()) {
+            String beanName = scheduledMethod.getBeanName();
+            Method method = scheduledMethod.getMethod();
+            String invocation;
+            if (advisedBeans.containsKey(beanName)) {
+                // 被代理的 Bean 只能通过接口调用定时方法
+                Method interfaceMethod = findInterfaceMethod(metadata.getBeanDefinition(beanName).getClazz(), method);
+                if (interfaceMethod == null) {
+                    throw new IllegalStateException("Bean " + beanName + " 已被代理，@Scheduled 方法需要声明在其实现的接口中：" + method);
+                }
+                invocation = "((" + typeName(interfaceMethod.getDeclaringClass()) + ") bean)." + method.getName() + "();";
+            } else if (isAccessible(method.getDeclaringClass()) && isAccessible(method.getDeclaringClass(), method.getModifiers())) {
+                invocation = "((" + typeName(method.getDeclaringClass()) + ") bean)." + method.getName() + "();";
+            } else {
+                reject("方法 " + method.getDeclaringClass().getName() + "." + method.getName() + "()");
+                continue;
+            }
+            Scheduled scheduled = method.getDeclaredAnnotation(Scheduled.class);
+            line(code, 2, "schedule(new com.myspring.ScheduledMethod(" + literal(beanName) + ", " + literal(method.getName()) + ", "
+                    + scheduled.fixedRate() + "L, " + scheduled.fixedDelay() + "L, " + scheduled.initialDelay() + "L, "
+                    + literal(scheduled.cron()) + ", " + literal(scheduled.zone()) + ") {");
+            line(code, 3, "@Override");
+            line(code, 3, "public void invoke(Object bean) throws Throwable {");
+            line(code, 4, invocation);
+            line(code, 3, "}");
+            line(code, 2, "});");
+        }
+    }
+
+    /**
+     * 获取 Bean 的静态代理类名，第一次获取时生成代理类
+     */
+    private String proxyClass(String beanName, Class<?> clazz) {
+        String proxyClassName = proxyClassNames.get(beanName);
+        if (proxyClassName != null) {
+            return proxyClassName;
+        }
+        proxyClassName = "Proxy" + (variableIndex++);
+        proxyClassNames.put(beanName, proxyClassName);
+        Map<Method, List<String>> chains = advisedBeans.get(beanName);
+        List<String> interfaceNames = new ArrayList<>();
+        for (Class<?> anInterface : clazz.getInterfaces()) {
+            if (!isAccessible(anInterface)) {
+                throw new IllegalStateException("AOT 生成失败，被代理的 Bean " + beanName + " 实现的接口不可访问：" + anInterface.getName());
+            }
+            interfaceNames.add(typeName(anInterface));
+        }
+        StringBuilder code = new StringBuilder();
+        // 拦截器链属于 Bean 而不是代理对象，同一个 Bean 的多个实例共享
+        int chainIndex = 0;
+        Map<Method, String> chainFields = new HashMap<>();
+        for (Map.Entry<Method, List<String>> entry : chains.entrySet()) {
+            String chainField = "chain" + proxyClassName.substring("Proxy".length()) + "_" + (chainIndex++);
+            chainFields.put(entry.getKey(), chainField);
+            line(code, 0, "");
+            line(code, 1, "private final com.myspring.MethodInterceptor[] " + chainField + " = {");
+            for (String interceptor : entry.getValue()) {
+                line(code, 3, interceptor + ",");
+            }
+            line(code, 1, "};");
+        }
+        line(code, 0, "");
+        line(code, 1, "/**");
+        line(code, 1, " * " + beanName + " 的静态代理");
+        line(code, 1, " */");
+        line(code, 1, "private final class " + proxyClassName + " " + (interfaceNames.isEmpty() ? "" : "implements " + String.join(", ", interfaceNames) + " ") + "{");
+        line(code, 0, "");
+        line(code, 2, "private final Object target;");
+        // 结果表属于代理对象，原型 Bean 的每个实例各自缓存
+        Map<Method, Memoize> memoized = memoizedBeans.get(beanName);
+        Map<Method, String> memoFields = new HashMap<>();
+        for (Map.Entry<Method, Memoize> entry : memoized.entrySet()) {
+            String memoField = "memo" + memoFields.size();
+            memoFields.put(entry.getKey(), memoField);
+            line(code, 0, "");
+            line(code, 2, "private final com.myspring.MemoTable " + memoField + " = new com.myspring.MemoTable("
+                    + entry.getValue().maxSize() + ", " + hasPrimitiveMemoKey(entry.getKey().getParameterTypes()) + ");");
+        }
+        line(code, 0, "");
+        line(code, 2, proxyClassName + "(Object target) {");
+        line(code, 3, "this.target = target;");
+        line(code, 2, "}");
+        for (Method method : proxyMethods(clazz)) {
+            generateProxyMethod(code, beanName, method, chainFields.get(method), memoFields.get(method));
+        }
+        line(code, 0, "");
+        line(code, 2, "@Override");
+        line(code, 2, "public String toString() {");
+        line(code, 3, "return target.toString();");
+        line(code, 2, "}");
+        line(code, 0, "");
+        line(code, 2, "@Override");
+        line(code, 2, "public int hashCode() {");
+        line(code, 3, "return target.hashCode();");
+        line(code, 2, "}");
+        line(code, 0, "");
+        line(code, 2, "@Override");
+        line(code, 2, "public boolean equals(Object other) {");
+        line(code, 3, "return target.equals(other);");
+        line(code, 2, "}");
+        line(code, 1, "}");
+        members.append(code);
+        return proxyClassName;
+    }
+
+    /**
+     * 生成代理方法：前置通知 -> 拦截器链或原方法 -> 后置通知，与 JDK 动态代理的 InvocationHandler 顺序相同。
+     * @Memoize 方法在最外层先查结果表，单个基本类型参数直接作为 long key，命中时没有任何装箱
+     */
+    private void generateProxyMethod(StringBuilder code, String beanName, Method method, String chainField, String memoField) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        List<String> parameters = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            String parameterType = typeName(parameterTypes[i]);
+            if (method.isVarArgs() && i == parameterTypes.length - 1) {
+                parameterType = typeName(parameterTypes[i].getComponentType()) + "...";
+            }
+            parameters.add(parameterType + " a" + i);
+            arguments.add("a" + i);
+        }
+        List<String> exceptions = new ArrayList<>();
+        for (Class<?> exceptionType : method.getExceptionTypes()) {
+            exceptions.add(typeName(exceptionType));
+        }
+        boolean isVoid = method.getReturnType() == void.class;
+        String returnType = typeName(method.getReturnType());
+        String call = "((" + typeName(method.getDeclaringClass()) + ") target)." + method.getName() + "(" + String.join(", ", arguments) + ")";
+        line(code, 0, "");
+        line(code, 2, "@Override");
+        line(code, 2, "public " + returnType + " " + method.getName() + "(" + String.join(", ", parameters) + ")"
+                + (exceptions.isEmpty() ? "" : " throws " + String.join(", ", exceptions)) + " {");
+        if (memoField != null) {
+            line(code, 3, memoKeyDeclaration(parameterTypes, arguments));
+            line(code, 3, "Object memoized = " + memoField + (hasPrimitiveMemoKey(parameterTypes) ? ".getLong" : ".get") + "(memoKey);");
+            line(code, 3, "if (memoized != com.myspring.MemoTable.MISS) {");
+            line(code, 4, "return (" + typeName(boxed(method.getReturnType())) + ") memoized;");
+            line(code, 3, "}");
+        }
+        String key = beanName + "." + method.getName();
+        generateAdvice(code, metadata.getBeforeMethodMap().get(key));
+        if (chainField == null) {
+            line(code, 3, (isVoid ? "" : returnType + " result = ") + call + ";");
+        } else {
+            line(code, 3, "Object result;");
+            line(code, 3, "try {");
+            line(code, 4, "result = new com.myspring.MethodInvocation(target, null, new Object[]{" + String.join(", ", arguments) + "}, " + chainField + ") {");
+            line(code, 5, "@Override");
+            line(code, 5, "protected Object invokeTarget() throws Throwable {");
+            line(code, 6, isVoid ? call + ";" : "return " + call + ";");
+            if (isVoid) {
+                line(code, 6, "return null;");
+            }
+            line(code, 5, "}");
+            line(code, 4, "}.proceed();");
+            line(code, 3, "} catch (Throwable e) {");
+            List<String> declared = new ArrayList<>();
+            for (String exception : exceptions) {
+                declared.add(exception + ".class");
+            }
+            line(code, 4, "throw rethrow(e" + (declared.isEmpty() ? "" : ", " + String.join(", ", declared)) + ");");
+            line(code, 3, "}");
+        }
+        generateAdvice(code, metadata.getAfterMethodMap().get(key));
+        if (memoField != null) {
+            line(code, 3, memoField + (hasPrimitiveMemoKey(parameterTypes) ? ".putLong" : ".put") + "(memoKey, result);");
+        }
+        if (!isVoid) {
+            line(code, 3, "return " + (chainField == null ? "result" : "(" + returnType + ") result") + ";");
+        }
+        line(code, 2, "}");
+    }
+
+    private static boolean hasPrimitiveMemoKey(Class<?>[] parameterTypes) {
+        return parameterTypes.length == 0 || (parameterTypes.length == 1 && parameterTypes[0].isPrimitive());
+    }
+
+    /**
+     * 与 MemoizedMethod 的规则相同：没有参数时 key 为 0，单个基本类型参数转为 long，其余情况使用参数对象或参数列表
+     */
+    private static String memoKeyDeclaration(Class<?>[] parameterTypes, List<String> arguments) {
+        if (parameterTypes.length == 0) {
+            return "long memoKey = 0L;";
+        }
+        if (parameterTypes.length > 1) {
+            return "Object memoKey = java.util.Arrays.asList(new Object[]{" + String.join(", ", arguments) + "});";
+        }
+        Class<?> type = parameterTypes[0];
+        if (!type.isPrimitive()) {
+            return "Object memoKey = a0;";
+        }
+        if (type == boolean.class) {
+            return "long memoKey = a0 ? 1L : 0L;";
+        }
+        if (type == float.class) {
+            return "long memoKey = Float.floatToIntBits(a0);";
+        }
+        if (type == double.class) {
+            return "long memoKey = Double.doubleToLongBits(a0);";
+        }
+        return "long memoKey = a0;";
+    }
+
+    /**
+     * 与 AnnotationAwareAspectJAutoProxyCreator 相同，每次调用都新建一个切面对象
+     */
+    private void generateAdvice(StringBuilder code, List<MethodWithClass> advice) {
+        if (advice == null) {
+            return;
+        }
+        for (MethodWithClass methodWithClass : advice) {
+            Class<?> aspectClass = methodWithClass.getClazz();
+            Method method = methodWithClass.getMethod();
+            if (hasAccessibleConstructor(aspectClass) && isAccessible(method.getDeclaringClass(), method.getModifiers())) {
+                line(code, 3, "new " + typeName(aspectClass) + "()." + method.getName() + "();");
+            } else {
+                reject("方法 " + aspectClass.getName() + "." + method.getName() + "()");
+            }
+        }
+    }
+
+    /**
+     * 代理类需要实现的方法：Bean 实现的所有接口中的方法，与 JDK 动态代理的范围相同
+     */
+    private static List<Method> proxyMethods(Class<?> clazz) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Class<?> anInterface : clazz.getInterfaces()) {
+            for (Method method : anInterface.getMethods()) {
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    methods.putIfAbsent(method.getName() + Arrays.toString(method.getParameterTypes()), method);
+                }
+            }
+        }
+        return new ArrayList<>(methods.values());
+    }
+
+    private static Method findInterfaceMethod(Class<?> clazz, Method method) {
+        for (Method interfaceMethod : proxyMethods(clazz)) {
+            if (interfaceMethod.getName().equals(method.getName()) && Arrays.equals(interfaceMethod.getParameterTypes(), method.getParameterTypes())) {
+                return interfaceMethod;
+            }
+        }
+        return null;
+    }
+
+    private String instantiateExpression(Class<?> clazz) {
+        if (hasAccessibleConstructor(clazz)) {
+            return "new " + typeName(clazz) + "()";
+        }
+        return reject("构造方法 " + clazz.getName() + "()");
+    }
+
+    /**
+     * 记录生成的代码无法直接访问的成员，生成结束后一并报告
+     * @return  占位表达式，生成失败时源码不会被使用
+     */
+    private String reject(String member) {
+        inaccessibleMembers.add(member);
+        return "null";
+    }
+
+    private boolean hasAccessibleConstructor(Class<?> clazz) {
+        if (!isAccessible(clazz) || Modifier.isAbstract(clazz.getModifiers()) || (clazz.getEnclosingClass() != null && !Modifier.isStatic(clazz.getModifiers()))) {
+            return false;
+        }
+        try {
+            Constructor<?> constructor = clazz.getDeclaredConstructor();
+            return isAccessible(clazz, constructor.getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private String rawType(Class<?> clazz) {
+        return isAccessible(clazz) ? typeName(clazz) : "Object";
+    }
+
+    /**
+     * 生成的类能否访问某个类型
+     */
+    private boolean isAccessible(Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+        if (clazz.isArray()) {
+            return isAccessible(clazz.getComponentType());
+        }
+        if (clazz.getCanonicalName() == null) {
+            return false;
+        }
+        if (!isAccessible(clazz, clazz.getModifiers())) {
+            return false;
+        }
+        return clazz.getEnclosingClass() == null || isAccessible(clazz.getEnclosingClass());
+    }
+
+    /**
+     * 生成的类能否访问 owner 中具有 modifiers 修饰符的成员
+     */
+    private boolean isAccessible(Class<?> owner, int modifiers) {
+        if (Modifier.isPublic(modifiers)) {
+            return true;
+        }
+        return !Modifier.isPrivate(modifiers) && packageOf(owner).equals(packageName);
+    }
+
+    private static boolean isSingleton(BeanDefinition beanDefinition) {
+        return "singleton".equals(beanDefinition.getScope());
+    }
+
+    private static String packageOf(Class<?> clazz) {
+        String name = clazz.getName();
+        int index = name.lastIndexOf('.');
+        return index < 0 ? "" : name.substring(0, index);
+    }
+
+    private static String typeName(Class<?> clazz) {
+        return clazz.getCanonicalName();
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    private static String classArray(Class<?>[] classes) {
+        List<String> literals = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            literals.add(typeName(clazz) + ".class");
+        }
+        return "new Class<?>[]{" + String.join(", ", literals) + "}";
+    }
+
+    private static String literal(String text) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void line(StringBuilder sb, int indent, String text) {
+        for (int i = 0; i < indent; i++) {
+            sb.append("    ");
+        }
+        sb.append(text).append('\n');
+    }
+
+    /**
+     * 构建时使用：java com.myspring.AotContextGenerator 配置类全限定名 [源码输出目录]，pom.xml 的 build-tools profile 在 process-classes 阶段调用并随后编译生成的源码
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("用法：AotContextGenerator <配置类全限定名> [源码输出目录，默认 target/generated-sources/aot]");
+            System.exit(1);
+        }
+        AotContextGenerator generator = new AotContextGenerator(Class.forName(args[0]));
+        File file = generator.writeTo(new File(args.length > 1 ? args[1] : "target/generated-sources/aot"));
+        System.out.println("已生成 " + file.getPath());
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.myspring;
+
+import java.util.EventObject;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器事件的基类，发布的事件也可以是任意对象，不强制继承此类
+ */
+public abstract class ApplicationEvent extends EventObject {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 事件发生的时间
+     */
+    private final long timestamp;
+
+    public ApplicationEvent(Object source) {
+        super(source);
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.myspring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 事件分发器，负责把发布的事件交给对应的监听方法
+ */
+public class ApplicationEventMulticaster {
+
+    /**
+     * 注册监听方法时建立的索引
+     * key: 监听方法声明的事件类型
+     * value: 监听该类型的所有监听方法
+     */
+    private final ConcurrentHashMap<Class<?>, List<ListenerMethod>> listenerIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 发布过的事件类型对应的监听方法，每种事件类型只在第一次发布时计算一次
+     */
+    private final ConcurrentHashMap<Class<?>, ListenerMethod[]> listenerCache = new ConcurrentHashMap<>();
+
+    /**
+     * 根据 beanName 获取监听方法所属的 Bean
+     */
+    private final Function<String, Object> beanResolver;
+
+    /**
+     * 异步分发使用的线程池，为 null 时在发布线程中同步分发
+     */
+    private final ExecutorService executor;
+
+    public ApplicationEventMulticaster(Function<String, Object> beanResolver) {
+        this(beanResolver, null);
+    }
+
+    public ApplicationEventMulticaster(Function<String, Object> beanResolver, ExecutorService executor) {
+        this.beanResolver = beanResolver;
+        this.executor = executor;
+    }
+
+    /**
+     * 创建一个有界队列的线程池，队列满时由发布线程自己执行监听方法，从而限制发布速度
+     * @param threads   线程数
+     * @param queueCapacity 队列容量
+     * @return  线程池
+     */
+    public static ExecutorService createBoundedExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "myspring-event-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 注册一个监听方法，并按事件类型放入索引
+     * @param listenerMethod    监听方法
+     */
+    public void addListener(ListenerMethod listenerMethod) {
+        listenerIndex.computeIfAbsent(listenerMethod.getEventType(), k -> new CopyOnWriteArrayList<>()).add(listenerMethod);
+        // 索引变化后，已经计算过的结果作废
+        listenerCache.clear();
+    }
+
+    /**
+     * 用新的监听方法替换全部已注册的监听方法，热重载时使用
+     * @param listenerMethods   新的监听方法
+     */
+    public void resetListeners(List<ListenerMethod> listenerMethods) {
+        listenerIndex.clear();
+        for (ListenerMethod listenerMethod : listenerMethods) {
+            listenerIndex.computeIfAbsent(listenerMethod.getEventType(), k -> new CopyOnWriteArrayList<>()).add(listenerMethod);
+        }
+        listenerCache.clear();
+    }
+
+    /**
+     * 是否异步分发
+     */
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    /**
+     * 分发事件
+     * @param event 事件对象
+     */
+    public void multicastEvent(Object event) {
+        ListenerMethod[] listenerMethods = listenerCache.computeIfAbsent(event.getClass(), this::resolveListeners);
+        for (ListenerMethod listenerMethod : listenerMethods) {
+            if (executor == null) {
+                // 同步模式下监听方法的异常直接抛给发布者
+                invokeListener(listenerMethod, event);
+            } else {
+                // 异步模式下发布者不会被阻塞，异常只能打印出来
+                executor.execute(() -> {
+                    try {
+                        invokeListener(listenerMethod, event);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 停止异步分发，并等待已经提交的事件处理完毕
+     * @param timeoutMillis 最长等待时间
+     */
+    public void shutdown(long timeoutMillis) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                System.err.println("事件分发线程池在 " + timeoutMillis + "ms 内未能停止，剩余事件将被丢弃");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void invokeListener(ListenerMethod listenerMethod, Object event) {
+        Object bean = beanResolver.apply(listenerMethod.getBeanName());
+        try {
+            listenerMethod.invoke(bean, event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("事件监听方法执行失败：" + listenerMethod, e);
+        }
+    }
+
+    /**
+     * 找出能接收某种事件类型的所有监听方法：事件类型本身及其所有父类、接口上注册的监听方法
+     * @param eventClass    事件的实际类型
+     * @return  监听方法数组
+     */
+    private ListenerMethod[] resolveListeners(Class<?> eventClass) {
+        List<ListenerMethod> result = new ArrayList<>();
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(eventClass);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            List<ListenerMethod> listenerMethods = listenerIndex.get(type);
+            if (listenerMethods != null) {
+                result.addAll(listenerMethods);
+            }
+            if (type.getSuperclass() != null) {
+                queue.add(type.getSuperclass());
+            }
+            for (Class<?> anInterface : type.getInterfaces()) {
+                queue.add(anInterface);
+            }
+        }
+        return result.toArray(new ListenerMethod[0]);
+    }
+
+}
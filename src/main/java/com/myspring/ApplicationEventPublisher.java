@@ -0,0 +1,17 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 事件发布接口
+ */
+public interface ApplicationEventPublisher {
+
+    /**
+     * 发布事件，所有参数类型与事件类型兼容的 @EventListener 方法都会收到
+     *
+     * @param event 事件对象，可以是 ApplicationEvent 也可以是任意对象
+     */
+    void publishEvent(Object event);
+
+}
@@ -0,0 +1,12 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 用于让 Bean 获取事件发布器的 Aware 回调
+ */
+public interface ApplicationEventPublisherAware {
+
+    void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher);
+
+}
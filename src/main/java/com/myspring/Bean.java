@@ -0,0 +1,24 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 声明一个工厂方法，返回值交给容器管理，作用于 @Configuration 类的方法上。
+ * 方法参数按类型注入容器中的 Bean，类型相同的候选有多个时按参数名区分（需要 -parameters 编译），
+ * 添加了 @Value 注解的参数注入配置；作用域通过方法上的 @Scope 指定
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Bean {
+
+    /**
+     * beanName，为空时使用方法名
+     */
+    String value() default "";
+
+}
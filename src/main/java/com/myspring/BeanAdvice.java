@@ -0,0 +1,88 @@
+package com.myspring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个 Bean 上的全部前置、后置通知，按方法名分组为只读数组。
+ * 由 ConfigurationMetadata 在解析完成后构建，同一份元数据的所有容器、所有代理对象共享
+ */
+public final class BeanAdvice {
+
+    /**
+     * 没有任何通知
+     */
+    public static final BeanAdvice NONE = new BeanAdvice(Collections.emptyMap(), Collections.emptyMap());
+
+    private static final MethodWithClass[] NO_ADVICE = new MethodWithClass[0];
+
+    /**
+     * key: 方法名（已驻留）
+     * value: 该方法的前置通知
+     */
+    private final Map<String, MethodWithClass[]> beforeAdvice;
+
+    /**
+     * key: 方法名（已驻留）
+     * value: 该方法的后置通知
+     */
+    private final Map<String, MethodWithClass[]> afterAdvice;
+
+    private BeanAdvice(Map<String, MethodWithClass[]> beforeAdvice, Map<String, MethodWithClass[]> afterAdvice) {
+        this.beforeAdvice = beforeAdvice;
+        this.afterAdvice = afterAdvice;
+    }
+
+    /**
+     * 把以 beanName.methodName 为 key 的通知按 Bean 分组
+     * @param beforeMethodMap   前置通知
+     * @param afterMethodMap    后置通知
+     * @return  key: beanName（已驻留）
+     */
+    static Map<String, BeanAdvice> groupByBean(Map<String, List<MethodWithClass>> beforeMethodMap, Map<String, List<MethodWithClass>> afterMethodMap) {
+        Map<String, Map<String, MethodWithClass[]>> before = groupByBean(beforeMethodMap);
+        Map<String, Map<String, MethodWithClass[]>> after = groupByBean(afterMethodMap);
+        Map<String, BeanAdvice> result = new HashMap<>();
+        for (String beanName : before.keySet()) {
+            result.put(beanName, new BeanAdvice(before.get(beanName), after.getOrDefault(beanName, Collections.emptyMap())));
+        }
+        for (String beanName : after.keySet()) {
+            result.putIfAbsent(beanName, new BeanAdvice(Collections.emptyMap(), after.get(beanName)));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Map<String, Map<String, MethodWithClass[]>> groupByBean(Map<String, List<MethodWithClass>> methodMap) {
+        Map<String, Map<String, MethodWithClass[]>> result = new HashMap<>();
+        for (Map.Entry<String, List<MethodWithClass>> entry : methodMap.entrySet()) {
+            // execute 表达式为 beanName.methodName 格式，名称驻留后多个容器解析出的相同名称只保留一份
+            String[] beanAndMethod = entry.getKey().split("\\.");
+            result.computeIfAbsent(beanAndMethod[0].intern(), k -> new HashMap<>())
+                    .put(beanAndMethod[1].intern(), entry.getValue().toArray(NO_ADVICE));
+        }
+        return result;
+    }
+
+    /**
+     * @return  方法的前置通知，没有时返回空数组
+     */
+    public MethodWithClass[] getBefore(String methodName) {
+        return beforeAdvice.getOrDefault(methodName, NO_ADVICE);
+    }
+
+    /**
+     * @return  方法的后置通知，没有时返回空数组
+     */
+    public MethodWithClass[] getAfter(String methodName) {
+        return afterAdvice.getOrDefault(methodName, NO_ADVICE);
+    }
+
+    public boolean isEmpty() {
+        return beforeAdvice.isEmpty() && afterAdvice.isEmpty();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 创建一个 Bean 的三个阶段，按执行顺序排列，启动记录按序号累计各阶段的耗时
+ */
+public enum BeanCreationPhase {
+
+    /**
+     * 实例化：构造方法或 @Bean 方法
+     */
+    INSTANTIATE("instantiate"),
+
+    /**
+     * 属性填充
+     */
+    POPULATE("populate"),
+
+    /**
+     * 初始化：Aware 回调、后置处理器和初始化方法
+     */
+    INITIALIZE("initialize");
+
+    /**
+     * 导出依赖图时使用的名称
+     */
+    private final String label;
+
+    BeanCreationPhase(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+}
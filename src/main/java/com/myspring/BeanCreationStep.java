@@ -0,0 +1,110 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 启动期间一个 Bean 的创建耗时。自身耗时不含它触发的其他 Bean 的创建，
+ * 按阶段拆分为实例化（构造方法或 @Bean 方法）、属性填充、初始化（Aware 回调、后置处理器和初始化方法）
+ */
+public class BeanCreationStep {
+
+    private final String beanName;
+
+    /**
+     * 触发本次创建的外层 Bean，由容器直接创建时为 null
+     */
+    private final String triggeredBy;
+
+    /**
+     * 外层 Bean 在哪个阶段触发了本次创建，由容器直接创建时为 null
+     */
+    private final BeanCreationPhase triggeredPhase;
+
+    /**
+     * 相对容器开始创建的时间
+     */
+    private final long offsetNanos;
+
+    /**
+     * 含嵌套创建的总耗时
+     */
+    private final long totalNanos;
+
+    private final long instantiateNanos;
+
+    private final long populateNanos;
+
+    private final long initializeNanos;
+
+    /**
+     * 启动期间的创建次数，原型 Bean 可能大于 1
+     */
+    private final int count;
+
+    BeanCreationStep(String beanName, String triggeredBy, BeanCreationPhase triggeredPhase, long offsetNanos, long totalNanos,
+                     long instantiateNanos, long populateNanos, long initializeNanos, int count) {
+        this.beanName = beanName;
+        this.triggeredBy = triggeredBy;
+        this.triggeredPhase = triggeredPhase;
+        this.offsetNanos = offsetNanos;
+        this.totalNanos = totalNanos;
+        this.instantiateNanos = instantiateNanos;
+        this.populateNanos = populateNanos;
+        this.initializeNanos = initializeNanos;
+        this.count = count;
+    }
+
+    /**
+     * 同一个 Bean 的多次创建累加耗时，触发者和开始时间以第一次为准
+     */
+    static BeanCreationStep merge(BeanCreationStep first, BeanCreationStep second) {
+        return new BeanCreationStep(first.beanName, first.triggeredBy, first.triggeredPhase, first.offsetNanos,
+                first.totalNanos + second.totalNanos, first.instantiateNanos + second.instantiateNanos,
+                first.populateNanos + second.populateNanos, first.initializeNanos + second.initializeNanos,
+                first.count + second.count);
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public String getTriggeredBy() {
+        return triggeredBy;
+    }
+
+    public BeanCreationPhase getTriggeredPhase() {
+        return triggeredPhase;
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 不含嵌套创建的自身耗时
+     */
+    public long getSelfNanos() {
+        return instantiateNanos + populateNanos + initializeNanos;
+    }
+
+    public long getInstantiateNanos() {
+        return instantiateNanos;
+    }
+
+    public long getPopulateNanos() {
+        return populateNanos;
+    }
+
+    public long getInitializeNanos() {
+        return initializeNanos;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.myspring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 记录每个线程正在创建的 Bean，线程之间互不影响，判断是否正在创建只需 O(1)
+ */
+public class BeanCreationTracker {
+
+    /**
+     * 当前线程的创建栈，栈空时移除，避免线程池中的线程一直持有
+     */
+    private final ThreadLocal<CreationStack> currentStack = new ThreadLocal<>();
+
+    /**
+     * 开始创建 Bean，同一线程中重复创建同一个 Bean 意味着出现了无法解决的循环依赖
+     * @param beanName  Bean 的名称
+     */
+    public void beforeCreation(String beanName) {
+        CreationStack stack = currentStack.get();
+        if (stack == null) {
+            stack = new CreationStack();
+            currentStack.set(stack);
+        }
+        if (!stack.members.add(beanName)) {
+            List<String> chain = new ArrayList<>(stack.order);
+            chain.add(beanName);
+            throw new BeanCurrentlyInCreationException(beanName, chain);
+        }
+        stack.order.addLast(beanName);
+    }
+
+    /**
+     * Bean 创建结束（无论成功还是失败）
+     * @param beanName  Bean 的名称
+     */
+    public void afterCreation(String beanName) {
+        CreationStack stack = currentStack.get();
+        if (stack == null || !stack.members.remove(beanName)) {
+            return;
+        }
+        // 正常情况下结束的总是栈顶
+        if (beanName.equals(stack.order.peekLast())) {
+            stack.order.pollLast();
+        } else {
+            stack.order.removeLastOccurrence(beanName);
+        }
+        if (stack.members.isEmpty()) {
+            currentStack.remove();
+        }
+    }
+
+    /**
+     * 当前线程是否正在创建某个 Bean
+     */
+    public boolean isCurrentlyInCreation(String beanName) {
+        CreationStack stack = currentStack.get();
+        return stack != null && stack.members.contains(beanName);
+    }
+
+    /**
+     * 当前线程的创建链，从最外层的 Bean 开始
+     */
+    public List<String> getCreationChain() {
+        CreationStack stack = currentStack.get();
+        return stack == null ? new ArrayList<>() : new ArrayList<>(stack.order);
+    }
+
+    /**
+     * 用于判断是否存在的集合加上用于记录顺序的栈
+     */
+    private static class CreationStack {
+
+        private final Set<String> members = new HashSet<>();
+
+        private final ArrayDeque<String> order = new ArrayDeque<>();
+
+    }
+
+}
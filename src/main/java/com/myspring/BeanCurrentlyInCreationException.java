@@ -0,0 +1,29 @@
+package com.myspring;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 出现无法通过提前暴露引用解决的循环依赖时抛出，例如原型 Bean 之间的循环依赖
+ */
+public class BeanCurrentlyInCreationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 完整的创建链，最后一个元素是再次被请求的 Bean
+     */
+    private final List<String> creationChain;
+
+    public BeanCurrentlyInCreationException(String beanName, List<String> creationChain) {
+        super("Bean " + beanName + " 正在创建中，检测到无法解决的循环依赖：" + String.join(" -> ", creationChain));
+        this.creationChain = Collections.unmodifiableList(creationChain);
+    }
+
+    public List<String> getCreationChain() {
+        return creationChain;
+    }
+
+}
@@ -2,15 +2,19 @@ package com.myspring;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * @author codeep
  * @date 2024/3/15
- * @description: Bean 定义类
+ * @description: Bean 定义类，按对象身份比较，不生成基于可变属性的 equals/hashCode
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -19,11 +23,28 @@ public class BeanDefinition {
     /**
      * Bean 的类型
      */
-    private Class clazz;
+    private Class<?> clazz;
 
     /**
      * Bean 的作用域
      */
     private String Scope;
 
+    /**
+     * Bean 的注入计划，扫描时解析
+     */
+    private InjectionMetadata injectionMetadata;
+
+    /**
+     * 由 @Bean 方法定义时的工厂方法，由组件类定义时为 null
+     */
+    private FactoryMethod factoryMethod;
+
+    /**
+     * 定义这个 Bean 的类：@Bean 方法所在的配置类，或者组件类本身
+     */
+    public Class<?> getSourceClass() {
+        return factoryMethod != null ? factoryMethod.getConfigClass() : clazz;
+    }
+
 }
@@ -0,0 +1,489 @@
+package com.myspring;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器启动时解析出的 Bean 依赖图，附带每个 Bean 实测的创建耗时。
+ * 边从依赖方指向被依赖方，关键路径是沿依赖边自身耗时之和最大的一条创建链
+ */
+public class BeanDependencyGraph {
+
+    /**
+     * 通过 @Autowired 属性注入
+     */
+    public static final String AUTOWIRED = "autowired";
+
+    /**
+     * 作为 @Bean 方法的参数
+     */
+    public static final String BEAN_METHOD_ARGUMENT = "bean-method-argument";
+
+    /**
+     * @Bean 方法所在的配置类
+     */
+    public static final String CONFIGURATION = "configuration";
+
+    /**
+     * 被切面增强
+     */
+    public static final String ADVICE = "advice";
+
+    /**
+     * 被后置处理器加工
+     */
+    public static final String POST_PROCESSOR = "post-processor";
+
+    /**
+     * 配置类名
+     */
+    private final String configClassName;
+
+    /**
+     * 从容器开始创建到启动完成的耗时
+     */
+    private final long startupNanos;
+
+    /**
+     * key: beanName，按定义顺序排列
+     */
+    private final Map<String, Node> nodes;
+
+    private final List<Edge> edges;
+
+    /**
+     * 关键路径，从最外层的依赖方开始
+     */
+    private final List<Node> criticalPath;
+
+    private BeanDependencyGraph(String configClassName, long startupNanos, Map<String, Node> nodes, List<Edge> edges) {
+        this.configClassName = configClassName;
+        this.startupNanos = startupNanos;
+        this.nodes = Collections.unmodifiableMap(nodes);
+        this.edges = Collections.unmodifiableList(edges);
+        this.criticalPath = Collections.unmodifiableList(findCriticalPath());
+    }
+
+    /**
+     * 根据元数据和启动期间的创建记录构建依赖图
+     * @param metadata  容器启动时使用的元数据
+     * @param steps 每个 Bean 的创建记录
+     * @param startupNanos  启动耗时
+     */
+    static BeanDependencyGraph build(ConfigurationMetadata metadata, Map<String, BeanCreationStep> steps, long startupNanos) {
+        Map<String, Node> nodes = new LinkedHashMap<>();
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            BeanDefinition beanDefinition = entry.getValue();
+            nodes.put(entry.getKey(), new Node(entry.getKey(), beanDefinition.getClazz().getName(), beanDefinition.getScope(), false, steps.get(entry.getKey())));
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            String beanName = entry.getKey();
+            BeanDefinition beanDefinition = entry.getValue();
+            FactoryMethod factoryMethod = beanDefinition.getFactoryMethod();
+            if (factoryMethod != null) {
+                if (!factoryMethod.isStatic()) {
+                    addEdge(nodes, edges, beanName, factoryMethod.getConfigBeanName(), CONFIGURATION);
+                }
+                for (String argumentName : metadata.getFactoryArgumentNames(beanName)) {
+                    if (argumentName != null) {
+                        addEdge(nodes, edges, beanName, argumentName, BEAN_METHOD_ARGUMENT);
+                    }
+                }
+            } else {
+                for (Field autowiredField : beanDefinition.getInjectionMetadata().getAutowiredFields()) {
+                    addEdge(nodes, edges, beanName, autowiredField.getName(), AUTOWIRED);
+                }
+            }
+        }
+        // 切面：execute 表达式为 beanName.methodName 格式，同一个切面只连一条边
+        Set<String> adviceEdges = new HashSet<>();
+        addAdviceEdges(metadata, metadata.getBeforeMethodMap(), nodes, edges, adviceEdges);
+        addAdviceEdges(metadata, metadata.getAfterMethodMap(), nodes, edges, adviceEdges);
+        // 后置处理器加工启动期间创建的每一个 Bean
+        for (Class<?> postProcessorClass : metadata.getBeanPostProcessorClassList()) {
+            String postProcessorName = beanNameOfClass(metadata, postProcessorClass);
+            for (Node node : new ArrayList<>(nodes.values())) {
+                if (node.step != null && !node.name.equals(postProcessorName)) {
+                    addEdge(nodes, edges, node.name, postProcessorName, POST_PROCESSOR);
+                }
+            }
+        }
+        return new BeanDependencyGraph(metadata.getConfigClass().getName(), startupNanos, nodes, edges);
+    }
+
+    private static void addAdviceEdges(ConfigurationMetadata metadata, Map<String, List<MethodWithClass>> methodMap,
+                                       Map<String, Node> nodes, List<Edge> edges, Set<String> adviceEdges) {
+        for (Map.Entry<String, List<MethodWithClass>> entry : methodMap.entrySet()) {
+            String beanName = entry.getKey().split("\\.")[0];
+            for (MethodWithClass methodWithClass : entry.getValue()) {
+                String aspectName = beanNameOfClass(metadata, methodWithClass.getClazz());
+                if (adviceEdges.add(beanName + "->" + aspectName)) {
+                    addEdge(nodes, edges, beanName, aspectName, ADVICE);
+                }
+            }
+        }
+    }
+
+    /**
+     * 找出由某个类定义的 beanName，这个类不是 Bean 时使用类名
+     */
+    private static String beanNameOfClass(ConfigurationMetadata metadata, Class<?> clazz) {
+        for (Map.Entry<String, BeanDefinition> entry : metadata.getBeanDefinitionMap().entrySet()) {
+            if (entry.getValue().getClazz() == clazz && entry.getValue().getFactoryMethod() == null) {
+                return entry.getKey();
+            }
+        }
+        return clazz.getName();
+    }
+
+    /**
+     * 添加一条边，本容器中没有定义的 Bean 视为父容器中的 Bean
+     */
+    private static void addEdge(Map<String, Node> nodes, List<Edge> edges, String from, String to, String kind) {
+        if (!nodes.containsKey(from)) {
+            nodes.put(from, new Node(from, null, null, true, null));
+        }
+        if (!nodes.containsKey(to)) {
+            nodes.put(to, new Node(to, null, null, true, null));
+        }
+        Edge edge = new Edge(from, to, kind);
+        edges.add(edge);
+        nodes.get(from).dependencies.add(edge);
+    }
+
+    /**
+     * 在创建依赖（属性注入、@Bean 参数和配置类）构成的图中找出自身耗时之和最大的路径。
+     * 循环依赖通过提前暴露的引用解决，不会阻塞创建，所以遇到环时忽略回到栈中的那条边
+     */
+    private List<Node> findCriticalPath() {
+        Map<String, Long> longest = new HashMap<>();
+        Map<String, String> next = new HashMap<>();
+        Set<String> onStack = new HashSet<>();
+        String start = null;
+        long max = -1;
+        for (Node node : nodes.values()) {
+            long length = longestFrom(node, longest, next, onStack);
+            if (length > max) {
+                max = length;
+                start = node.name;
+            }
+        }
+        List<Node> path = new ArrayList<>();
+        for (String name = start; name != null; name = next.get(name)) {
+            path.add(nodes.get(name));
+        }
+        return path;
+    }
+
+    private long longestFrom(Node node, Map<String, Long> longest, Map<String, String> next, Set<String> onStack) {
+        Long cached = longest.get(node.name);
+        if (cached != null) {
+            return cached;
+        }
+        onStack.add(node.name);
+        long best = 0;
+        for (Edge edge : node.dependencies) {
+            if (!edge.isCreationDependency() || onStack.contains(edge.to)) {
+                continue;
+            }
+            long length = longestFrom(nodes.get(edge.to), longest, next, onStack);
+            if (length > best) {
+                best = length;
+                next.put(node.name, edge.to);
+            }
+        }
+        onStack.remove(node.name);
+        long length = node.getSelfNanos() + best;
+        longest.put(node.name, length);
+        return length;
+    }
+
+    public String getConfigClassName() {
+        return configClassName;
+    }
+
+    public long getStartupNanos() {
+        return startupNanos;
+    }
+
+    public Map<String, Node> getNodes() {
+        return nodes;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    public List<Node> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * 关键路径上自身耗时之和
+     */
+    public long getCriticalPathNanos() {
+        long total = 0;
+        for (Node node : criticalPath) {
+            total += node.getSelfNanos();
+        }
+        return total;
+    }
+
+    /**
+     * 导出为 Graphviz DOT，关键路径标红
+     */
+    public String toDot() {
+        Set<String> critical = new HashSet<>();
+        Set<String> criticalEdges = new HashSet<>();
+        for (int i = 0; i < criticalPath.size(); i++) {
+            critical.add(criticalPath.get(i).name);
+            if (i > 0) {
+                criticalEdges.add(criticalPath.get(i - 1).name + "->" + criticalPath.get(i).name);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(quote(configClassName)).append(" {\n");
+        sb.append("    rankdir=LR;\n");
+        sb.append("    node [shape=box, fontname=\"monospace\"];\n");
+        for (Node node : nodes.values()) {
+            String label = node.parent ? node.name + "\\n(父容器)"
+                    : node.name + "\\nself " + millis(node.getSelfNanos()) + " / total " + millis(node.getTotalNanos());
+            sb.append("    ").append(quote(node.name)).append(" [label=").append(quote(label));
+            if (node.parent) {
+                sb.append(", style=dashed");
+            }
+            if (critical.contains(node.name)) {
+                sb.append(", color=red, penwidth=2");
+            }
+            sb.append("];\n");
+        }
+        for (Edge edge : edges) {
+            sb.append("    ").append(quote(edge.from)).append(" -> ").append(quote(edge.to)).append(" [label=").append(quote(edge.kind));
+            if (!edge.isCreationDependency()) {
+                sb.append(", style=dotted, color=gray");
+            } else if (edge.kind.equals(CONFIGURATION)) {
+                sb.append(", style=dashed");
+            }
+            if (criticalEdges.contains(edge.from + "->" + edge.to)) {
+                sb.append(", color=red, penwidth=2");
+            }
+            sb.append("];\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    /**
+     * 导出为 JSON，耗时单位为纳秒
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"configClass\": ").append(quote(configClassName)).append(",\n");
+        sb.append("  \"startupNanos\": ").append(startupNanos).append(",\n");
+        sb.append("  \"beans\": [");
+        String separator = "\n";
+        for (Node node : nodes.values()) {
+            sb.append(separator).append("    {\"name\": ").append(quote(node.name))
+                    .append(", \"class\": ").append(quote(node.className))
+                    .append(", \"scope\": ").append(quote(node.scope))
+                    .append(", \"parent\": ").append(node.parent);
+            BeanCreationStep step = node.step;
+            if (step != null) {
+                sb.append(", \"count\": ").append(step.getCount())
+                        .append(", \"offsetNanos\": ").append(step.getOffsetNanos())
+                        .append(", \"totalNanos\": ").append(step.getTotalNanos())
+                        .append(", \"selfNanos\": ").append(step.getSelfNanos())
+                        .append(", \"instantiateNanos\": ").append(step.getInstantiateNanos())
+                        .append(", \"populateNanos\": ").append(step.getPopulateNanos())
+                        .append(", \"initializeNanos\": ").append(step.getInitializeNanos())
+                        .append(", \"triggeredBy\": ").append(quote(step.getTriggeredBy()))
+                        .append(", \"triggeredPhase\": ").append(quote(step.getTriggeredPhase() == null ? null : step.getTriggeredPhase().toString()));
+            }
+            sb.append('}');
+            separator = ",\n";
+        }
+        sb.append("\n  ],\n");
+        sb.append("  \"edges\": [");
+        separator = "\n";
+        for (Edge edge : edges) {
+            sb.append(separator).append("    {\"from\": ").append(quote(edge.from))
+                    .append(", \"to\": ").append(quote(edge.to))
+                    .append(", \"kind\": ").append(quote(edge.kind)).append('}');
+            separator = ",\n";
+        }
+        sb.append("\n  ],\n");
+        sb.append("  \"criticalPath\": {\"nanos\": ").append(getCriticalPathNanos()).append(", \"beans\": [");
+        separator = "";
+        for (Node node : criticalPath) {
+            sb.append(separator).append(quote(node.name));
+            separator = ", ";
+        }
+        sb.append("]}\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * 关键路径以及每一步是由哪个 Bean 的哪个阶段触发的
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s 启动耗时 %s，关键路径 %s：%n", configClassName, millis(startupNanos), millis(getCriticalPathNanos())));
+        for (Node node : criticalPath) {
+            BeanCreationStep step = node.step;
+            if (step == null) {
+                sb.append(String.format("  %-24s %s%n", node.name, node.parent ? "(父容器)" : "(未创建)"));
+                continue;
+            }
+            String trigger = step.getTriggeredBy() == null ? "容器" : step.getTriggeredBy() + "." + step.getTriggeredPhase();
+            sb.append(String.format("  %-24s self %-10s instantiate %-10s populate %-10s initialize %-10s 由 %s 触发%n",
+                    node.name, millis(step.getSelfNanos()), millis(step.getInstantiateNanos()),
+                    millis(step.getPopulateNanos()), millis(step.getInitializeNanos()), trigger));
+        }
+        return sb.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String text) {
+        if (text == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                sb.append("\\\"");
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * 图中的一个 Bean
+     */
+    public static class Node {
+
+        private final String name;
+
+        /**
+         * 父容器中的 Bean 为 null
+         */
+        private final String className;
+
+        private final String scope;
+
+        /**
+         * 是否为本容器中没有定义、从父容器获取的 Bean
+         */
+        private final boolean parent;
+
+        /**
+         * 启动期间没有创建时为 null
+         */
+        private final BeanCreationStep step;
+
+        /**
+         * 从这个 Bean 出发的边
+         */
+        private final List<Edge> dependencies = new ArrayList<>();
+
+        private Node(String name, String className, String scope, boolean parent, BeanCreationStep step) {
+            this.name = name;
+            this.className = className;
+            this.scope = scope;
+            this.parent = parent;
+            this.step = step;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public boolean isParent() {
+            return parent;
+        }
+
+        public BeanCreationStep getStep() {
+            return step;
+        }
+
+        public List<Edge> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        public long getSelfNanos() {
+            return step == null ? 0 : step.getSelfNanos();
+        }
+
+        public long getTotalNanos() {
+            return step == null ? 0 : step.getTotalNanos();
+        }
+
+    }
+
+    /**
+     * 从依赖方指向被依赖方的一条边
+     */
+    public static class Edge {
+
+        private final String from;
+
+        private final String to;
+
+        private final String kind;
+
+        private Edge(String from, String to, String kind) {
+            this.from = from;
+            this.to = to;
+            this.kind = kind;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        /**
+         * 是否在创建依赖方时必须先创建被依赖方，切面和后置处理器不阻塞创建
+         */
+        public boolean isCreationDependency() {
+            return !ADVICE.equals(kind) && !POST_PROCESSOR.equals(kind);
+        }
+
+    }
+
+}
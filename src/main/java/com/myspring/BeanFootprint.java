@@ -0,0 +1,40 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个单例 Bean 的内存占用估算
+ */
+public class BeanFootprint {
+
+    private final String beanName;
+
+    /**
+     * 原始 Bean 对象及其独占的对象
+     */
+    private final long beanBytes;
+
+    /**
+     * 代理对象、调用处理器及其独占的对象，没有代理时为 0
+     */
+    private final long proxyBytes;
+
+    public BeanFootprint(String beanName, long beanBytes, long proxyBytes) {
+        this.beanName = beanName;
+        this.beanBytes = beanBytes;
+        this.proxyBytes = proxyBytes;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public long getBeanBytes() {
+        return beanBytes;
+    }
+
+    public long getProxyBytes() {
+        return proxyBytes;
+    }
+
+}
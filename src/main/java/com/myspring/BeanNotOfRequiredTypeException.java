@@ -0,0 +1,49 @@
+package com.myspring;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 要注入的 Bean 与注入点声明的类型不匹配时抛出，例如只实现了接口的代理对象被按实现类注入
+ */
+public class BeanNotOfRequiredTypeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 要注入的 Bean 的名称
+     */
+    private final String beanName;
+
+    /**
+     * 注入点声明的类型
+     */
+    private final Class<?> requiredType;
+
+    /**
+     * Bean 的实际类型
+     */
+    private final Class<?> actualType;
+
+    public BeanNotOfRequiredTypeException(String beanName, Class<?> requiredType, Class<?> actualType, String injectionPoint) {
+        super("Bean " + beanName + " 的类型是 " + actualType.getName() + "，无法注入到 " + injectionPoint + "（需要 " + requiredType.getName() + "）"
+                + (Proxy.isProxyClass(actualType) ? "。它是只实现了接口的代理对象，注入点需要声明为接口类型" : ""));
+        this.beanName = beanName;
+        this.requiredType = requiredType;
+        this.actualType = actualType;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Class<?> getRequiredType() {
+        return requiredType;
+    }
+
+    public Class<?> getActualType() {
+        return actualType;
+    }
+
+}
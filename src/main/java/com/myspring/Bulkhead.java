@@ -0,0 +1,27 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 舱壁隔离，限制方法的最大并发数，超出时抛出 BulkheadFullException，需要开启 AOP，注解写在实现类的方法上
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    /**
+     * 最大并发数
+     */
+    int maxConcurrent();
+
+    /**
+     * 没有空位时最多等待的时间（毫秒），0 表示不等待
+     */
+    long maxWait() default 0;
+
+}
@@ -0,0 +1,43 @@
+package com.myspring;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: @Bulkhead 的拦截器
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+
+    private final Semaphore semaphore;
+
+    private final long maxWait;
+
+    private final ResilienceMetrics metrics;
+
+    public BulkheadInterceptor(Bulkhead bulkhead, ResilienceMetrics metrics) {
+        this(bulkhead.maxConcurrent(), bulkhead.maxWait(), metrics);
+    }
+
+    public BulkheadInterceptor(int maxConcurrent, long maxWait, ResilienceMetrics metrics) {
+        this.semaphore = new Semaphore(maxConcurrent);
+        this.maxWait = maxWait;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        boolean acquired = maxWait <= 0 ? semaphore.tryAcquire() : semaphore.tryAcquire(maxWait, TimeUnit.MILLISECONDS);
+        if (!acquired) {
+            metrics.recordBulkheadRejection();
+            throw new BulkheadFullException(metrics.getName() + " 并发数已满");
+        }
+        try {
+            return invocation.proceed();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+}
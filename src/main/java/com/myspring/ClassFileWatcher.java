@@ -0,0 +1,171 @@
+package com.myspring;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 监听扫描目录及其所有子目录中 class 文件的新增、修改和删除，在一段时间内没有新的变化后把变化的类名一次性交给回调
+ */
+public class ClassFileWatcher implements Closeable {
+
+    /**
+     * 被监听的根目录
+     */
+    private final Path rootDirectory;
+
+    /**
+     * 被监听目录对应的包名
+     */
+    private final String packageName;
+
+    /**
+     * 等待文件稳定的时间（毫秒）
+     */
+    private final long quietPeriodMillis;
+
+    /**
+     * 收到变化后的回调，参数为变化的类的全限定名（内部类归到外部类）
+     */
+    private final Consumer<Set<String>> callback;
+
+    private final WatchService watchService;
+
+    /**
+     * WatchService 只监听单个目录，每个子目录单独注册，key: 注册得到的 WatchKey，value: 对应的目录
+     */
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+    private final Thread thread;
+
+    public ClassFileWatcher(File directory, String packageName, long quietPeriodMillis, Consumer<Set<String>> callback) throws IOException {
+        this.rootDirectory = directory.toPath();
+        this.packageName = packageName;
+        this.quietPeriodMillis = quietPeriodMillis;
+        this.callback = callback;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        registerAll(rootDirectory, null);
+        this.thread = new Thread(this::watch, "myspring-hot-reload");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * 注册 directory 及其所有子目录
+     * @param directory 要注册的目录
+     * @param classNames    不为 null 时把目录中已有的 class 文件也当作新增，用于监听开始后才创建的目录，
+     *                      目录创建和注册之间写入的文件不会产生事件
+     */
+    private void registerAll(Path directory, Set<String> classNames) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            Iterator<Path> iterator = paths.iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                if (Files.isDirectory(path)) {
+                    WatchKey key = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    watchedDirectories.put(key, path);
+                } else if (classNames != null) {
+                    addClassName(path, classNames);
+                }
+            }
+        }
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                Set<String> changedClassNames = new LinkedHashSet<>();
+                // 阻塞等待第一个变化
+                WatchKey key = watchService.take();
+                collect(key, changedClassNames);
+                // 持续收集，直到 quietPeriodMillis 内没有新的变化
+                while ((key = watchService.poll(quietPeriodMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changedClassNames);
+                }
+                if (!changedClassNames.isEmpty()) {
+                    try {
+                        callback.accept(changedClassNames);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 容器关闭，停止监听
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changedClassNames) {
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                // 新建的子包目录同样需要监听
+                try {
+                    registerAll(path, changedClassNames);
+                } catch (IOException e) {
+                    // 目录刚创建又被删除，忽略
+                }
+            } else {
+                addClassName(path, changedClassNames);
+            }
+        }
+        // 目录被删除后 key 失效，不再保留
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    /**
+     * 由 class 文件相对根目录的路径得到类的全限定名，内部类归到外部类
+     */
+    private void addClassName(Path path, Set<String> classNames) {
+        String fileName = path.getFileName().toString();
+        if (!fileName.endsWith(".class")) {
+            return;
+        }
+        String relativeName = rootDirectory.relativize(path).toString();
+        relativeName = relativeName.substring(0, relativeName.length() - ".class".length()).replace(File.separatorChar, '.');
+        int innerIndex = relativeName.indexOf('$');
+        if (innerIndex >= 0) {
+            relativeName = relativeName.substring(0, innerIndex);
+        }
+        classNames.add(packageName + "." + relativeName);
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        thread.interrupt();
+    }
+
+}
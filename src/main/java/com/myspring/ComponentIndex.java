@@ -0,0 +1,95 @@
+package com.myspring;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 构建时生成的组件索引，每行一个组件类的全限定名，顺序与构建时扫描的顺序相同。
+ * 启动时指定 -Dmyspring.scan.disabled=true 后只从索引中读取组件，不再列出类路径中的目录，
+ * 用于 native-image 等不能扫描类路径的封闭环境
+ */
+public final class ComponentIndex {
+
+    /**
+     * 索引在类路径中的位置，每个 jar 或 classes 目录可以各有一份
+     */
+    public static final String LOCATION = "META-INF/myspring.components";
+
+    /**
+     * 禁止扫描类路径的系统属性
+     */
+    public static final String SCAN_DISABLED_PROPERTY = "myspring.scan.disabled";
+
+    private ComponentIndex() {
+    }
+
+    /**
+     * 是否禁止扫描类路径
+     */
+    public static boolean isScanDisabled() {
+        return Boolean.getBoolean(SCAN_DISABLED_PROPERTY);
+    }
+
+    /**
+     * 从类路径中的所有索引里读取某个包中的组件类名，与扫描一样不包括子包
+     * @param classLoader   类加载器
+     * @param packageName   包名
+     * @return  按索引顺序排列的类名
+     */
+    public static List<String> load(ClassLoader classLoader, String packageName) {
+        Set<String> classNames = new LinkedHashSet<>();
+        boolean found = false;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                found = true;
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (line.isEmpty() || line.startsWith("#")) {
+                            continue;
+                        }
+                        int lastDot = line.lastIndexOf('.');
+                        if (lastDot > 0 && line.substring(0, lastDot).equals(packageName)) {
+                            classNames.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("读取组件索引失败：" + LOCATION, e);
+        }
+        if (!found) {
+            throw new IllegalStateException("已禁止扫描类路径（-D" + SCAN_DISABLED_PROPERTY + "=true），但类路径中没有组件索引 "
+                    + LOCATION + "，请先在构建时运行 NativeImageConfigGenerator");
+        }
+        return new ArrayList<>(classNames);
+    }
+
+    /**
+     * 生成索引文件的内容
+     * @param classNames    组件类名，按扫描顺序排列
+     */
+    public static String format(Collection<String> classNames) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# 由 NativeImageConfigGenerator 生成，-D").append(SCAN_DISABLED_PROPERTY).append("=true 时代替类路径扫描\n");
+        for (String className : classNames) {
+            sb.append(className).append('\n');
+        }
+        return sb.toString();
+    }
+
+}
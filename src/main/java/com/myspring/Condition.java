@@ -0,0 +1,19 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 自定义注册条件，通过 @Conditional 引用。实现类需要有无参构造方法，同一个实现类只会实例化一次，
+ * 判断应当只依赖传入的参数，不要在这里创建 Bean 或者做耗时操作
+ */
+public interface Condition {
+
+    /**
+     * 判断组件是否需要注册
+     * @param context   扫描时的上下文
+     * @param clazz 被判断的组件类，只加载未初始化
+     * @return  true 表示注册
+     */
+    boolean matches(ConditionContext context, Class<?> clazz);
+
+}
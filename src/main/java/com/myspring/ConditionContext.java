@@ -0,0 +1,67 @@
+package com.myspring;
+
+import java.util.Map;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 判断注册条件时可以使用的信息：配置快照以及到目前为止已经注册的 BeanDefinition
+ */
+public class ConditionContext {
+
+    private final Environment environment;
+
+    /**
+     * 正在解析的元数据中已经注册的 BeanDefinition
+     */
+    private final Map<String, BeanDefinition> beanDefinitionMap;
+
+    /**
+     * 父容器的元数据，可以为 null
+     */
+    private final ConfigurationMetadata parent;
+
+    ConditionContext(Environment environment, Map<String, BeanDefinition> beanDefinitionMap, ConfigurationMetadata parent) {
+        this.environment = environment;
+        this.beanDefinitionMap = beanDefinitionMap;
+        this.parent = parent;
+    }
+
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * 本容器或父容器中是否已经注册了指定名称的 Bean
+     */
+    public boolean containsBeanDefinition(String beanName) {
+        for (ConfigurationMetadata metadata = parent; metadata != null; metadata = metadata.getParent()) {
+            if (metadata.containsBeanDefinition(beanName)) {
+                return true;
+            }
+        }
+        return beanDefinitionMap.containsKey(beanName);
+    }
+
+    /**
+     * 本容器或父容器中是否已经注册了指定类型的 Bean
+     * @return  找到的 beanName，没有时返回 null
+     */
+    public String findBeanOfType(Class<?> type) {
+        String beanName = findBeanOfType(beanDefinitionMap, type);
+        for (ConfigurationMetadata metadata = parent; beanName == null && metadata != null; metadata = metadata.getParent()) {
+            beanName = findBeanOfType(metadata.getBeanDefinitionMap(), type);
+        }
+        return beanName;
+    }
+
+    private static String findBeanOfType(Map<String, BeanDefinition> beanDefinitionMap, Class<?> type) {
+        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+            if (type.isAssignableFrom(entry.getValue().getClazz())) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+}
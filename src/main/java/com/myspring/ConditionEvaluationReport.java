@@ -0,0 +1,62 @@
+package com.myspring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 扫描时所有带条件的组件的判断结果，没有条件注解的组件不会出现在报告中
+ */
+public class ConditionEvaluationReport {
+
+    /**
+     * 按判断顺序排列
+     */
+    private final List<ConditionOutcome> outcomes;
+
+    /**
+     * 全部条件的判断耗时
+     */
+    private final long evaluationNanos;
+
+    public ConditionEvaluationReport(List<ConditionOutcome> outcomes, long evaluationNanos) {
+        this.outcomes = Collections.unmodifiableList(new ArrayList<>(outcomes));
+        this.evaluationNanos = evaluationNanos;
+    }
+
+    public List<ConditionOutcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public long getEvaluationNanos() {
+        return evaluationNanos;
+    }
+
+    /**
+     * 被排除的 beanName
+     */
+    public List<String> getExcludedBeanNames() {
+        List<String> beanNames = new ArrayList<>();
+        for (ConditionOutcome outcome : outcomes) {
+            if (!outcome.isMatched()) {
+                beanNames.add(outcome.getBeanName());
+            }
+        }
+        return beanNames;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int excluded = getExcludedBeanNames().size();
+        builder.append(String.format("条件判断：%d 个组件，注册 %d 个，排除 %d 个，耗时 %.3f ms%n",
+                outcomes.size(), outcomes.size() - excluded, excluded, evaluationNanos / 1_000_000.0));
+        for (ConditionOutcome outcome : outcomes) {
+            builder.append("  ").append(outcome).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+}
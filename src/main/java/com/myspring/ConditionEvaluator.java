@@ -0,0 +1,144 @@
+package com.myspring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 在扫描时判断组件的条件注解。判断顺序按开销从小到大：配置、类是否存在、自定义条件、已注册的 Bean，
+ * 遇到第一个不满足的条件就停止
+ */
+final class ConditionEvaluator {
+
+    /**
+     * 自定义条件的实例，同一个条件类只创建一次
+     */
+    private static final ConcurrentHashMap<Class<? extends Condition>, Condition> CONDITION_CACHE = new ConcurrentHashMap<>();
+
+    private ConditionEvaluator() {
+    }
+
+    /**
+     * 类上是否有条件注解
+     */
+    static boolean isConditional(Class<?> clazz) {
+        return clazz.isAnnotationPresent(ConditionalOnProperty.class)
+                || clazz.isAnnotationPresent(ConditionalOnClass.class)
+                || clazz.isAnnotationPresent(Conditional.class)
+                || clazz.isAnnotationPresent(ConditionalOnMissingBean.class);
+    }
+
+    /**
+     * 是否需要等其他组件注册完成后再判断
+     */
+    static boolean isDeferred(Class<?> clazz) {
+        return clazz.isAnnotationPresent(ConditionalOnMissingBean.class);
+    }
+
+    /**
+     * 判断除 @ConditionalOnMissingBean 以外的条件
+     * @return  不满足的原因，全部满足时返回 null
+     */
+    static String evaluate(ConditionContext context, Class<?> clazz) {
+        ConditionalOnProperty onProperty = clazz.getDeclaredAnnotation(ConditionalOnProperty.class);
+        if (onProperty != null) {
+            String value = context.getEnvironment().getProperty(onProperty.name());
+            boolean matched;
+            if (value == null) {
+                matched = onProperty.matchIfMissing();
+            } else if (onProperty.havingValue().isEmpty()) {
+                matched = !"false".equalsIgnoreCase(value.trim());
+            } else {
+                matched = onProperty.havingValue().equalsIgnoreCase(value.trim());
+            }
+            if (!matched) {
+                return "@ConditionalOnProperty " + onProperty.name() + " 的值为 " + value;
+            }
+        }
+        ConditionalOnClass onClass = clazz.getDeclaredAnnotation(ConditionalOnClass.class);
+        if (onClass != null) {
+            ClassLoader classLoader = clazz.getClassLoader();
+            for (String className : onClass.value()) {
+                // 只查找 class 文件，不加载类
+                if (classLoader.getResource(className.replace('.', '/') + ".class") == null) {
+                    return "@ConditionalOnClass 找不到类 " + className;
+                }
+            }
+        }
+        Conditional conditional = clazz.getDeclaredAnnotation(Conditional.class);
+        if (conditional != null) {
+            for (Class<? extends Condition> conditionClass : conditional.value()) {
+                if (!getCondition(conditionClass).matches(context, clazz)) {
+                    return "@Conditional " + conditionClass.getSimpleName() + " 不满足";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断 @ConditionalOnMissingBean
+     * @return  不满足的原因，满足或没有此注解时返回 null
+     */
+    static String evaluateMissingBean(ConditionContext context, Class<?> clazz) {
+        ConditionalOnMissingBean onMissingBean = clazz.getDeclaredAnnotation(ConditionalOnMissingBean.class);
+        if (onMissingBean == null) {
+            return null;
+        }
+        for (String beanName : onMissingBean.name()) {
+            if (context.containsBeanDefinition(beanName)) {
+                return "@ConditionalOnMissingBean 已存在 Bean " + beanName;
+            }
+        }
+        Class<?>[] types = onMissingBean.type();
+        if (types.length == 0 && onMissingBean.name().length == 0) {
+            types = new Class<?>[]{clazz};
+        }
+        for (Class<?> type : types) {
+            String existing = context.findBeanOfType(type);
+            if (existing != null) {
+                return "@ConditionalOnMissingBean 已存在 " + type.getSimpleName() + " 类型的 Bean " + existing;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 概述类上的全部条件，用于报告中满足条件的组件
+     */
+    static String describe(Class<?> clazz) {
+        List<String> descriptions = new ArrayList<>();
+        ConditionalOnProperty onProperty = clazz.getDeclaredAnnotation(ConditionalOnProperty.class);
+        if (onProperty != null) {
+            descriptions.add("@ConditionalOnProperty " + onProperty.name()
+                    + (onProperty.havingValue().isEmpty() ? "" : "=" + onProperty.havingValue()));
+        }
+        ConditionalOnClass onClass = clazz.getDeclaredAnnotation(ConditionalOnClass.class);
+        if (onClass != null) {
+            descriptions.add("@ConditionalOnClass " + String.join(", ", onClass.value()));
+        }
+        Conditional conditional = clazz.getDeclaredAnnotation(Conditional.class);
+        if (conditional != null) {
+            for (Class<? extends Condition> conditionClass : conditional.value()) {
+                descriptions.add("@Conditional " + conditionClass.getSimpleName());
+            }
+        }
+        if (clazz.isAnnotationPresent(ConditionalOnMissingBean.class)) {
+            descriptions.add("@ConditionalOnMissingBean");
+        }
+        return String.join("，", descriptions) + " 均满足";
+    }
+
+    private static Condition getCondition(Class<? extends Condition> conditionClass) {
+        return CONDITION_CACHE.computeIfAbsent(conditionClass, clazz -> {
+            try {
+                return clazz.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("无法实例化条件 " + clazz.getName(), e);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个带条件的组件的判断结果
+ */
+public class ConditionOutcome {
+
+    private final String beanName;
+
+    private final String className;
+
+    private final boolean matched;
+
+    /**
+     * 不满足时为第一个不满足的条件，满足时为全部条件的概述
+     */
+    private final String message;
+
+    public ConditionOutcome(String beanName, String className, boolean matched, String message) {
+        this.beanName = beanName;
+        this.className = className;
+        this.matched = matched;
+        this.message = message;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public boolean isMatched() {
+        return matched;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return (matched ? "注册 " : "排除 ") + beanName + "(" + className + ")：" + message;
+    }
+
+}
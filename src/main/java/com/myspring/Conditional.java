@@ -0,0 +1,20 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 组件只有在全部条件都满足时才会注册，作用于 @Component 类上。
+ * 条件在扫描时判断，不满足条件的类不会被实例化，也不会被当作 BeanPostProcessor、切面或监听者
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Conditional {
+
+    Class<? extends Condition>[] value();
+
+}
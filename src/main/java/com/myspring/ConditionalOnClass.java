@@ -0,0 +1,22 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 类路径上存在全部指定的类时才注册组件。只查找 class 文件，不会加载这些类
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalOnClass {
+
+    /**
+     * 类的全限定名，写成字符串是为了在类不存在时注解本身仍然可以读取
+     */
+    String[] value();
+
+}
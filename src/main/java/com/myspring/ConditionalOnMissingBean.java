@@ -0,0 +1,28 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器及父容器中没有指定的 Bean 时才注册组件，用于提供可被覆盖的默认实现。
+ * 带有此注解的组件在其他组件全部注册之后按扫描顺序判断，彼此之间只能看到排在前面且已经注册的组件
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalOnMissingBean {
+
+    /**
+     * beanName
+     */
+    String[] name() default {};
+
+    /**
+     * Bean 的类型，name 和 type 都为空时使用组件类自身
+     */
+    Class<?>[] type() default {};
+
+}
@@ -0,0 +1,32 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 配置满足要求时才注册组件，配置按 Environment 的优先级查找
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalOnProperty {
+
+    /**
+     * 配置名
+     */
+    String name();
+
+    /**
+     * 期望的值，忽略大小写；为空时只要配置存在且不等于 false 就满足
+     */
+    String havingValue() default "";
+
+    /**
+     * 配置不存在时是否满足
+     */
+    boolean matchIfMissing() default false;
+
+}
@@ -0,0 +1,25 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 配置类注解，作用于类或接口上。配置类本身注册为 Bean，其中的 @Bean 方法作为另一种 BeanDefinition 的来源。
+ * 传给容器的配置类和扫描到的类都可以添加此注解。
+ * 普通类中的 @Bean 方法之间直接调用不会经过容器，依赖需要声明为方法参数；
+ * 接口中的 @Bean 默认方法由 JDK 动态代理实现，方法之间的调用返回容器中的 Bean
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Configuration {
+
+    /**
+     * 配置类的 beanName，为空时使用首字母小写的类名
+     */
+    String value() default "";
+
+}
@@ -0,0 +1,125 @@
+package com.myspring;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 接口配置类的调用处理器。调用 @Bean 方法时从容器中获取 Bean，所以 @Bean 默认方法之间的调用返回的是容器中的单例；
+ * 容器创建 Bean 时绕过代理直接执行默认方法的方法体
+ */
+public class ConfigurationInvocationHandler implements InvocationHandler {
+
+    /**
+     * Java 9 以上用于获取私有 Lookup 的方法，Java 8 中为 null
+     */
+    private static final Method PRIVATE_LOOKUP_IN;
+
+    static {
+        Method privateLookupIn = null;
+        try {
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            // Java 8 改用 Lookup 的私有构造方法
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+    }
+
+    private final Class<?> configInterface;
+
+    /**
+     * 接口中的 @Bean 方法
+     * value: beanName
+     */
+    private final Map<Method, String> beanMethods = new HashMap<>();
+
+    /**
+     * 按 beanName 获取 Bean，一般为容器的 getBean
+     */
+    private final Function<String, Object> beanFactory;
+
+    /**
+     * 其他默认方法绑定到代理对象后的方法句柄
+     */
+    private final ConcurrentHashMap<Method, MethodHandle> defaultMethods = new ConcurrentHashMap<>();
+
+    private ConfigurationInvocationHandler(Class<?> configInterface, Function<String, Object> beanFactory) {
+        this.configInterface = configInterface;
+        this.beanFactory = beanFactory;
+        for (Method method : configInterface.getMethods()) {
+            if (method.isAnnotationPresent(Bean.class)) {
+                beanMethods.put(method, FactoryMethod.beanNameOf(method));
+            }
+        }
+    }
+
+    /**
+     * 创建接口配置类的代理对象
+     * @param configInterface   添加了 @Configuration 注解的接口
+     * @param beanFactory   按 beanName 获取 Bean
+     * @return  代理对象
+     */
+    public static Object createProxy(Class<?> configInterface, Function<String, Object> beanFactory) {
+        return Proxy.newProxyInstance(configInterface.getClassLoader(), new Class<?>[]{configInterface},
+                new ConfigurationInvocationHandler(configInterface, beanFactory));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "@Configuration " + configInterface.getName();
+            }
+        }
+        String beanName = beanMethods.get(method);
+        if (beanName != null) {
+            return beanFactory.apply(beanName);
+        }
+        if (!method.isDefault()) {
+            throw new UnsupportedOperationException("配置类中只能调用默认方法：" + method);
+        }
+        MethodHandle handle = defaultMethods.get(method);
+        if (handle == null) {
+            handle = specialHandle(method).bindTo(proxy);
+            defaultMethods.putIfAbsent(method, handle);
+        }
+        return handle.invokeWithArguments(args == null ? new Object[0] : args);
+    }
+
+    /**
+     * 获取直接执行默认方法方法体的方法句柄，不会再经过代理
+     * @param method    接口中的默认方法
+     * @return  第一个参数为接口实例的方法句柄
+     */
+    public static MethodHandle specialHandle(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup;
+            if (PRIVATE_LOOKUP_IN != null) {
+                lookup = (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, declaringClass, MethodHandles.lookup());
+            } else {
+                Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+                constructor.setAccessible(true);
+                lookup = constructor.newInstance(declaringClass, MethodHandles.Lookup.PRIVATE);
+            }
+            return lookup.unreflectSpecial(method, declaringClass);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("无法获取默认方法的方法句柄：" + method, e);
+        }
+    }
+
+}
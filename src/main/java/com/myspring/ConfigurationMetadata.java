@@ -0,0 +1,731 @@
+package com.myspring;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个配置类扫描解析出的全部元数据，解析完成后只读，可以被多个容器共享
+ */
+public class ConfigurationMetadata {
+
+    /**
+     * 解析的配置类
+     */
+    private final Class<?> configClass;
+
+    /**
+     * 配置快照，配置文件只在解析时读取一次
+     */
+    private final Environment environment;
+
+    /**
+     * 父容器的元数据，只用于判断 @ConditionalOnMissingBean，可以为 null
+     */
+    private final ConfigurationMetadata parent;
+
+    /**
+     * @ComponentScan 指定的包名，没有此注解时为 null
+     */
+    private String scanPackage;
+
+    /**
+     * 扫描包对应的目录，不是目录（比如在 jar 包中）时为 null
+     */
+    private File scanDirectory;
+
+    /**
+     * BeanDefinition 对象存储空间
+     */
+    private Map<String, BeanDefinition> beanDefinitionMap = new LinkedHashMap<>();
+
+    /**
+     * 用于存储 BeanPostProcessor 实现类的类对象
+     */
+    private List<Class<?>> beanPostProcessorClassList = new ArrayList<>();
+
+    /**
+     * 用于存储通过 @Before 注解解析出的切入点及通知
+     * key: execute 表达式
+     * value: 同一个 execute 表达式的所有增强方法
+     */
+    private Map<String, List<MethodWithClass>> beforeMethodMap = new LinkedHashMap<>();
+
+    /**
+     * 用于存储通过 @After 注解解析出的切入点及通知
+     */
+    private Map<String, List<MethodWithClass>> afterMethodMap = new LinkedHashMap<>();
+
+    /**
+     * 按 Bean 分组后的通知，由上面两个 Map 在解析完成后构建
+     * key: beanName
+     */
+    private Map<String, BeanAdvice> beanAdviceMap;
+
+    /**
+     * 用于存储添加了 @EventListener 注解的方法
+     */
+    private List<ListenerMethod> listenerMethods = new ArrayList<>();
+
+    /**
+     * 扫描到的全部组件类，包括被条件排除的，按扫描顺序排列
+     */
+    private List<Class<?>> scannedComponents = Collections.emptyList();
+
+    /**
+     * 用于存储添加了 @Scheduled 注解的方法
+     */
+    private List<ScheduledMethod> scheduledMethods = new ArrayList<>();
+
+    /**
+     * 带条件的组件的判断结果，解析完成后生成报告
+     */
+    private List<ConditionOutcome> conditionOutcomes = new ArrayList<>();
+
+    /**
+     * 判断条件的累计耗时
+     */
+    private long conditionNanos;
+
+    private ConditionEvaluationReport conditionReport;
+
+    /**
+     * @Bean 方法的参数对应的 beanName，添加了 @Value 注解的参数为 null，解析完成后按类型确定
+     * key: 由 @Bean 方法定义的 beanName
+     */
+    private Map<String, String[]> factoryArgumentNames;
+
+    /**
+     * 至少有一个注入点按类（而不是接口）声明的 beanName，热重载时不能用只实现接口的可替换代理包装
+     */
+    private Set<String> classInjectedBeanNames;
+
+    /**
+     * 扫描并解析配置类
+     *
+     * @param configClass 配置类
+     * @param parent 父容器的元数据，可以为 null
+     */
+    public ConfigurationMetadata(Class<?> configClass, ConfigurationMetadata parent) {
+        this.configClass = configClass;
+        this.parent = parent;
+        // 先读取配置，扫描时判断条件会用到
+        this.environment = Environment.load(configClass, parent == null ? null : parent.getEnvironment());
+        // 配置类本身添加了 @Configuration 注解时，先解析其中的 @Bean 方法
+        if (configClass.isAnnotationPresent(Configuration.class)) {
+            registerComponents(Collections.singletonList(configClass));
+        }
+        // 扫描配置类中指定的路径
+        scan(configClass);
+        // 解析完成后全部转为只读，保证共享时的线程安全
+        freezeAll();
+    }
+
+    /**
+     * 在已有元数据的基础上，只重新解析发生变化的类，其余部分原样复制
+     *
+     * @param base  原来的元数据
+     * @param changedClasses    重新加载后的类对象
+     * @param removedClassNames class 文件已被删除的类，由它们解析出的部分全部去掉
+     */
+    private ConfigurationMetadata(ConfigurationMetadata base, List<Class<?>> changedClasses, Set<String> removedClassNames) {
+        this.configClass = base.configClass;
+        this.environment = base.environment;
+        this.parent = base.parent;
+        this.scanPackage = base.scanPackage;
+        this.scanDirectory = base.scanDirectory;
+        this.scannedComponents = base.scannedComponents;
+        Set<String> changedClassNames = new HashSet<>(removedClassNames);
+        for (Class<?> changedClass : changedClasses) {
+            changedClassNames.add(changedClass.getName());
+        }
+        // 复制原来的解析结果，同时去掉由旧版本类解析出的部分
+        for (Map.Entry<String, BeanDefinition> entry : base.beanDefinitionMap.entrySet()) {
+            if (!changedClassNames.contains(entry.getValue().getSourceClass().getName())) {
+                beanDefinitionMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Class<?> clazz : base.beanPostProcessorClassList) {
+            if (!changedClassNames.contains(clazz.getName())) {
+                beanPostProcessorClassList.add(clazz);
+            }
+        }
+        copyAdvice(base.beforeMethodMap, beforeMethodMap, changedClassNames);
+        copyAdvice(base.afterMethodMap, afterMethodMap, changedClassNames);
+        for (ListenerMethod listenerMethod : base.listenerMethods) {
+            if (!changedClassNames.contains(listenerMethod.getMethod().getDeclaringClass().getName())) {
+                listenerMethods.add(listenerMethod);
+            }
+        }
+        for (ScheduledMethod scheduledMethod : base.scheduledMethods) {
+            if (!changedClassNames.contains(scheduledMethod.getMethod().getDeclaringClass().getName())) {
+                scheduledMethods.add(scheduledMethod);
+            }
+        }
+        for (ConditionOutcome conditionOutcome : base.conditionOutcomes) {
+            if (!changedClassNames.contains(conditionOutcome.getClassName())) {
+                conditionOutcomes.add(conditionOutcome);
+            }
+        }
+        conditionNanos = base.conditionNanos;
+        // 只解析发生变化的类，组件扫描不包含子包，子包中的类不会成为 Bean
+        List<Class<?>> components = new ArrayList<>();
+        for (Class<?> changedClass : changedClasses) {
+            String className = changedClass.getName();
+            boolean inScanPackage = scanPackage.equals(className.substring(0, Math.max(className.lastIndexOf('.'), 0)));
+            if (inScanPackage && isComponent(changedClass)) {
+                components.add(changedClass);
+            }
+        }
+        registerComponents(components);
+        freezeAll();
+    }
+
+    /**
+     * 创建一份只重新解析了 changedClasses 的新元数据，原来的元数据保持不变
+     * @param changedClasses    重新加载后的类对象
+     * @param removedClassNames class 文件已被删除的类的全限定名
+     * @return  新的元数据
+     */
+    public ConfigurationMetadata reload(List<Class<?>> changedClasses, Set<String> removedClassNames) {
+        return new ConfigurationMetadata(this, changedClasses, removedClassNames);
+    }
+
+    private static void copyAdvice(Map<String, List<MethodWithClass>> from, Map<String, List<MethodWithClass>> to, Set<String> excludedClassNames) {
+        for (Map.Entry<String, List<MethodWithClass>> entry : from.entrySet()) {
+            List<MethodWithClass> methodWithClassList = new LinkedList<>();
+            for (MethodWithClass methodWithClass : entry.getValue()) {
+                if (!excludedClassNames.contains(methodWithClass.getClazz().getName())) {
+                    methodWithClassList.add(methodWithClass);
+                }
+            }
+            if (!methodWithClassList.isEmpty()) {
+                to.put(entry.getKey(), methodWithClassList);
+            }
+        }
+    }
+
+    /**
+     * 把所有解析结果转为只读
+     */
+    private void freezeAll() {
+        beanDefinitionMap = Collections.unmodifiableMap(beanDefinitionMap);
+        beanPostProcessorClassList = Collections.unmodifiableList(beanPostProcessorClassList);
+        beforeMethodMap = freeze(beforeMethodMap);
+        afterMethodMap = freeze(afterMethodMap);
+        beanAdviceMap = BeanAdvice.groupByBean(beforeMethodMap, afterMethodMap);
+        listenerMethods = Collections.unmodifiableList(listenerMethods);
+        scheduledMethods = Collections.unmodifiableList(scheduledMethods);
+        conditionOutcomes = Collections.unmodifiableList(conditionOutcomes);
+        conditionReport = new ConditionEvaluationReport(conditionOutcomes, conditionNanos);
+        factoryArgumentNames = Collections.unmodifiableMap(resolveFactoryArguments());
+        classInjectedBeanNames = Collections.unmodifiableSet(resolveClassInjectedBeanNames());
+    }
+
+    /**
+     * 找出被按类注入的 Bean：@Autowired 属性按属性名确定 beanName，@Bean 方法的参数按解析出的 beanName
+     */
+    private Set<String> resolveClassInjectedBeanNames() {
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+            for (Field autowiredField : entry.getValue().getInjectionMetadata().getAutowiredFields()) {
+                if (!autowiredField.getType().isInterface()) {
+                    result.add(autowiredField.getName());
+                }
+            }
+            String[] argumentNames = factoryArgumentNames.get(entry.getKey());
+            if (argumentNames == null) {
+                continue;
+            }
+            Class<?>[] parameterTypes = entry.getValue().getFactoryMethod().getMethod().getParameterTypes();
+            for (int i = 0; i < argumentNames.length; i++) {
+                if (argumentNames[i] != null && !parameterTypes[i].isInterface()) {
+                    result.add(argumentNames[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按参数类型确定每个 @Bean 方法依赖的 beanName，先在本容器中查找，找不到再到父容器中查找
+     */
+    private Map<String, String[]> resolveFactoryArguments() {
+        Map<String, String[]> result = new HashMap<>();
+        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+            FactoryMethod factoryMethod = entry.getValue().getFactoryMethod();
+            if (factoryMethod == null) {
+                continue;
+            }
+            Parameter[] parameters = factoryMethod.getMethod().getParameters();
+            String[] argumentNames = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                if (factoryMethod.getValueExpression(i) == null) {
+                    argumentNames[i] = resolveDependency(entry.getKey(), parameters[i]);
+                }
+            }
+            result.put(entry.getKey(), argumentNames);
+        }
+        return result;
+    }
+
+    private String resolveDependency(String beanName, Parameter parameter) {
+        for (ConfigurationMetadata metadata = this; metadata != null; metadata = metadata.parent) {
+            List<String> candidates = new ArrayList<>();
+            for (Map.Entry<String, BeanDefinition> entry : metadata.beanDefinitionMap.entrySet()) {
+                if (!entry.getKey().equals(beanName) && parameter.getType().isAssignableFrom(entry.getValue().getClazz())) {
+                    candidates.add(entry.getKey());
+                }
+            }
+            if (candidates.size() == 1) {
+                return candidates.get(0);
+            }
+            if (candidates.size() > 1) {
+                // 有多个候选时按参数名区分，编译时没有保留参数名则无法区分
+                if (parameter.isNamePresent() && candidates.contains(parameter.getName())) {
+                    return parameter.getName();
+                }
+                throw new IllegalStateException("@Bean 方法 " + beanName + " 的参数 " + parameter + " 有多个候选：" + candidates);
+            }
+        }
+        throw new IllegalStateException("@Bean 方法 " + beanName + " 的参数 " + parameter + " 找不到对应类型的 Bean");
+    }
+
+    private static Map<String, List<MethodWithClass>> freeze(Map<String, List<MethodWithClass>> methodMap) {
+        Map<String, List<MethodWithClass>> frozen = new LinkedHashMap<>();
+        for (Map.Entry<String, List<MethodWithClass>> entry : methodMap.entrySet()) {
+            frozen.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    public Class<?> getConfigClass() {
+        return configClass;
+    }
+
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    public ConfigurationMetadata getParent() {
+        return parent;
+    }
+
+    /**
+     * 获取扫描时条件注解的判断报告
+     */
+    public ConditionEvaluationReport getConditionReport() {
+        return conditionReport;
+    }
+
+    public Map<String, BeanDefinition> getBeanDefinitionMap() {
+        return beanDefinitionMap;
+    }
+
+    public BeanDefinition getBeanDefinition(String beanName) {
+        return beanDefinitionMap.get(beanName);
+    }
+
+    public boolean containsBeanDefinition(String beanName) {
+        return beanDefinitionMap.containsKey(beanName);
+    }
+
+    /**
+     * 获取 @Bean 方法的参数对应的 beanName
+     * @param beanName  由 @Bean 方法定义的 beanName
+     * @return  与方法参数一一对应，添加了 @Value 注解的参数为 null
+     */
+    public String[] getFactoryArgumentNames(String beanName) {
+        return factoryArgumentNames.get(beanName);
+    }
+
+    /**
+     * 本容器中是否有注入点按类声明了这个 Bean
+     */
+    public boolean isInjectedByClass(String beanName) {
+        return classInjectedBeanNames.contains(beanName);
+    }
+
+    public List<Class<?>> getBeanPostProcessorClassList() {
+        return beanPostProcessorClassList;
+    }
+
+    public Map<String, List<MethodWithClass>> getBeforeMethodMap() {
+        return beforeMethodMap;
+    }
+
+    public Map<String, List<MethodWithClass>> getAfterMethodMap() {
+        return afterMethodMap;
+    }
+
+    public Map<String, BeanAdvice> getBeanAdviceMap() {
+        return beanAdviceMap;
+    }
+
+    public List<ListenerMethod> getListenerMethods() {
+        return listenerMethods;
+    }
+
+    public List<ScheduledMethod> getScheduledMethods() {
+        return scheduledMethods;
+    }
+
+    /**
+     * 扫描到的全部组件类，包括被条件排除的，不包括配置类本身
+     */
+    public List<Class<?>> getScannedComponents() {
+        return scannedComponents;
+    }
+
+    public String getScanPackage() {
+        return scanPackage;
+    }
+
+    public File getScanDirectory() {
+        return scanDirectory;
+    }
+
+    /**
+     * 找出被指定切面类中的通知所增强的所有 beanName
+     * @param aspectClassNames  切面类的全限定名
+     * @return  被增强的 beanName
+     */
+    public Set<String> getAdvisedBeanNames(Set<String> aspectClassNames) {
+        Set<String> beanNames = new HashSet<>();
+        collectAdvisedBeanNames(beforeMethodMap, aspectClassNames, beanNames);
+        collectAdvisedBeanNames(afterMethodMap, aspectClassNames, beanNames);
+        return beanNames;
+    }
+
+    private static void collectAdvisedBeanNames(Map<String, List<MethodWithClass>> methodMap, Set<String> aspectClassNames, Set<String> beanNames) {
+        for (Map.Entry<String, List<MethodWithClass>> entry : methodMap.entrySet()) {
+            for (MethodWithClass methodWithClass : entry.getValue()) {
+                if (aspectClassNames.contains(methodWithClass.getClazz().getName())) {
+                    // execute 表达式为 beanName.methodName 格式
+                    beanNames.add(entry.getKey().split("\\.")[0]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 扫描包下的注解
+     *
+     * @param configClass 配置类
+     */
+    private void scan(Class<?> configClass) {
+        // 判断类上是否有 @ComponentScan 注解
+        if (configClass.isAnnotationPresent(ComponentScan.class)) {
+            // 获取类上的 @ComponentScan 注解
+            ComponentScan componentScanAnnotation = configClass.getDeclaredAnnotation(ComponentScan.class);
+            // 得到扫描路径
+            String scanPath = componentScanAnnotation.value();
+            // 获取应用类加载器
+            ClassLoader classLoader = ConfigurationMetadata.class.getClassLoader();
+            // 记录扫描的包名，热重载时使用
+            scanPackage = scanPath;
+            List<String> classNames;
+            if (ComponentIndex.isScanDisabled()) {
+                // 禁止扫描时只从构建时生成的组件索引中读取，不列出任何目录
+                classNames = ComponentIndex.load(classLoader, scanPath);
+            } else {
+                // 通过应用类加载器来获取资源路径
+                URL resource = classLoader.getResource(scanPath.replace('.', '/'));
+                // 把资源路径转化成文件
+                File file = new File(resource.getFile());
+                // 判断此文件是否是一个目录文件
+                if (!file.isDirectory()) {
+                    return;
+                }
+                // 记录扫描的目录，热重载时使用
+                scanDirectory = file;
+                classNames = new ArrayList<>();
+                // 获取此目录下的所有文件
+                File[] files = file.listFiles();
+                // 遍历所有的文件
+                for (File f : files) {
+                    // 将文件名转化为全限定名
+                    String fileName = f.getName();
+                    if (fileName.endsWith(".class")) {
+                        // 将文件名转化成类的全限定名
+                        classNames.add(scanPath.concat(".").concat(fileName.substring(0, fileName.lastIndexOf('.'))));
+                    }
+                }
+            }
+            List<Class<?>> components = new ArrayList<>();
+            for (String className : classNames) {
+                try {
+                    // 只加载不初始化，被条件排除的类不会执行静态代码块
+                    Class<?> clazz = Class.forName(className, false, classLoader);
+                    // 通过每个类的 Class 对象判断该类是否添加了 @Component 或 @Configuration 注解，配置类本身已经解析过
+                    if (isComponent(clazz) && clazz != configClass) {
+                        components.add(clazz);
+                    }
+                } catch (ClassNotFoundException e) {
+                    e.printStackTrace();
+                }
+            }
+            // 记录判断条件之前的全部组件，生成组件索引和 native-image 配置时使用
+            scannedComponents = Collections.unmodifiableList(components);
+            // 判断条件并解析组件类
+            registerComponents(components);
+        }
+    }
+
+    /**
+     * 判断组件的条件注解，只解析满足条件的组件。
+     * 带有 @ConditionalOnMissingBean 的组件等其他组件全部注册后再按顺序判断
+     * @param components    添加了 @Component 或 @Configuration 注解的类，按扫描顺序排列
+     */
+    private void registerComponents(List<Class<?>> components) {
+        ConditionContext conditionContext = new ConditionContext(environment, beanDefinitionMap, parent);
+        List<Class<?>> deferred = new ArrayList<>();
+        for (Class<?> clazz : components) {
+            if (!ConditionEvaluator.isConditional(clazz)) {
+                registerComponent(clazz);
+            } else if (evaluateConditions(conditionContext, clazz, false)) {
+                if (ConditionEvaluator.isDeferred(clazz)) {
+                    deferred.add(clazz);
+                } else {
+                    registerComponent(clazz);
+                }
+            }
+        }
+        for (Class<?> clazz : deferred) {
+            if (evaluateConditions(conditionContext, clazz, true)) {
+                registerComponent(clazz);
+            }
+        }
+    }
+
+    /**
+     * 判断一个组件的条件并记录结果
+     * @param missingBean   是否判断 @ConditionalOnMissingBean，为 false 时只判断其他条件
+     * @return  是否满足
+     */
+    private boolean evaluateConditions(ConditionContext conditionContext, Class<?> clazz, boolean missingBean) {
+        long start = System.nanoTime();
+        String reason = missingBean
+                ? ConditionEvaluator.evaluateMissingBean(conditionContext, clazz)
+                : ConditionEvaluator.evaluate(conditionContext, clazz);
+        conditionNanos += System.nanoTime() - start;
+        String beanName = beanNameOf(clazz);
+        if (reason != null) {
+            conditionOutcomes.add(new ConditionOutcome(beanName, clazz.getName(), false, reason));
+            return false;
+        }
+        // 延后判断的组件在第二次判断后才记录结果
+        if (missingBean || !ConditionEvaluator.isDeferred(clazz)) {
+            conditionOutcomes.add(new ConditionOutcome(beanName, clazz.getName(), true, ConditionEvaluator.describe(clazz)));
+        }
+        return true;
+    }
+
+    /**
+     * 是否添加了 @Component 或 @Configuration 注解
+     */
+    private static boolean isComponent(Class<?> clazz) {
+        return clazz.isAnnotationPresent(Component.class) || clazz.isAnnotationPresent(Configuration.class);
+    }
+
+    /**
+     * 组件类或配置类的 beanName，配置类没有指定时使用首字母小写的类名
+     */
+    private static String beanNameOf(Class<?> clazz) {
+        Component componentAnnotation = clazz.getDeclaredAnnotation(Component.class);
+        if (componentAnnotation != null) {
+            return componentAnnotation.value();
+        }
+        String value = clazz.getDeclaredAnnotation(Configuration.class).value();
+        if (!value.isEmpty()) {
+            return value;
+        }
+        String simpleName = clazz.getSimpleName();
+        return Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+    }
+
+    /**
+     * 解析一个添加了 @Component 或 @Configuration 注解的类
+     * @param clazz 组件类
+     */
+    private void registerComponent(Class<?> clazz) {
+        // 把实现了 BeanPostProcessor 接口的类添加到 list 中
+        addToBeanPostProcessorClassList(clazz);
+        // 对添加了 @Aspect 注解的类执行额外操作
+        getPointcutFromAspect(clazz);
+        // 注册类中添加了 @EventListener 注解的方法
+        getListenerFromComponent(clazz);
+        // 注册类中添加了 @Scheduled 注解的方法
+        getScheduledFromComponent(clazz);
+        // 创建当前类的 BeanDefinition 对象并添加到 map 中
+        putInBeanDefinitionMap(clazz);
+        // 配置类中的 @Bean 方法
+        if (clazz.isAnnotationPresent(Configuration.class)) {
+            getBeanMethodsFromConfiguration(clazz);
+        }
+    }
+
+    /**
+     * 为配置类中每个添加了 @Bean 注解的方法创建 BeanDefinition 对象并存入 Map 中
+     * @param clazz 添加了 @Configuration 注解的类
+     */
+    private void getBeanMethodsFromConfiguration(Class<?> clazz) {
+        String configBeanName = beanNameOf(clazz);
+        for (Method declaredMethod : clazz.getDeclaredMethods()) {
+            if (!declaredMethod.isAnnotationPresent(Bean.class)) {
+                continue;
+            }
+            Class<?> returnType = declaredMethod.getReturnType();
+            if (returnType.isPrimitive()) {
+                throw new IllegalStateException("@Bean 方法必须返回对象：" + declaredMethod);
+            }
+            // 接口中的 @Bean 方法需要有方法体，由代理调用
+            if (clazz.isInterface() && !declaredMethod.isDefault() && !Modifier.isStatic(declaredMethod.getModifiers())) {
+                throw new IllegalStateException("接口配置类中的 @Bean 方法必须是默认方法：" + declaredMethod);
+            }
+            BeanDefinition beanDefinition = new BeanDefinition();
+            // Bean 的类型为方法声明的返回类型，注入计划也按返回类型解析
+            beanDefinition.setClazz(returnType);
+            beanDefinition.setInjectionMetadata(InjectionMetadata.forClass(returnType));
+            beanDefinition.setFactoryMethod(new FactoryMethod(configBeanName, clazz, declaredMethod));
+            Scope scopeAnnotation = declaredMethod.getDeclaredAnnotation(Scope.class);
+            beanDefinition.setScope(scopeAnnotation != null ? scopeAnnotation.value() : "singleton");
+            beanDefinitionMap.put(FactoryMethod.beanNameOf(declaredMethod), beanDefinition);
+        }
+    }
+
+    /**
+     * 判断传入的类是否是切面类，如果是切面类就进行解析
+     * @param clazz
+     */
+    private void getPointcutFromAspect(Class<?> clazz) {
+        // 判断是否添加了 @Aspect 注解
+        if (clazz.isAnnotationPresent(Aspect.class)) {
+            // 遍历这个类的全部方法
+            for (Method declaredMethod : clazz.getDeclaredMethods()) {
+                // 判断是否添加了 @Before 注解
+                if (declaredMethod.isAnnotationPresent(Before.class)) {
+                    // 获取 @Before 注解
+                    Before beforeAnnotation = declaredMethod.getDeclaredAnnotation(Before.class);
+                    // 获取注解中的参数
+                    String pointcut = beforeAnnotation.value();
+                    // 将解析出的参数和方法本身填入 map
+                    List<MethodWithClass> methodWithClassList = null;
+                    if (beforeMethodMap.get(pointcut) == null) {
+                        methodWithClassList = new LinkedList<>();
+                    }
+                    else {
+                        methodWithClassList = beforeMethodMap.get(pointcut);
+                    }
+                    MethodWithClass methodWithClass = new MethodWithClass(clazz, declaredMethod);
+                    methodWithClassList.add(methodWithClass);
+                    beforeMethodMap.put(pointcut, methodWithClassList);
+                }
+                // 判断是否添加了 @After 注解
+                if (declaredMethod.isAnnotationPresent(After.class)) {
+                    // 获取 @After 注解
+                    After afterAnnotation = declaredMethod.getDeclaredAnnotation(After.class);
+                    // 获取注解中的参数
+                    String pointcut = afterAnnotation.value();
+                    // 将解析出的参数和方法本身填入 map
+                    List<MethodWithClass> methodWithClassList = null;
+                    if (afterMethodMap.get(pointcut) == null) {
+                        methodWithClassList = new LinkedList<>();
+                    }
+                    else {
+                        methodWithClassList = afterMethodMap.get(pointcut);
+                    }
+                    MethodWithClass methodWithClass = new MethodWithClass(clazz, declaredMethod);
+                    methodWithClassList.add(methodWithClass);
+                    afterMethodMap.put(pointcut, methodWithClassList);
+                }
+            }
+        }
+    }
+
+    /**
+     * 把传入类中添加了 @EventListener 注解的方法添加到 list 中
+     * @param clazz 添加了 @Component 注解的类对象
+     */
+    private void getListenerFromComponent(Class<?> clazz) {
+        // 获取类的 @Component 或 @Configuration 注解中声明的 beanName
+        String beanName = beanNameOf(clazz);
+        // 遍历这个类的全部方法
+        for (Method declaredMethod : clazz.getDeclaredMethods()) {
+            // 判断是否添加了 @EventListener 注解
+            if (declaredMethod.isAnnotationPresent(EventListener.class)) {
+                listenerMethods.add(new ListenerMethod(beanName, declaredMethod));
+            }
+        }
+    }
+
+    /**
+     * 把传入类中添加了 @Scheduled 注解的方法添加到 list 中，是否真正调度由配置类上的 @EnableScheduling 决定
+     * @param clazz 添加了 @Component 注解的类对象
+     */
+    private void getScheduledFromComponent(Class<?> clazz) {
+        String beanName = beanNameOf(clazz);
+        for (Method declaredMethod : clazz.getDeclaredMethods()) {
+            if (declaredMethod.isAnnotationPresent(Scheduled.class)) {
+                scheduledMethods.add(new ScheduledMethod(beanName, declaredMethod));
+            }
+        }
+    }
+
+    /**
+     * 把实现了 BeanPostProcessor 接口的类对象放进 list 中，由每个容器各自实例化
+     * @param clazz 实现了 BeanPostProcessor 接口的类对象
+     *
+     */
+    private void addToBeanPostProcessorClassList(Class<?> clazz) {
+        // 判断这个类是否实现了 BeanPostProcessor 接口
+        if (BeanPostProcessor.class.isAssignableFrom(clazz)) {
+            // 把类对象存入 list 中
+            beanPostProcessorClassList.add(clazz);
+        }
+    }
+
+    /**
+     * 根据传入的 CLass 对象创建 BeanDefinition 对象并存入 Map 中
+     * @param clazz 需要创建实例的类对象
+     */
+    private void putInBeanDefinitionMap(Class<?> clazz) {
+        // 获取类的 @Component 或 @Configuration 注解中声明的 beanName
+        String beanName = beanNameOf(clazz);
+        // 创建 BeanDefinition 对象
+        BeanDefinition beanDefinition = new BeanDefinition();
+        // 为 BeanDefinition 注入 clazz 属性
+        beanDefinition.setClazz(clazz);
+        // 解析注入计划，之后创建 Bean 时不再重复反射解析
+        beanDefinition.setInjectionMetadata(InjectionMetadata.forClass(clazz));
+        // 判断类上是否添加了 @Scope 注解
+        if (clazz.isAnnotationPresent(Scope.class)) {
+            // 获取类上的 @Scope 注解
+            Scope scopeAnnotation = clazz.getDeclaredAnnotation(Scope.class);
+            // 获取此注解的参数，即 Bean 的作用域
+            String scope = scopeAnnotation.value();
+            // 把这个作用域赋值给 beanDefinition 对象
+            beanDefinition.setScope(scope);
+        } else {
+            // 没有配置 @Scope 注解的默认是单例模式
+            beanDefinition.setScope("singleton");
+        }
+        // 把 BeanDefinition 对象放入 Map
+        beanDefinitionMap.put(beanName, beanDefinition);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器关闭、单例 Bean 销毁之前发布的事件
+ */
+public class ContextClosedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContextClosedEvent(ApplicationEventPublisher source) {
+        super(source);
+    }
+
+}
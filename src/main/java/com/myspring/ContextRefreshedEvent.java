@@ -0,0 +1,16 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器中所有单例 Bean 创建完成后发布的事件
+ */
+public class ContextRefreshedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContextRefreshedEvent(ApplicationEventPublisher source) {
+        super(source);
+    }
+
+}
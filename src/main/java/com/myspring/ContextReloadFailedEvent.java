@@ -0,0 +1,39 @@
+package com.myspring;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 监听线程触发的热重载出错时发布的事件。变化的类无法加载时容器保持重载前的状态，旧 Bean 销毁失败时新 Bean 已经生效
+ */
+public class ContextReloadFailedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 本次发生变化的类的全限定名
+     */
+    private final Set<String> changedClassNames;
+
+    /**
+     * 重载时抛出的异常
+     */
+    private final RuntimeException exception;
+
+    public ContextReloadFailedEvent(ApplicationEventPublisher source, Set<String> changedClassNames, RuntimeException exception) {
+        super(source);
+        this.changedClassNames = Collections.unmodifiableSet(changedClassNames);
+        this.exception = exception;
+    }
+
+    public Set<String> getChangedClassNames() {
+        return changedClassNames;
+    }
+
+    public RuntimeException getException() {
+        return exception;
+    }
+
+}
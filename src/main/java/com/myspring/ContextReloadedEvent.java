@@ -0,0 +1,29 @@
+package com.myspring;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 热重载完成、新的 Bean 全部切换后发布的事件
+ */
+public class ContextReloadedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 本次重建的 beanName
+     */
+    private final Set<String> reloadedBeanNames;
+
+    public ContextReloadedEvent(ApplicationEventPublisher source, Set<String> reloadedBeanNames) {
+        super(source);
+        this.reloadedBeanNames = Collections.unmodifiableSet(reloadedBeanNames);
+    }
+
+    public Set<String> getReloadedBeanNames() {
+        return reloadedBeanNames;
+    }
+
+}
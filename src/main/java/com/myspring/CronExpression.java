@@ -0,0 +1,172 @@
+package com.myspring;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 解析后的 cron 表达式，格式为：秒 分 时 日 月 周。
+ * 日和周都指定时两者都要满足；周的取值为 0-7，0 和 7 都表示周日
+ */
+public class CronExpression {
+
+    private static final String[] MONTH_NAMES = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    /**
+     * 查找下一次执行时间时最多向后推进的次数，超过时认为表达式不会再触发（比如 2 月 30 日）
+     */
+    private static final int MAX_ATTEMPTS = 100000;
+
+    private final String expression;
+
+    private final ZoneId zone;
+
+    private final BitSet seconds;
+
+    private final BitSet minutes;
+
+    private final BitSet hours;
+
+    private final BitSet daysOfMonth;
+
+    private final BitSet months;
+
+    /**
+     * 0 表示周日，解析时把 7 也转换为 0
+     */
+    private final BitSet daysOfWeek;
+
+    private CronExpression(String expression, ZoneId zone, BitSet seconds, BitSet minutes, BitSet hours,
+                           BitSet daysOfMonth, BitSet months, BitSet daysOfWeek) {
+        this.expression = expression;
+        this.zone = zone;
+        this.seconds = seconds;
+        this.minutes = minutes;
+        this.hours = hours;
+        this.daysOfMonth = daysOfMonth;
+        this.months = months;
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    /**
+     * 解析 cron 表达式
+     * @param expression    cron 表达式
+     * @param zone  时区
+     * @return  解析结果
+     */
+    public static CronExpression parse(String expression, ZoneId zone) {
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("cron 表达式需要 6 个字段（秒 分 时 日 月 周）：" + expression);
+        }
+        BitSet daysOfWeek = parseField(expression, fields[5], 0, 7, DAY_NAMES);
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.clear(7);
+            daysOfWeek.set(0);
+        }
+        return new CronExpression(expression, zone,
+                parseField(expression, fields[0], 0, 59, null),
+                parseField(expression, fields[1], 0, 59, null),
+                parseField(expression, fields[2], 0, 23, null),
+                parseField(expression, fields[3], 1, 31, null),
+                parseField(expression, fields[4], 1, 12, MONTH_NAMES),
+                daysOfWeek);
+    }
+
+    /**
+     * 解析一个字段，支持 * ? , - / 和英文缩写
+     * @param names 英文缩写，下标加上 min 为对应的值，可以为 null
+     */
+    private static BitSet parseField(String expression, String field, int min, int max, String[] names) {
+        BitSet bits = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseValue(expression, part.substring(slash + 1), 1, Integer.MAX_VALUE, null, 0);
+                part = part.substring(0, slash);
+            }
+            int start;
+            int end;
+            if ("*".equals(part) || "?".equals(part)) {
+                start = min;
+                end = max;
+            } else {
+                int dash = part.indexOf('-');
+                if (dash >= 0) {
+                    start = parseValue(expression, part.substring(0, dash), min, max, names, min);
+                    end = parseValue(expression, part.substring(dash + 1), min, max, names, min);
+                } else {
+                    start = parseValue(expression, part, min, max, names, min);
+                    // a/n 表示从 a 开始每隔 n
+                    end = slash >= 0 ? max : start;
+                }
+            }
+            if (start > end) {
+                throw new IllegalArgumentException("cron 表达式的范围错误：" + part + "，表达式：" + expression);
+            }
+            for (int i = start; i <= end; i += step) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static int parseValue(String expression, String value, int min, int max, String[] names, int nameOffset) {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase(value)) {
+                    return i + nameOffset;
+                }
+            }
+        }
+        int result;
+        try {
+            result = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("cron 表达式中的值无法解析：" + value + "，表达式：" + expression);
+        }
+        if (result < min || result > max) {
+            throw new IllegalArgumentException("cron 表达式中的值超出范围 [" + min + ", " + max + "]：" + value + "，表达式：" + expression);
+        }
+        return result;
+    }
+
+    /**
+     * 计算某个时间之后的下一次执行时间
+     * @param afterMillis   起始时间，不包含
+     * @return  下一次执行时间的毫秒时间戳，不会再触发时返回 -1
+     */
+    public long next(long afterMillis) {
+        ZonedDateTime time = Instant.ofEpochMilli(afterMillis).atZone(zone).truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        // 从大到小逐个字段推进，不满足的字段进位后把更小的字段归零
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.plusMonths(1).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+            } else if (!daysOfMonth.get(time.getDayOfMonth()) || !daysOfWeek.get(time.getDayOfWeek().getValue() % 7)) {
+                time = time.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+            } else if (!hours.get(time.getHour())) {
+                time = time.plusHours(1).truncatedTo(ChronoUnit.HOURS);
+            } else if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1).truncatedTo(ChronoUnit.MINUTES);
+            } else if (!seconds.get(time.getSecond())) {
+                time = time.plusSeconds(1);
+            } else {
+                return time.toInstant().toEpochMilli();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+}
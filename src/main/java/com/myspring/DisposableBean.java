@@ -0,0 +1,12 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: Bean 的销毁接口，容器关闭时回调
+ */
+public interface DisposableBean {
+
+    void destroy() throws Exception;
+
+}
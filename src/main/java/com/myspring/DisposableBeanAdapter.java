@@ -0,0 +1,69 @@
+package com.myspring;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 把 DisposableBean 接口和 @PreDestroy 方法统一适配成一个销毁回调
+ */
+public class DisposableBeanAdapter implements DisposableBean {
+
+    /**
+     * 需要销毁的 Bean 的名称
+     */
+    private final String beanName;
+
+    /**
+     * 原始 Bean 对象（不是代理对象）
+     */
+    private final Object bean;
+
+    /**
+     * 添加了 @PreDestroy 注解的方法
+     */
+    private final Method[] preDestroyMethods;
+
+    private DisposableBeanAdapter(String beanName, Object bean, Method[] preDestroyMethods) {
+        this.beanName = beanName;
+        this.bean = bean;
+        this.preDestroyMethods = preDestroyMethods;
+    }
+
+    /**
+     * 判断传入的 bean 是否需要销毁回调，需要就返回适配器，否则返回 null
+     * @param beanName  Bean 的名称
+     * @param bean  原始 Bean 对象
+     * @param preDestroyMethods 扫描时解析出的 @PreDestroy 方法
+     * @return  销毁回调适配器或 null
+     */
+    public static DisposableBeanAdapter forBean(String beanName, Object bean, Method[] preDestroyMethods) {
+        if (preDestroyMethods.length == 0 && !(bean instanceof DisposableBean)) {
+            return null;
+        }
+        return new DisposableBeanAdapter(beanName, bean, preDestroyMethods);
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    /**
+     * 先调用 @PreDestroy 方法，再调用 DisposableBean 接口，与 Spring 的顺序一致
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (Method preDestroyMethod : preDestroyMethods) {
+            try {
+                preDestroyMethod.invoke(bean);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getTargetException();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        if (bean instanceof DisposableBean) {
+            ((DisposableBean) bean).destroy();
+        }
+    }
+}
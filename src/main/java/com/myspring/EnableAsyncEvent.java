@@ -0,0 +1,27 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 开启异步事件分发的注解，不加此注解时事件在发布线程中同步分发
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EnableAsyncEvent {
+
+    /**
+     * 分发事件的线程数
+     */
+    int threads() default 4;
+
+    /**
+     * 等待分发的事件队列容量，队列满时由发布线程自己执行监听方法，以此形成背压
+     */
+    int queueCapacity() default 1024;
+
+}
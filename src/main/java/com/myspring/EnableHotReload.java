@@ -0,0 +1,22 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 开启热重载的注解，监听扫描目录中的 class 文件，变化后只重建受影响的 Bean，仅建议在开发和灰度测试中使用
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EnableHotReload {
+
+    /**
+     * 收到文件变化后再等待多久没有新的变化才开始重载（毫秒），避免编译过程中读到不完整的 class 文件
+     */
+    long quietPeriod() default 300;
+
+}
@@ -0,0 +1,38 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 开启 @Scheduled 的注解，作用于配置类上。所有定时任务由一个时间轮线程调度、交给工作线程执行；
+ * 子容器开启时如果父容器已经开启，就共用父容器的时间轮和工作线程
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EnableScheduling {
+
+    /**
+     * 执行任务的工作线程数
+     */
+    int poolSize() default 4;
+
+    /**
+     * 是否使用虚拟线程执行任务，当前 JVM 不支持时改用 poolSize 个平台线程
+     */
+    boolean virtualThreads() default false;
+
+    /**
+     * 时间轮每一格的时长，单位毫秒，也是任务触发时间的精度
+     */
+    long tickMillis() default 10;
+
+    /**
+     * 时间轮的格数，会向上取整为 2 的幂
+     */
+    int wheelSize() default 512;
+
+}
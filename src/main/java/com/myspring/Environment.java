@@ -0,0 +1,167 @@
+package com.myspring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器的配置快照，创建时一次性读取系统属性、环境变量和配置文件，之后只读。
+ * 优先级：系统属性 > 环境变量 > 配置文件 > 父容器的配置
+ */
+public class Environment {
+
+    /**
+     * JVM 系统属性
+     */
+    private final Map<String, String> systemProperties;
+
+    /**
+     * 操作系统环境变量
+     */
+    private final Map<String, String> systemEnvironment;
+
+    /**
+     * @PropertySource 中声明的配置文件的内容
+     */
+    private final Map<String, String> fileProperties;
+
+    /**
+     * 父容器的配置，本容器找不到的配置到父容器中查找
+     */
+    private final Environment parent;
+
+    private Environment(Map<String, String> systemProperties, Map<String, String> systemEnvironment,
+                        Map<String, String> fileProperties, Environment parent) {
+        this.systemProperties = systemProperties;
+        this.systemEnvironment = systemEnvironment;
+        this.fileProperties = fileProperties;
+        this.parent = parent;
+    }
+
+    /**
+     * 读取配置类上声明的配置文件，并与系统属性、环境变量一起生成配置快照
+     * @param configClass   配置类
+     * @param parent    父容器的配置，可以为 null
+     * @return  配置快照
+     */
+    public static Environment load(Class<?> configClass, Environment parent) {
+        Map<String, String> fileProperties = new HashMap<>();
+        // 判断类上是否有 @PropertySource 注解
+        if (configClass.isAnnotationPresent(PropertySource.class)) {
+            PropertySource propertySourceAnnotation = configClass.getDeclaredAnnotation(PropertySource.class);
+            String[] locations = propertySourceAnnotation.value();
+            // 倒序读取，让排在前面的文件覆盖后面的文件
+            for (int i = locations.length - 1; i >= 0; i--) {
+                fileProperties.putAll(readProperties(configClass.getClassLoader(), locations[i], propertySourceAnnotation.ignoreResourceNotFound()));
+            }
+        }
+        Map<String, String> systemProperties = new HashMap<>();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            systemProperties.put(name, System.getProperty(name));
+        }
+        return new Environment(Collections.unmodifiableMap(systemProperties),
+                Collections.unmodifiableMap(new HashMap<>(System.getenv())),
+                Collections.unmodifiableMap(fileProperties), parent);
+    }
+
+    private static Map<String, String> readProperties(ClassLoader classLoader, String location, boolean ignoreResourceNotFound) {
+        Map<String, String> result = new HashMap<>();
+        String path = location.startsWith("classpath:") ? location.substring("classpath:".length()) : location;
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        try (InputStream inputStream = classLoader.getResourceAsStream(path)) {
+            if (inputStream == null) {
+                if (ignoreResourceNotFound) {
+                    return result;
+                }
+                throw new IllegalStateException("找不到配置文件：" + location);
+            }
+            Properties properties = new Properties();
+            properties.load(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            for (String name : properties.stringPropertyNames()) {
+                result.put(name, properties.getProperty(name));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("读取配置文件失败：" + location, e);
+        }
+        return result;
+    }
+
+    /**
+     * 获取配置，找不到时返回 null
+     * @param key   配置名
+     * @return  配置值
+     */
+    public String getProperty(String key) {
+        String value = systemProperties.get(key);
+        if (value == null) {
+            value = systemEnvironment.get(key);
+        }
+        if (value == null) {
+            // 环境变量通常写成 ORDER_MAX_ITEMS 的形式
+            value = systemEnvironment.get(key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+        if (value == null) {
+            value = fileProperties.get(key);
+        }
+        if (value == null && parent != null) {
+            value = parent.getProperty(key);
+        }
+        return value;
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsProperty(String key) {
+        return getProperty(key) != null;
+    }
+
+    /**
+     * 替换文本中的 ${key} 和 ${key:默认值} 占位符
+     * @param text  带占位符的文本
+     * @return  替换后的文本
+     */
+    public String resolvePlaceholders(String text) {
+        int start = text.indexOf("${");
+        if (start < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        int position = 0;
+        while (start >= 0) {
+            int end = text.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("占位符缺少 '}'：" + text);
+            }
+            result.append(text, position, start);
+            String placeholder = text.substring(start + 2, end);
+            int separator = placeholder.indexOf(':');
+            String key = separator < 0 ? placeholder : placeholder.substring(0, separator);
+            String value = getProperty(key);
+            if (value == null) {
+                if (separator < 0) {
+                    throw new IllegalArgumentException("找不到配置：" + key);
+                }
+                value = placeholder.substring(separator + 1);
+            }
+            result.append(value);
+            position = end + 1;
+            start = text.indexOf("${", position);
+        }
+        result.append(text, position, text.length());
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.myspring;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 由 @Bean 方法定义的 Bean 的工厂方法，扫描时解析一次
+ */
+public class FactoryMethod {
+
+    /**
+     * 声明此方法的配置类的 beanName
+     */
+    private final String configBeanName;
+
+    /**
+     * 声明此方法的配置类
+     */
+    private final Class<?> configClass;
+
+    /**
+     * @Bean 方法，除接口中的默认方法外已经破坏过私有
+     */
+    private final Method method;
+
+    /**
+     * 与方法参数一一对应，添加了 @Value 注解的参数为注解中的表达式，其余为 null
+     */
+    private final String[] valueExpressions;
+
+    public FactoryMethod(String configBeanName, Class<?> configClass, Method method) {
+        this.configBeanName = configBeanName;
+        this.configClass = configClass;
+        this.method = method;
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        this.valueExpressions = new String[parameterAnnotations.length];
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof Value) {
+                    valueExpressions[i] = ((Value) annotation).value();
+                }
+            }
+        }
+        // 接口中的默认方法由代理通过方法句柄调用，不需要破坏私有
+        if (!method.isDefault()) {
+            method.setAccessible(true);
+        }
+    }
+
+    /**
+     * @Bean 方法定义的 beanName
+     */
+    public static String beanNameOf(Method method) {
+        String value = method.getDeclaredAnnotation(Bean.class).value();
+        return value.isEmpty() ? method.getName() : value;
+    }
+
+    public String getConfigBeanName() {
+        return configBeanName;
+    }
+
+    public Class<?> getConfigClass() {
+        return configClass;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public boolean isStatic() {
+        return Modifier.isStatic(method.getModifiers());
+    }
+
+    public String getValueExpression(int index) {
+        return valueExpressions[index];
+    }
+
+    @Override
+    public String toString() {
+        return configClass.getName() + "." + method.getName() + "()";
+    }
+
+}
@@ -0,0 +1,342 @@
+package com.myspring;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 哈希时间轮。一个线程按固定的格长推进，每一格只处理落在这一格中的任务，添加和取消都是 O(1)，
+ * 适合大量定时任务；到期的任务在时间轮线程中执行，所以任务本身只应该做分发
+ */
+public class HashedWheelTimer {
+
+    private static final AtomicInteger TIMER_INDEX = new AtomicInteger();
+
+    /**
+     * 每一格转移的新任务数上限，避免大量添加任务时时间轮迟迟不推进
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    private static final int STATE_INIT = 0;
+
+    private static final int STATE_STARTED = 1;
+
+    private static final int STATE_STOPPED = 2;
+
+    private final long tickNanos;
+
+    /**
+     * 时间轮，每一格是一个双向链表，只由时间轮线程访问
+     */
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    /**
+     * 新添加的任务，由时间轮线程在每一格开始时转移到对应的格中
+     */
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 尚未到期也未取消的任务数
+     */
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+    private final Thread workerThread;
+
+    /**
+     * 时间轮的起点，所有到期时间都以此为基准
+     */
+    private volatile long startTime;
+
+    /**
+     * startTime 赋值后打开，没有抢到启动权的线程在此等待，避免按未赋值的起点计算到期时间
+     */
+    private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+
+    /**
+     * 已经推进的格数，只由时间轮线程访问
+     */
+    private long tick;
+
+    /**
+     * @param tickDuration  每一格的时长
+     * @param unit  时长的单位
+     * @param wheelSize 格数，向上取整为 2 的幂
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("时间轮的格长和格数必须大于 0");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.workerThread = new Thread(this::run, "myspring-timer-" + TIMER_INDEX.incrementAndGet());
+        this.workerThread.setDaemon(true);
+    }
+
+    /**
+     * 添加一个定时任务，第一次添加时启动时间轮线程
+     * @param task  到期时在时间轮线程中执行
+     * @param delay 延迟
+     * @param unit  延迟的单位
+     * @return  可以用来取消的句柄
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        start();
+        if (state.get() == STATE_STOPPED) {
+            throw new IllegalStateException("时间轮已停止");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        if (state.get() == STATE_INIT && state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+            startTime = System.nanoTime();
+            startTimeInitialized.countDown();
+            workerThread.start();
+            return;
+        }
+        // 其他线程可能刚抢到启动权还没给 startTime 赋值，等它赋值完成
+        boolean interrupted = false;
+        while (startTimeInitialized.getCount() > 0 && state.get() != STATE_STOPPED) {
+            try {
+                startTimeInitialized.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 停止时间轮线程，未到期的任务不再执行
+     * @param timeoutMillis 等待时间轮线程退出的最长时间
+     */
+    public void stop(long timeoutMillis) {
+        if (state.getAndSet(STATE_STOPPED) != STATE_STARTED) {
+            return;
+        }
+        if (Thread.currentThread() == workerThread) {
+            return;
+        }
+        workerThread.interrupt();
+        try {
+            workerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    private void run() {
+        while (state.get() == STATE_STARTED) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            transferTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    /**
+     * 等到下一格开始
+     * @return  当前时间相对 startTime 的纳秒数，被停止时返回 -1
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepNanos = deadline - currentTime;
+            if (sleepNanos <= 0) {
+                return currentTime;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (state.get() != STATE_STARTED) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * 把新添加的任务放入对应的格中
+     */
+    private void transferTimeouts() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = newTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已经过期的任务放入当前格，本格就会执行
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 定时任务的句柄
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+
+        private static final int ST_CANCELLED = 1;
+
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+
+        private final Runnable task;
+
+        /**
+         * 到期时间，相对 startTime 的纳秒数
+         */
+        private final long deadline;
+
+        /**
+         * 还需要转几圈才到期，只由时间轮线程访问
+         */
+        private long remainingRounds;
+
+        /**
+         * 取消和到期只有一个能成功
+         */
+        private volatile int state = ST_INIT;
+
+        private Timeout next;
+
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消任务，已取消的任务在时间轮转到它所在的格时移除
+         * @return  是否是这次调用取消的
+         */
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                System.err.println("时间轮任务执行出错");
+                e.printStackTrace();
+            }
+        }
+
+    }
+
+    /**
+     * 时间轮中的一格
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * 执行本格中已经到期的任务，其余任务的圈数减一
+         */
+        private void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    // 放入格中时按 deadline 向下取整，处理到这一格时一定已经到期
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.myspring;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个 Bean 类型的注入计划及生命周期回调，扫描时解析一次，之后每次创建 Bean 都直接使用
+ */
+public class InjectionMetadata {
+
+    /**
+     * 添加了 @Autowired 注解的属性，已经破坏过私有
+     */
+    private final Field[] autowiredFields;
+
+    /**
+     * 与 autowiredFields 一一对应，表示该依赖是否必须存在
+     */
+    private final boolean[] required;
+
+    /**
+     * 添加了 @Value 注解的属性，已经破坏过私有
+     */
+    private final Field[] valueFields;
+
+    /**
+     * 与 valueFields 一一对应，@Value 注解中的表达式
+     */
+    private final String[] valueExpressions;
+
+    /**
+     * 添加了 @PreDestroy 注解的方法，已经破坏过私有
+     */
+    private final Method[] preDestroyMethods;
+
+    private InjectionMetadata(Field[] autowiredFields, boolean[] required, Field[] valueFields, String[] valueExpressions, Method[] preDestroyMethods) {
+        this.autowiredFields = autowiredFields;
+        this.required = required;
+        this.valueFields = valueFields;
+        this.valueExpressions = valueExpressions;
+        this.preDestroyMethods = preDestroyMethods;
+    }
+
+    /**
+     * 解析传入类的注入计划
+     * @param clazz Bean 的类对象
+     * @return  注入计划
+     */
+    public static InjectionMetadata forClass(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        // 遍历该类的全部属性，找出添加了 @Autowired 注解的属性
+        for (Field declaredField : clazz.getDeclaredFields()) {
+            if (declaredField.isAnnotationPresent(Autowired.class)) {
+                declaredField.setAccessible(true);
+                fields.add(declaredField);
+            }
+        }
+        boolean[] required = new boolean[fields.size()];
+        for (int i = 0; i < required.length; i++) {
+            required[i] = fields.get(i).getDeclaredAnnotation(Autowired.class).required();
+        }
+        List<Field> valueFields = new ArrayList<>();
+        // 遍历该类的全部属性，找出添加了 @Value 注解的属性
+        for (Field declaredField : clazz.getDeclaredFields()) {
+            if (declaredField.isAnnotationPresent(Value.class)) {
+                declaredField.setAccessible(true);
+                valueFields.add(declaredField);
+            }
+        }
+        String[] valueExpressions = new String[valueFields.size()];
+        for (int i = 0; i < valueExpressions.length; i++) {
+            valueExpressions[i] = valueFields.get(i).getDeclaredAnnotation(Value.class).value();
+        }
+        List<Method> methods = new ArrayList<>();
+        collectPreDestroyMethods(clazz, methods);
+        return new InjectionMetadata(fields.toArray(new Field[0]), required,
+                valueFields.toArray(new Field[0]), valueExpressions, methods.toArray(new Method[0]));
+    }
+
+    /**
+     * 按 Bean 的实际类型解析 @PreDestroy 方法，用于 @Bean 方法返回的是声明类型的子类的情况
+     * @param beanClass  Bean 对象的实际类型
+     * @param declaredType  @Bean 方法声明的返回类型
+     * @return  从实际类型向上直到声明类型（声明类型是接口时直到 Object）中找到的 @PreDestroy 方法，子类覆盖的方法只保留一次
+     */
+    public static Method[] resolvePreDestroyMethods(Class<?> beanClass, Class<?> declaredType) {
+        List<Method> methods = new ArrayList<>();
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            collectPreDestroyMethods(current, methods);
+            if (current == declaredType) {
+                break;
+            }
+        }
+        return methods.toArray(new Method[0]);
+    }
+
+    /**
+     * 找出该类自身声明的、添加了 @PreDestroy 注解的无参方法，已经收集过同名方法（被子类覆盖）的跳过
+     */
+    private static void collectPreDestroyMethods(Class<?> clazz, List<Method> methods) {
+        for (Method declaredMethod : clazz.getDeclaredMethods()) {
+            if (declaredMethod.isAnnotationPresent(PreDestroy.class)) {
+                if (declaredMethod.getParameterCount() != 0 || Modifier.isStatic(declaredMethod.getModifiers())) {
+                    throw new IllegalStateException("@PreDestroy 方法必须是无参的实例方法：" + declaredMethod);
+                }
+                if (isOverridden(declaredMethod, methods)) {
+                    continue;
+                }
+                declaredMethod.setAccessible(true);
+                methods.add(declaredMethod);
+            }
+        }
+    }
+
+    private static boolean isOverridden(Method method, List<Method> methods) {
+        for (Method collected : methods) {
+            if (collected.getName().equals(method.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Field[] getAutowiredFields() {
+        return autowiredFields;
+    }
+
+    public boolean isRequired(int index) {
+        return required[index];
+    }
+
+    public Field[] getValueFields() {
+        return valueFields;
+    }
+
+    public String getValueExpression(int index) {
+        return valueExpressions[index];
+    }
+
+    public Method[] getPreDestroyMethods() {
+        return preDestroyMethods;
+    }
+
+}
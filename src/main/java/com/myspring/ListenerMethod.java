@@ -0,0 +1,104 @@
+package com.myspring;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 封装监听方法及其所属 Bean 的名称
+ */
+public class ListenerMethod {
+
+    /**
+     * 监听方法所属 Bean 的名称
+     */
+    private final String beanName;
+
+    /**
+     * 监听方法，AOT 生成的监听器直接调用目标方法，此时为 null
+     */
+    private final Method method;
+
+    /**
+     * 监听的事件类型
+     */
+    private final Class<?> eventType;
+
+    /**
+     * Bean 被代理时，代理对象上与监听方法对应的方法
+     */
+    private volatile Method resolvedMethod;
+
+    public ListenerMethod(String beanName, Method method) {
+        if (method.getParameterCount() != 1) {
+            throw new IllegalStateException("@EventListener 方法只能有一个参数：" + method);
+        }
+        method.setAccessible(true);
+        this.beanName = beanName;
+        this.method = method;
+        this.eventType = method.getParameterTypes()[0];
+    }
+
+    /**
+     * 供 AOT 生成的监听器使用，子类重写 invoke() 直接调用监听方法
+     * @param beanName  监听方法所属 Bean 的名称
+     * @param eventType 监听的事件类型
+     */
+    protected ListenerMethod(String beanName, Class<?> eventType) {
+        this.beanName = beanName;
+        this.method = null;
+        this.eventType = eventType;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    /**
+     * 在传入的 bean 上调用监听方法
+     * @param bean  监听方法所属的 Bean，可能是代理对象
+     * @param event 事件对象
+     */
+    public void invoke(Object bean, Object event) throws Throwable {
+        try {
+            resolveMethod(bean).invoke(bean, event);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Bean 被 JDK 动态代理后，原始方法不能直接作用在代理对象上，需要找到代理类上的同名方法
+     */
+    private Method resolveMethod(Object bean) {
+        if (method.getDeclaringClass().isInstance(bean)) {
+            return method;
+        }
+        Method cached = resolvedMethod;
+        if (cached != null && cached.getDeclaringClass().isInstance(bean)) {
+            return cached;
+        }
+        try {
+            cached = bean.getClass().getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Bean " + beanName + " 已被代理，@EventListener 方法需要声明在其实现的接口中：" + method, e);
+        }
+        resolvedMethod = cached;
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        return method != null ? method.toString() : beanName + "(" + eventType.getName() + ")";
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.myspring;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: @Memoize 的结果表，开放寻址、线性探测。基本类型 key 存放在 long[] 中，查找时不创建任何对象。
+ * 读取不加锁：写入时先写 key 再发布 value，槽位一旦写入就不会改成别的 key，写满时整体换成新的数组
+ */
+public final class MemoTable {
+
+    /**
+     * get() 未命中时的返回值
+     */
+    public static final Object MISS = new Object();
+
+    /**
+     * 代替 null 结果
+     */
+    private static final Object NULL = new Object();
+
+    private final int maxSize;
+
+    private final boolean primitiveKeys;
+
+    private volatile Slots slots;
+
+    /**
+     * @param maxSize   最多缓存的结果数
+     * @param primitiveKeys 是否使用 long 作为 key
+     */
+    public MemoTable(int maxSize, boolean primitiveKeys) {
+        this.maxSize = Math.max(1, maxSize);
+        this.primitiveKeys = primitiveKeys;
+        this.slots = new Slots(capacityFor(this.maxSize), primitiveKeys);
+    }
+
+    /**
+     * 负载因子不超过 0.5，探测长度保持很短
+     */
+    private static int capacityFor(int maxSize) {
+        int capacity = 2;
+        while (capacity < maxSize * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @return  缓存的结果，未命中时返回 MISS
+     */
+    public Object getLong(long key) {
+        Slots current = slots;
+        int mask = current.values.length() - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Object value = current.values.get(i);
+            if (value == null) {
+                return MISS;
+            }
+            if (current.longKeys[i] == key) {
+                return value == NULL ? null : value;
+            }
+        }
+    }
+
+    public synchronized void putLong(long key, Object value) {
+        Slots current = reserve();
+        int mask = current.values.length() - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            if (current.values.get(i) == null) {
+                current.longKeys[i] = key;
+                current.values.set(i, value == null ? NULL : value);
+                current.size++;
+                return;
+            }
+            if (current.longKeys[i] == key) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return  缓存的结果，未命中时返回 MISS
+     */
+    public Object get(Object key) {
+        Slots current = slots;
+        int mask = current.values.length() - 1;
+        Object normalized = key == null ? NULL : key;
+        for (int i = hash(normalized.hashCode()) & mask; ; i = (i + 1) & mask) {
+            Object value = current.values.get(i);
+            if (value == null) {
+                return MISS;
+            }
+            if (normalized.equals(current.objectKeys[i])) {
+                return value == NULL ? null : value;
+            }
+        }
+    }
+
+    public synchronized void put(Object key, Object value) {
+        Slots current = reserve();
+        int mask = current.values.length() - 1;
+        Object normalized = key == null ? NULL : key;
+        for (int i = hash(normalized.hashCode()) & mask; ; i = (i + 1) & mask) {
+            if (current.values.get(i) == null) {
+                current.objectKeys[i] = normalized;
+                current.values.set(i, value == null ? NULL : value);
+                current.size++;
+                return;
+            }
+            if (normalized.equals(current.objectKeys[i])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 写满时换成新的数组，正在读取旧数组的线程不受影响
+     */
+    private Slots reserve() {
+        Slots current = slots;
+        if (current.size >= maxSize) {
+            current = new Slots(current.values.length(), primitiveKeys);
+            slots = current;
+        }
+        return current;
+    }
+
+    public int size() {
+        return slots.size;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int hash(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 一组 key 和 value，value 为 null 表示空槽位
+     */
+    private static final class Slots {
+
+        private final long[] longKeys;
+
+        private final Object[] objectKeys;
+
+        private final AtomicReferenceArray<Object> values;
+
+        /**
+         * 只在持有锁时修改
+         */
+        private volatile int size;
+
+        private Slots(int capacity, boolean primitiveKeys) {
+            this.longKeys = primitiveKeys ? new long[capacity] : null;
+            this.objectKeys = primitiveKeys ? null : new Object[capacity];
+            this.values = new AtomicReferenceArray<>(capacity);
+        }
+
+    }
+
+}
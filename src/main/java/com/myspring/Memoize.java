@@ -0,0 +1,25 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 缓存纯方法的返回值，需要开启 AOP，注解写在实现类的方法上。
+ * 缓存属于代理对象，原型 Bean 的每个实例各自缓存，实例被丢弃时缓存随之回收。
+ * 命中时直接返回，不再执行通知和拦截器；抛出异常的调用不缓存。
+ * 只有一个基本类型参数的方法使用基本类型作为 key，不需要装箱
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Memoize {
+
+    /**
+     * 每个代理对象最多缓存的结果数，写满后清空重新缓存
+     */
+    int maxSize() default 256;
+
+}
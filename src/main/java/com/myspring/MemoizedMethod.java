@@ -0,0 +1,98 @@
+package com.myspring;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个 @Memoize 方法的缓存规则，同一个 Bean 的所有代理对象共享，结果表由每个代理对象各自持有
+ */
+public final class MemoizedMethod {
+
+    /**
+     * 结果表在代理对象中的下标
+     */
+    private final int index;
+
+    private final int maxSize;
+
+    /**
+     * 唯一参数的基本类型，不是只有一个基本类型参数时为 null
+     */
+    private final Class<?> primitiveType;
+
+    private final int parameterCount;
+
+    MemoizedMethod(int index, Method method, Memoize memoize) {
+        if (method.getReturnType() == void.class) {
+            throw new IllegalStateException("@Memoize 方法必须有返回值：" + method);
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.index = index;
+        this.maxSize = memoize.maxSize();
+        this.parameterCount = parameterTypes.length;
+        this.primitiveType = parameterTypes.length == 1 && parameterTypes[0].isPrimitive() ? parameterTypes[0] : null;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 没有参数的方法也按基本类型 key 处理，key 固定为 0
+     */
+    public boolean hasPrimitiveKey() {
+        return primitiveType != null || parameterCount == 0;
+    }
+
+    public MemoTable newTable() {
+        return new MemoTable(maxSize, hasPrimitiveKey());
+    }
+
+    /**
+     * @return  缓存的结果，未命中时返回 MemoTable.MISS
+     */
+    Object lookup(MemoTable table, Object[] args) {
+        return hasPrimitiveKey() ? table.getLong(primitiveKey(args)) : table.get(objectKey(args));
+    }
+
+    void store(MemoTable table, Object[] args, Object result) {
+        if (hasPrimitiveKey()) {
+            table.putLong(primitiveKey(args), result);
+        } else {
+            table.put(objectKey(args), result);
+        }
+    }
+
+    /**
+     * 把 JDK 动态代理传入的包装类型拆成 long，不创建新对象
+     */
+    private long primitiveKey(Object[] args) {
+        if (primitiveType == null) {
+            return 0L;
+        }
+        Object arg = args[0];
+        if (primitiveType == boolean.class) {
+            return (Boolean) arg ? 1L : 0L;
+        }
+        if (primitiveType == char.class) {
+            return (Character) arg;
+        }
+        if (primitiveType == float.class) {
+            return Float.floatToIntBits((Float) arg);
+        }
+        if (primitiveType == double.class) {
+            return Double.doubleToLongBits((Double) arg);
+        }
+        return ((Number) arg).longValue();
+    }
+
+    /**
+     * 一个参数时直接使用参数作为 key，多个参数时按元素比较。代理每次调用都会新建参数数组，可以直接持有
+     */
+    private Object objectKey(Object[] args) {
+        return parameterCount == 1 ? args[0] : Arrays.asList(args);
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.myspring;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 对象图内存占用的估算器，按 64 位 JVM 开启压缩指针估算（对象头 12 字节，引用 4 字节，8 字节对齐）。
+ * 同一个估算器中每个对象只被统计一次，先统计的对象图占有共享的对象；边界对象及类、反射、线程、类加载器等 JVM 元数据不统计。
+ * JDK 内部类的私有属性在高版本 JDK 上无法访问，集合按元素数估算，字符串按长度估算
+ */
+public class MemoryFootprint {
+
+    private static final int OBJECT_HEADER = 12;
+
+    private static final int ARRAY_HEADER = 16;
+
+    private static final int REFERENCE = 4;
+
+    /**
+     * 每个类的浅层大小
+     */
+    private static final ConcurrentHashMap<Class<?>, Long> SHALLOW_SIZE_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 每个类可以访问的引用类型属性，无法访问时为 null
+     */
+    private static final ConcurrentHashMap<Class<?>, Field[]> REFERENCE_FIELD_CACHE = new ConcurrentHashMap<>();
+
+    private static final Field[] INACCESSIBLE = new Field[0];
+
+    /**
+     * 已经统计过的对象
+     */
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * 边界对象，遍历到时停止
+     */
+    private final Set<Object> boundaries = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * 把对象设为边界，之后的统计不会进入该对象，除非它是统计的起点
+     */
+    public void addBoundary(Object object) {
+        if (object != null) {
+            boundaries.add(object);
+        }
+    }
+
+    /**
+     * 统计从 root 出发可以到达的、还未统计过的对象的总大小
+     * @param root  起点
+     * @return  估算的字节数
+     */
+    public long measure(Object root) {
+        if (root == null || visited.contains(root)) {
+            return 0;
+        }
+        long total = 0;
+        Deque<Object> stack = new ArrayDeque<>();
+        visited.add(root);
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Object object = stack.pop();
+            Class<?> clazz = object.getClass();
+            if (clazz.isArray()) {
+                total += arraySize(clazz.getComponentType(), Array.getLength(object));
+                if (!clazz.getComponentType().isPrimitive()) {
+                    for (Object element : (Object[]) object) {
+                        push(stack, element);
+                    }
+                }
+            } else if (object instanceof String) {
+                // 按 Latin-1 紧凑字符串估算
+                total += shallowSize(clazz) + arraySize(byte.class, ((String) object).length());
+            } else if (Proxy.isProxyClass(clazz)) {
+                total += shallowSize(clazz);
+                push(stack, Proxy.getInvocationHandler(object));
+            } else {
+                total += shallowSize(clazz);
+                Field[] fields = referenceFields(clazz);
+                if (fields != INACCESSIBLE) {
+                    for (Field field : fields) {
+                        try {
+                            push(stack, field.get(object));
+                        } catch (IllegalAccessException e) {
+                            // 无法读取的属性不统计
+                        }
+                    }
+                } else if (object instanceof Map) {
+                    // 哈希表：槽位数组 + 每个条目一个节点
+                    Map<?, ?> map = (Map<?, ?>) object;
+                    total += arraySize(Object.class, tableCapacity(map.size())) + 32L * map.size();
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        push(stack, entry.getKey());
+                        push(stack, entry.getValue());
+                    }
+                } else if (object instanceof Collection) {
+                    // 按链表节点估算，数组实现的集合会略微高估
+                    Collection<?> collection = (Collection<?>) object;
+                    total += 24L * collection.size();
+                    for (Object element : collection) {
+                        push(stack, element);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private void push(Deque<Object> stack, Object object) {
+        if (object == null || boundaries.contains(object) || isJvmMetadata(object) || !visited.add(object)) {
+            return;
+        }
+        stack.push(object);
+    }
+
+    /**
+     * 类、反射对象、注解、线程、类加载器和枚举常量属于 JVM 或所有容器共享，不计入任何一个容器
+     */
+    private static boolean isJvmMetadata(Object object) {
+        return object instanceof Class || object instanceof Member || object instanceof Annotation
+                || object instanceof Thread || object instanceof ClassLoader || object instanceof Enum;
+    }
+
+    private static int tableCapacity(int size) {
+        int capacity = 16;
+        while (capacity * 3 / 4 < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long arraySize(Class<?> componentType, int length) {
+        return align(ARRAY_HEADER + (long) fieldSize(componentType) * length);
+    }
+
+    private static long shallowSize(Class<?> clazz) {
+        return SHALLOW_SIZE_CACHE.computeIfAbsent(clazz, c -> {
+            long size = OBJECT_HEADER;
+            for (Class<?> type = c; type != null; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        });
+    }
+
+    private static Field[] referenceFields(Class<?> clazz) {
+        return REFERENCE_FIELD_CACHE.computeIfAbsent(clazz, c -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> type = c; type != null; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        // 高版本 JDK 不允许访问 java.base 中的私有属性
+                        return INACCESSIBLE;
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(new Field[0]);
+        });
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+}
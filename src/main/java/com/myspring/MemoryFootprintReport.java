@@ -0,0 +1,80 @@
+package com.myspring;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个容器的内存占用估算报告
+ */
+public class MemoryFootprintReport {
+
+    /**
+     * 每个单例 Bean 的占用，按定义顺序排列
+     */
+    private final List<BeanFootprint> beanFootprints;
+
+    /**
+     * 元数据（BeanDefinition、通知、配置快照等）的占用，同一份元数据可能被多个容器共享
+     */
+    private final long sharedMetadataBytes;
+
+    /**
+     * 容器自身的占用：缓存、后置处理器、拦截器链、事件分发器等，不包括 Bean 和元数据
+     */
+    private final long containerBytes;
+
+    public MemoryFootprintReport(List<BeanFootprint> beanFootprints, long sharedMetadataBytes, long containerBytes) {
+        this.beanFootprints = Collections.unmodifiableList(beanFootprints);
+        this.sharedMetadataBytes = sharedMetadataBytes;
+        this.containerBytes = containerBytes;
+    }
+
+    public List<BeanFootprint> getBeanFootprints() {
+        return beanFootprints;
+    }
+
+    public long getSharedMetadataBytes() {
+        return sharedMetadataBytes;
+    }
+
+    public long getContainerBytes() {
+        return containerBytes;
+    }
+
+    /**
+     * 所有 Bean 的占用之和
+     */
+    public long getTotalBeanBytes() {
+        long total = 0;
+        for (BeanFootprint beanFootprint : beanFootprints) {
+            total += beanFootprint.getBeanBytes();
+        }
+        return total;
+    }
+
+    /**
+     * 所有代理的占用之和
+     */
+    public long getTotalProxyBytes() {
+        long total = 0;
+        for (BeanFootprint beanFootprint : beanFootprints) {
+            total += beanFootprint.getProxyBytes();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %12s %12s%n", "beanName", "bean(B)", "proxy(B)"));
+        for (BeanFootprint beanFootprint : beanFootprints) {
+            sb.append(String.format("%-24s %12d %12d%n", beanFootprint.getBeanName(), beanFootprint.getBeanBytes(), beanFootprint.getProxyBytes()));
+        }
+        sb.append(String.format("%-24s %12d %12d%n", "合计", getTotalBeanBytes(), getTotalProxyBytes()));
+        sb.append(String.format("容器自身：%d B，共享元数据：%d B", containerBytes, sharedMetadataBytes));
+        return sb.toString();
+    }
+
+}
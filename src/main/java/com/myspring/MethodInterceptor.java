@@ -0,0 +1,17 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 环绕通知，可以在原方法执行前后做任意处理，也可以多次执行或不执行原方法
+ */
+@FunctionalInterface
+public interface MethodInterceptor {
+
+    /**
+     * @param invocation    本次方法调用，调用 proceed() 执行后续拦截器及原方法
+     * @return  方法的返回值
+     */
+    Object invoke(MethodInvocation invocation) throws Throwable;
+
+}
@@ -0,0 +1,20 @@
+package com.myspring;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 根据方法上的注解创建拦截器，由 AnnotationAwareAspectJAutoProxyCreator 在创建代理时调用，每个方法只调用一次
+ */
+public interface MethodInterceptorFactory {
+
+    /**
+     * @param beanName  Bean 的名称
+     * @param method    Bean 实现类中的方法，注解从这里读取
+     * @param interceptors  该方法的拦截器链，按执行顺序把需要的拦截器加入其中
+     */
+    void addInterceptors(String beanName, Method method, List<MethodInterceptor> interceptors);
+
+}
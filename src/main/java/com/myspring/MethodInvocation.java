@@ -0,0 +1,85 @@
+package com.myspring;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一次被拦截的方法调用，按顺序执行拦截器链，最后执行原方法
+ */
+public class MethodInvocation {
+
+    /**
+     * 原始 Bean 对象
+     */
+    private final Object target;
+
+    /**
+     * 被调用的方法，AOT 生成的静态代理直接调用目标方法，此时为 null
+     */
+    private final Method method;
+
+    /**
+     * 调用参数
+     */
+    private final Object[] arguments;
+
+    /**
+     * 拦截器链
+     */
+    private final MethodInterceptor[] interceptors;
+
+    /**
+     * 下一个要执行的拦截器的下标
+     */
+    private int index;
+
+    public MethodInvocation(Object target, Method method, Object[] arguments, MethodInterceptor[] interceptors) {
+        this.target = target;
+        this.method = method;
+        this.arguments = arguments;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 执行下一个拦截器，没有下一个时执行原方法。同一个拦截器中可以多次调用（例如重试）
+     * @return  方法的返回值
+     */
+    public Object proceed() throws Throwable {
+        if (index == interceptors.length) {
+            return invokeTarget();
+        }
+        MethodInterceptor interceptor = interceptors[index++];
+        try {
+            return interceptor.invoke(this);
+        } finally {
+            // 恢复下标，保证拦截器再次调用 proceed() 时从同一位置继续
+            index--;
+        }
+    }
+
+    /**
+     * 执行原方法，并把原方法抛出的异常原样抛出
+     */
+    protected Object invokeTarget() throws Throwable {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    public Object getThis() {
+        return target;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+}
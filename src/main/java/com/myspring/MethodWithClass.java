@@ -19,7 +19,7 @@ public class MethodWithClass {
     /**
      * 切面类的类对象
      */
-    private Class clazz;
+    private Class<?> clazz;
 
     /**
      * 通知方法
@@ -0,0 +1,420 @@
+package com.myspring;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 构建时生成 native-image 所需的配置。在构建机上按正常方式扫描一次，输出：
+ * 组件索引（运行时加 -Dmyspring.scan.disabled=true 代替扫描）、反射配置、动态代理配置和资源配置。
+ * 条件在运行时仍会判断，所以被条件排除的组件也一并写入，换一套配置启动时不会缺少元数据。
+ * 热重载依赖自定义类加载器，封闭环境下不支持
+ */
+public class NativeImageConfigGenerator {
+
+    /**
+     * 配置文件所在目录，native-image 会自动读取类路径中此目录下的配置
+     */
+    public static final String CONFIG_DIRECTORY = "META-INF/native-image/com.codeep/spring";
+
+    /**
+     * 全部组件类名，按扫描顺序排列，多个配置类扫描到的组件合并在一起
+     */
+    private final Set<String> componentClassNames = new LinkedHashSet<>();
+
+    /**
+     * 反射配置，key: 类名
+     */
+    private final Map<String, ReflectEntry> reflectEntries = new LinkedHashMap<>();
+
+    /**
+     * 动态代理的接口列表，顺序与运行时创建代理时相同
+     * key: 接口名用逗号连接
+     */
+    private final Map<String, List<String>> proxyInterfaces = new LinkedHashMap<>();
+
+    /**
+     * 运行时读取的资源
+     */
+    private final Set<String> resources = new LinkedHashSet<>();
+
+    /**
+     * 生成过程中的提示
+     */
+    private final List<String> warnings = new ArrayList<>();
+
+    public NativeImageConfigGenerator() {
+        resources.add(ComponentIndex.LOCATION);
+        // @Configuration 接口的默认方法通过反射取得的 privateLookupIn 调用，native-image 只支持 JDK 9 以上，不需要 JDK 8 的回退
+        reflectEntry(MethodHandles.class).addMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        // 定时任务在支持时使用虚拟线程
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            reflectEntry(Executors.class).addMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            // 低版本 JDK 上不存在，运行时也不会调用
+        }
+    }
+
+    /**
+     * 解析一个配置类以及它扫描到的全部组件，可以多次调用以合并多个配置类
+     * @param configClass   配置类
+     */
+    public void addConfigClass(Class<?> configClass) {
+        ConfigurationMetadata metadata = new ConfigurationMetadata(configClass, null);
+        if (metadata.getScanDirectory() == null && configClass.isAnnotationPresent(ComponentScan.class)) {
+            warnings.add(configClass.getName() + " 的扫描路径不是目录，组件索引中没有它的组件");
+        }
+        if (configClass.isAnnotationPresent(EnableHotReload.class)) {
+            warnings.add(configClass.getName() + " 开启了热重载，native-image 中不支持，运行时请关闭");
+        }
+        // 配置类只在启动时读取注解，本身是 @Configuration 时还会作为组件解析
+        ReflectEntry configEntry = reflectEntry(configClass);
+        configEntry.queryAllDeclaredMethods = true;
+        PropertySource propertySource = configClass.getDeclaredAnnotation(PropertySource.class);
+        if (propertySource != null) {
+            for (String location : propertySource.value()) {
+                String path = location.startsWith("classpath:") ? location.substring("classpath:".length()) : location;
+                resources.add(path.startsWith("/") ? path.substring(1) : path);
+            }
+        }
+        List<Class<?>> components = new ArrayList<>();
+        if (configClass.isAnnotationPresent(Configuration.class)) {
+            components.add(configClass);
+        }
+        components.addAll(metadata.getScannedComponents());
+        for (Class<?> component : metadata.getScannedComponents()) {
+            componentClassNames.add(component.getName());
+        }
+        // 切面按 beanName 前缀匹配，被条件排除的切面也算在内
+        Set<String> advisedBeanNames = new LinkedHashSet<>();
+        for (Class<?> component : components) {
+            if (component.isAnnotationPresent(Aspect.class)) {
+                collectPointcutBeanNames(component, advisedBeanNames);
+            }
+        }
+        boolean aopEnabled = configClass.isAnnotationPresent(EnableAspectAutoProxy.class);
+        AnnotationAwareAspectJAutoProxyCreator proxyCreator = new AnnotationAwareAspectJAutoProxyCreator();
+        for (Class<?> component : components) {
+            addComponent(component, aopEnabled, advisedBeanNames, proxyCreator);
+        }
+    }
+
+    /**
+     * 登记一个组件类运行时需要的反射和代理
+     */
+    private void addComponent(Class<?> component, boolean aopEnabled, Set<String> advisedBeanNames, AnnotationAwareAspectJAutoProxyCreator proxyCreator) {
+        ReflectEntry entry = reflectEntry(component);
+        // 扫描时遍历全部声明的方法找注解，监听和定时任务按公有方法查找实现类中的同名方法
+        entry.queryAllDeclaredMethods = true;
+        entry.queryAllPublicMethods = true;
+        // 接口配置类通过代理创建，其余组件通过无参构造方法实例化
+        if (component.isInterface()) {
+            addProxy(component);
+        } else {
+            entry.addMethod("<init>");
+        }
+        addInjectedMembers(component);
+        for (Method declaredMethod : component.getDeclaredMethods()) {
+            if (declaredMethod.isAnnotationPresent(EventListener.class) || declaredMethod.isAnnotationPresent(Scheduled.class)
+                    || declaredMethod.isAnnotationPresent(Bean.class) || declaredMethod.isAnnotationPresent(Before.class)
+                    || declaredMethod.isAnnotationPresent(After.class)) {
+                entry.addMethod(declaredMethod.getName(), declaredMethod.getParameterTypes());
+            }
+        }
+        // 条件类通过无参构造方法实例化
+        Conditional conditional = component.getDeclaredAnnotation(Conditional.class);
+        if (conditional != null) {
+            for (Class<? extends Condition> conditionClass : conditional.value()) {
+                reflectEntry(conditionClass).addMethod("<init>");
+            }
+        }
+        // @ConditionalOnClass 只查找 class 文件，需要把存在的类作为资源打包进去
+        ConditionalOnClass onClass = component.getDeclaredAnnotation(ConditionalOnClass.class);
+        if (onClass != null) {
+            for (String className : onClass.value()) {
+                String resource = className.replace('.', '/') + ".class";
+                if (NativeImageConfigGenerator.class.getClassLoader().getResource(resource) != null) {
+                    resources.add(resource);
+                }
+            }
+        }
+        if (!aopEnabled) {
+            return;
+        }
+        if (component.isAnnotationPresent(Component.class) && !component.isInterface()) {
+            String beanName = component.getDeclaredAnnotation(Component.class).value();
+            if (advisedBeanNames.contains(beanName) || proxyCreator.hasInterceptors(beanName, component)) {
+                addAdvisedProxy(component, beanName);
+            }
+        }
+        // @Bean 方法只知道声明的返回类型，返回接口时按接口本身登记
+        for (Method declaredMethod : component.getDeclaredMethods()) {
+            if (!declaredMethod.isAnnotationPresent(Bean.class)) {
+                continue;
+            }
+            Class<?> returnType = declaredMethod.getReturnType();
+            String beanName = FactoryMethod.beanNameOf(declaredMethod);
+            if (returnType.isInterface()) {
+                if (advisedBeanNames.contains(beanName)) {
+                    warnings.add("@Bean " + beanName + " 返回接口 " + returnType.getName() + "，代理配置按该接口生成，实际实现类的其他接口需要手动补充");
+                    addProxy(returnType);
+                }
+            } else if (advisedBeanNames.contains(beanName) || proxyCreator.hasInterceptors(beanName, returnType)) {
+                addAdvisedProxy(returnType, beanName);
+            }
+        }
+    }
+
+    /**
+     * 属性注入和 @PreDestroy 通过反射访问，@Bean 返回的对象也按返回类型注入
+     */
+    private void addInjectedMembers(Class<?> clazz) {
+        ReflectEntry entry = reflectEntry(clazz);
+        for (Field declaredField : clazz.getDeclaredFields()) {
+            if (declaredField.isAnnotationPresent(Autowired.class) || declaredField.isAnnotationPresent(Value.class)) {
+                entry.fields.add(declaredField.getName());
+            }
+        }
+        for (Method declaredMethod : clazz.getDeclaredMethods()) {
+            if (declaredMethod.isAnnotationPresent(PreDestroy.class)) {
+                entry.addMethod(declaredMethod.getName(), declaredMethod.getParameterTypes());
+            }
+            if (declaredMethod.isAnnotationPresent(Bean.class) && !declaredMethod.getReturnType().isPrimitive()) {
+                Class<?> returnType = declaredMethod.getReturnType();
+                if (!returnType.getName().startsWith("java.")) {
+                    reflectEntry(returnType).queryAllDeclaredMethods = true;
+                    addInjectedMembers(returnType);
+                }
+            }
+        }
+    }
+
+    /**
+     * 被增强的 Bean 按实现类的全部接口创建代理，代理通过接口方法反射调用目标对象
+     */
+    private void addAdvisedProxy(Class<?> beanClass, String beanName) {
+        Class<?>[] interfaces = beanClass.getInterfaces();
+        if (interfaces.length == 0) {
+            warnings.add(beanName + " 需要代理但没有实现任何接口，JDK 动态代理无法拦截它的方法");
+            return;
+        }
+        // 拦截器注解从实现类的公有方法上读取
+        ReflectEntry entry = reflectEntry(beanClass);
+        entry.queryAllPublicMethods = true;
+        entry.allPublicMethods = true;
+        addProxy(interfaces);
+    }
+
+    private void addProxy(Class<?>... interfaces) {
+        List<String> names = new ArrayList<>();
+        for (Class<?> anInterface : interfaces) {
+            names.add(anInterface.getName());
+            ReflectEntry entry = reflectEntry(anInterface);
+            entry.queryAllPublicMethods = true;
+            entry.allPublicMethods = true;
+        }
+        proxyInterfaces.putIfAbsent(String.join(",", names), names);
+    }
+
+    /**
+     * 切面中 @Before 和 @After 的表达式为 beanName.methodName 格式，取出其中的 beanName
+     */
+    private static void collectPointcutBeanNames(Class<?> aspectClass, Set<String> beanNames) {
+        for (Method declaredMethod : aspectClass.getDeclaredMethods()) {
+            Before before = declaredMethod.getDeclaredAnnotation(Before.class);
+            if (before != null) {
+                beanNames.add(before.value().split("\\.")[0]);
+            }
+            After after = declaredMethod.getDeclaredAnnotation(After.class);
+            if (after != null) {
+                beanNames.add(after.value().split("\\.")[0]);
+            }
+        }
+    }
+
+    private ReflectEntry reflectEntry(Class<?> clazz) {
+        return reflectEntries.computeIfAbsent(clazz.getName(), ReflectEntry::new);
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * 写出组件索引和 native-image 配置
+     * @param outputDirectory   类路径的根目录，例如 target/classes
+     */
+    public void writeTo(File outputDirectory) throws IOException {
+        write(new File(outputDirectory, ComponentIndex.LOCATION), ComponentIndex.format(componentClassNames));
+        File configDirectory = new File(outputDirectory, CONFIG_DIRECTORY);
+        write(new File(configDirectory, "reflect-config.json"), toReflectConfig());
+        write(new File(configDirectory, "proxy-config.json"), toProxyConfig());
+        write(new File(configDirectory, "resource-config.json"), toResourceConfig());
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String toReflectConfig() {
+        StringBuilder sb = new StringBuilder("[\n");
+        int i = 0;
+        for (ReflectEntry entry : reflectEntries.values()) {
+            sb.append("  {\"name\": ").append(quote(entry.name));
+            if (entry.queryAllDeclaredMethods) {
+                sb.append(", \"queryAllDeclaredMethods\": true");
+            }
+            if (entry.queryAllPublicMethods) {
+                sb.append(", \"queryAllPublicMethods\": true");
+            }
+            if (entry.allPublicMethods) {
+                sb.append(", \"allPublicMethods\": true");
+            }
+            if (!entry.fields.isEmpty()) {
+                sb.append(",\n   \"fields\": [");
+                int j = 0;
+                for (String field : entry.fields) {
+                    sb.append(j++ == 0 ? "" : ", ").append("{\"name\": ").append(quote(field)).append('}');
+                }
+                sb.append(']');
+            }
+            if (!entry.methods.isEmpty()) {
+                sb.append(",\n   \"methods\": [");
+                int j = 0;
+                for (Map.Entry<String, List<String>> method : entry.methods.entrySet()) {
+                    sb.append(j++ == 0 ? "\n" : ",\n").append("     {\"name\": ").append(quote(method.getValue().get(0)))
+                            .append(", \"parameterTypes\": [");
+                    List<String> parameterTypes = method.getValue().subList(1, method.getValue().size());
+                    for (int k = 0; k < parameterTypes.size(); k++) {
+                        sb.append(k == 0 ? "" : ", ").append(quote(parameterTypes.get(k)));
+                    }
+                    sb.append("]}");
+                }
+                sb.append("\n   ]");
+            }
+            sb.append(i++ < reflectEntries.size() - 1 ? "},\n" : "}\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    public String toProxyConfig() {
+        StringBuilder sb = new StringBuilder("[\n");
+        int i = 0;
+        for (List<String> interfaces : proxyInterfaces.values()) {
+            sb.append("  {\"interfaces\": [");
+            for (int j = 0; j < interfaces.size(); j++) {
+                sb.append(j == 0 ? "" : ", ").append(quote(interfaces.get(j)));
+            }
+            sb.append(i++ < proxyInterfaces.size() - 1 ? "]},\n" : "]}\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    public String toResourceConfig() {
+        StringBuilder sb = new StringBuilder("{\n  \"resources\": {\n    \"includes\": [\n");
+        int i = 0;
+        for (String resource : resources) {
+            sb.append("      {\"pattern\": ").append(quote("\\Q" + resource + "\\E"))
+                    .append(i++ < resources.size() - 1 ? "},\n" : "}\n");
+        }
+        return sb.append("    ]\n  }\n}\n").toString();
+    }
+
+    /**
+     * 转为 JSON 字符串
+     */
+    private static String quote(String text) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * 构建时使用：java com.myspring.NativeImageConfigGenerator 配置类全限定名[,配置类全限定名...] [输出目录，默认 target/classes]
+     * pom.xml 的 build-tools profile 在 process-classes 阶段调用，生成的文件随 classes 目录一起打包
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("用法：NativeImageConfigGenerator <配置类全限定名，多个用逗号分隔> [输出目录，默认 target/classes]");
+            System.exit(1);
+        }
+        List<String> classNames = new ArrayList<>();
+        for (String className : args[0].split(",")) {
+            if (!className.trim().isEmpty()) {
+                classNames.add(className.trim());
+            }
+        }
+        File outputDirectory = new File(args.length > 1 ? args[1] : "target/classes");
+        NativeImageConfigGenerator generator = new NativeImageConfigGenerator();
+        for (String className : classNames) {
+            generator.addConfigClass(Class.forName(className));
+        }
+        generator.writeTo(outputDirectory);
+        for (String warning : generator.getWarnings()) {
+            System.err.println("警告：" + warning);
+        }
+        System.out.printf("已生成 %s（%d 个组件）以及 %s 下的 reflect-config.json（%d 个类）、proxy-config.json（%d 个代理）、resource-config.json%n",
+                new File(outputDirectory, ComponentIndex.LOCATION).getPath(), generator.componentClassNames.size(),
+                new File(outputDirectory, CONFIG_DIRECTORY).getPath(), generator.reflectEntries.size(), generator.proxyInterfaces.size());
+    }
+
+    /**
+     * reflect-config.json 中的一个类
+     */
+    private static class ReflectEntry {
+
+        private final String name;
+
+        private boolean queryAllDeclaredMethods;
+
+        private boolean queryAllPublicMethods;
+
+        private boolean allPublicMethods;
+
+        private final Set<String> fields = new LinkedHashSet<>();
+
+        /**
+         * key: 方法签名，value: 方法名和参数类型名
+         */
+        private final Map<String, List<String>> methods = new LinkedHashMap<>();
+
+        private ReflectEntry(String name) {
+            this.name = name;
+        }
+
+        private void addMethod(String methodName, Class<?>... parameterTypes) {
+            List<String> signature = new ArrayList<>();
+            signature.add(methodName);
+            for (Class<?> parameterType : parameterTypes) {
+                // 数组写成 java.lang.String[] 的形式
+                signature.add(parameterType.getTypeName());
+            }
+            methods.putIfAbsent(signature.toString(), signature);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 声明配置文件的注解，作用于配置类上，文件从类路径中读取，排在前面的文件优先级更高
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PropertySource {
+
+    /**
+     * 类路径中的 properties 文件，例如 "application.properties"
+     */
+    String[] value();
+
+    /**
+     * 找不到文件时是否忽略，默认抛出异常
+     */
+    boolean ignoreResourceNotFound() default false;
+
+}
@@ -0,0 +1,27 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 令牌桶限流，超过速率的调用直接抛出 RateLimitExceededException，需要开启 AOP，注解写在实现类的方法上
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * 每秒产生的令牌数
+     */
+    double permitsPerSecond();
+
+    /**
+     * 令牌桶容量，即允许的突发调用数，默认等于每秒令牌数（至少为 1）
+     */
+    int capacity() default 0;
+
+}
@@ -0,0 +1,35 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: @RateLimit 的拦截器
+ */
+public class RateLimitInterceptor implements MethodInterceptor {
+
+    private final TokenBucket tokenBucket;
+
+    private final ResilienceMetrics metrics;
+
+    public RateLimitInterceptor(RateLimit rateLimit, ResilienceMetrics metrics) {
+        this(rateLimit.permitsPerSecond(), rateLimit.capacity(), metrics);
+    }
+
+    /**
+     * @param capacity  桶的容量，不大于 0 时等于每秒的令牌数
+     */
+    public RateLimitInterceptor(double permitsPerSecond, int capacity, ResilienceMetrics metrics) {
+        this.tokenBucket = new TokenBucket(permitsPerSecond, capacity > 0 ? capacity : (int) Math.max(1, Math.ceil(permitsPerSecond)));
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!tokenBucket.tryAcquire()) {
+            metrics.recordRateLimitRejection();
+            throw new RateLimitExceededException(metrics.getName() + " 超过限流速率");
+        }
+        return invocation.proceed();
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.myspring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 热重载模式下单例 Bean 的可替换目标。每个 Bean 占用数组中的一个槽位，
+ * 注入到其他 Bean 中的是转发到槽位的代理对象，替换时整体发布一个新数组，所以一批 Bean 会同时生效
+ */
+public class RefreshableTargets {
+
+    /**
+     * 所有槽位当前的目标对象，只整体替换，不原地修改
+     */
+    private volatile Object[] targets = new Object[0];
+
+    /**
+     * beanName 与槽位的对应关系
+     */
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    /**
+     * 判断传入的 bean 能否被可替换代理包装，JDK 动态代理要求至少实现一个接口。
+     * 代理只实现接口，调用方还需要保证所有注入点都按接口声明
+     */
+    public static boolean isRefreshable(Object bean) {
+        return interfacesOf(bean.getClass()).length > 0;
+    }
+
+    /**
+     * 类及其所有父类实现的接口，代理需要实现全部这些接口，按其中任何一个注入都可以
+     */
+    static Class<?>[] interfacesOf(Class<?> clazz) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * 为 bean 分配一个槽位，并返回转发到该槽位的代理对象
+     * @param beanName  Bean 的名称
+     * @param bean  当前的目标对象
+     * @return  可替换代理对象
+     */
+    public synchronized Object createProxy(String beanName, Object bean) {
+        Integer slot = slots.get(beanName);
+        if (slot == null) {
+            slot = targets.length;
+            Object[] copy = Arrays.copyOf(targets, slot + 1);
+            copy[slot] = bean;
+            targets = copy;
+            slots.put(beanName, slot);
+        }
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(), interfacesOf(bean.getClass()),
+                new RefreshableInvocationHandler(this, beanName, slot));
+    }
+
+    public synchronized boolean contains(String beanName) {
+        return slots.containsKey(beanName);
+    }
+
+    /**
+     * 一次性替换多个 Bean 的目标对象
+     * @param newTargets    key: beanName，value: 新的目标对象，为 null 表示 Bean 已在热重载中删除
+     */
+    public synchronized void swap(Map<String, Object> newTargets) {
+        Object[] copy = targets.clone();
+        for (Map.Entry<String, Object> entry : newTargets.entrySet()) {
+            copy[slots.get(entry.getKey())] = entry.getValue();
+        }
+        // 一次 volatile 写，所有代理同时看到新的目标
+        targets = copy;
+    }
+
+    Object getTarget(int slot) {
+        return targets[slot];
+    }
+
+    /**
+     * 转发到槽位中当前目标对象的调用处理器
+     */
+    private static class RefreshableInvocationHandler implements InvocationHandler {
+
+        private final RefreshableTargets refreshableTargets;
+
+        private final String beanName;
+
+        private final int slot;
+
+        RefreshableInvocationHandler(RefreshableTargets refreshableTargets, String beanName, int slot) {
+            this.refreshableTargets = refreshableTargets;
+            this.beanName = beanName;
+            this.slot = slot;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object target = refreshableTargets.getTarget(slot);
+            if (target == null) {
+                throw new IllegalStateException("Bean " + beanName + " 已在热重载中删除");
+            }
+            if (!method.getDeclaringClass().isInstance(target)) {
+                throw new IllegalStateException("热重载后的 Bean " + beanName + " 不再实现 " + method.getDeclaringClass().getName());
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.myspring;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 热重载使用的类加载器，只对发生变化的类（及其内部类）打破双亲委派，从 class 文件重新加载，
+ * 其余类仍交给父加载器。每次重载都会创建一个新的实例，并以上一次的实例作为父加载器
+ */
+public class ReloadingClassLoader extends ClassLoader {
+
+    /**
+     * 扫描包对应的目录
+     */
+    private final File classDirectory;
+
+    /**
+     * 扫描的包名，子包中的类按相对路径查找
+     */
+    private final String packageName;
+
+    /**
+     * 需要重新加载的类的全限定名
+     */
+    private final Set<String> classNames;
+
+    public ReloadingClassLoader(ClassLoader parent, File classDirectory, String packageName, Set<String> classNames) {
+        super(parent);
+        this.classDirectory = classDirectory;
+        this.packageName = packageName;
+        this.classNames = classNames;
+    }
+
+    /**
+     * 扫描目录中某个类对应的 class 文件，子包中的类位于对应的子目录下
+     * @param classDirectory    扫描包对应的目录
+     * @param packageName   扫描的包名
+     * @param className 类的全限定名，必须位于扫描包或其子包中
+     * @return  class 文件，不一定存在
+     */
+    public static File classFileOf(File classDirectory, String packageName, String className) {
+        String relativeName = className.substring(packageName.length() + 1);
+        return new File(classDirectory, relativeName.replace('.', File.separatorChar) + ".class");
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        // 不需要重新加载的类仍然遵循双亲委派
+        if (!isReloadable(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> clazz = findLoadedClass(name);
+            if (clazz == null) {
+                clazz = findClass(name);
+            }
+            if (resolve) {
+                resolveClass(clazz);
+            }
+            return clazz;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        File classFile = classFileOf(classDirectory, packageName, name);
+        try {
+            byte[] bytes = Files.readAllBytes(classFile.toPath());
+            return defineClass(name, bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    private boolean isReloadable(String name) {
+        int innerIndex = name.indexOf('$');
+        return classNames.contains(innerIndex < 0 ? name : name.substring(0, innerIndex));
+    }
+
+}
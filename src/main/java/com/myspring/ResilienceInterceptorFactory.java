@@ -0,0 +1,60 @@
+package com.myspring;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 根据 @Retry、@RateLimit、@Bulkhead 创建拦截器，执行顺序为 重试 -> 限流 -> 舱壁 -> 原方法，
+ * 每个方法的状态保存在各自的拦截器中，互不争用
+ */
+public class ResilienceInterceptorFactory implements MethodInterceptorFactory {
+
+    /**
+     * 所有方法的计数
+     * key: beanName.methodName
+     */
+    private final ConcurrentHashMap<String, ResilienceMetrics> metricsMap = new ConcurrentHashMap<>();
+
+    @Override
+    public void addInterceptors(String beanName, Method method, List<MethodInterceptor> interceptors) {
+        Retry retry = method.getAnnotation(Retry.class);
+        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        Bulkhead bulkhead = method.getAnnotation(Bulkhead.class);
+        if (retry == null && rateLimit == null && bulkhead == null) {
+            return;
+        }
+        ResilienceMetrics metrics = getOrCreateMetrics(beanName + "." + method.getName());
+        // 重试在最外层，每次重试都重新经过限流和舱壁；被它们拒绝的调用默认不重试（见 Retry.noRetryFor），避免重试放大流量
+        if (retry != null) {
+            interceptors.add(new RetryInterceptor(retry, metrics));
+        }
+        if (rateLimit != null) {
+            interceptors.add(new RateLimitInterceptor(rateLimit, metrics));
+        }
+        if (bulkhead != null) {
+            interceptors.add(new BulkheadInterceptor(bulkhead, metrics));
+        }
+    }
+
+    /**
+     * 获取一个方法的计数，不存在时创建
+     * @param name  beanName.methodName
+     */
+    public ResilienceMetrics getOrCreateMetrics(String name) {
+        return metricsMap.computeIfAbsent(name, ResilienceMetrics::new);
+    }
+
+    /**
+     * 获取所有方法的计数
+     * @return  key: beanName.methodName
+     */
+    public Map<String, ResilienceMetrics> getMetrics() {
+        return Collections.unmodifiableMap(metricsMap);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.myspring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个方法的容错计数，使用 LongAdder 避免高并发下的争用
+ */
+public class ResilienceMetrics {
+
+    /**
+     * 方法名，格式为 beanName.methodName
+     */
+    private final String name;
+
+    /**
+     * 重试次数（不包括第一次调用）
+     */
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * 重试用尽后仍然失败的次数
+     */
+    private final LongAdder retryExhausted = new LongAdder();
+
+    /**
+     * 被限流拒绝的次数
+     */
+    private final LongAdder rateLimitRejections = new LongAdder();
+
+    /**
+     * 被舱壁拒绝的次数
+     */
+    private final LongAdder bulkheadRejections = new LongAdder();
+
+    public ResilienceMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordRetryExhausted() {
+        retryExhausted.increment();
+    }
+
+    void recordRateLimitRejection() {
+        rateLimitRejections.increment();
+    }
+
+    void recordBulkheadRejection() {
+        bulkheadRejections.increment();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getRetryExhausted() {
+        return retryExhausted.sum();
+    }
+
+    public long getRateLimitRejections() {
+        return rateLimitRejections.sum();
+    }
+
+    public long getBulkheadRejections() {
+        return bulkheadRejections.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + "{retries=" + getRetries() + ", retryExhausted=" + getRetryExhausted()
+                + ", rateLimitRejections=" + getRateLimitRejections() + ", bulkheadRejections=" + getBulkheadRejections() + "}";
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 方法抛出异常时按指数退避重试，需要开启 AOP，注解写在实现类的方法上
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Retry {
+
+    /**
+     * 最多执行的次数（包括第一次）
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * 第一次重试前等待的时间（毫秒）
+     */
+    long delay() default 100;
+
+    /**
+     * 每次重试后等待时间的倍数
+     */
+    double multiplier() default 2.0;
+
+    /**
+     * 等待时间的上限（毫秒）
+     */
+    long maxDelay() default 10000;
+
+    /**
+     * 只有这些异常才重试
+     */
+    Class<? extends Throwable>[] retryFor() default {Exception.class};
+
+    /**
+     * 这些异常不重试，优先于 retryFor。默认不重试限流和舱壁的拒绝，避免重试放大流量
+     */
+    Class<? extends Throwable>[] noRetryFor() default {RateLimitExceededException.class, BulkheadFullException.class};
+
+}
@@ -0,0 +1,79 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: @Retry 的拦截器，按指数退避重试
+ */
+public class RetryInterceptor implements MethodInterceptor {
+
+    private final int maxAttempts;
+
+    private final long delay;
+
+    private final double multiplier;
+
+    private final long maxDelay;
+
+    private final Class<?>[] retryFor;
+
+    private final Class<?>[] noRetryFor;
+
+    private final ResilienceMetrics metrics;
+
+    public RetryInterceptor(Retry retry, ResilienceMetrics metrics) {
+        this(retry.maxAttempts(), retry.delay(), retry.multiplier(), retry.maxDelay(), retry.retryFor(), retry.noRetryFor(), metrics);
+    }
+
+    public RetryInterceptor(int maxAttempts, long delay, double multiplier, long maxDelay, Class<?>[] retryFor, Class<?>[] noRetryFor, ResilienceMetrics metrics) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.delay = delay;
+        this.multiplier = multiplier;
+        this.maxDelay = maxDelay;
+        this.retryFor = retryFor;
+        this.noRetryFor = noRetryFor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long currentDelay = delay;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                if (!shouldRetry(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    metrics.recordRetryExhausted();
+                    throw e;
+                }
+                metrics.recordRetry();
+                try {
+                    Thread.sleep(currentDelay);
+                } catch (InterruptedException interrupted) {
+                    // 被中断时不再重试，保留中断标记
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                currentDelay = Math.min(maxDelay, (long) (currentDelay * multiplier));
+            }
+        }
+    }
+
+    private boolean shouldRetry(Throwable e) {
+        for (Class<?> type : noRetryFor) {
+            if (type.isInstance(e)) {
+                return false;
+            }
+        }
+        for (Class<?> type : retryFor) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 定时执行的方法，作用于组件的无参方法上，需要在配置类上添加 @EnableScheduling。
+ * fixedRate、fixedDelay、cron 三者必须且只能指定一个；同一个方法上一次还没执行完时，到期的执行会被跳过并计为超时
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Scheduled {
+
+    /**
+     * 按固定频率执行，两次开始执行之间的间隔，单位毫秒
+     */
+    long fixedRate() default -1;
+
+    /**
+     * 按固定间隔执行，上一次执行结束到下一次开始执行之间的间隔，单位毫秒
+     */
+    long fixedDelay() default -1;
+
+    /**
+     * cron 表达式：秒 分 时 日 月 周，支持 * ? , - / 以及月份、星期的英文缩写
+     */
+    String cron() default "";
+
+    /**
+     * 第一次执行前的延迟，单位毫秒，对 cron 无效
+     */
+    long initialDelay() default 0;
+
+    /**
+     * cron 表达式使用的时区，为空时使用系统默认时区
+     */
+    String zone() default "";
+
+}
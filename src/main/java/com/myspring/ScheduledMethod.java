@@ -0,0 +1,161 @@
+package com.myspring;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.ZoneId;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 扫描时解析出的 @Scheduled 方法，cron 表达式在解析时就完成校验
+ */
+public class ScheduledMethod {
+
+    /**
+     * 方法所属 Bean 的名称
+     */
+    private final String beanName;
+
+    /**
+     * 定时方法，AOT 生成的任务直接调用目标方法，此时为 null
+     */
+    private final Method method;
+
+    private final String methodName;
+
+    private final long fixedRate;
+
+    private final long fixedDelay;
+
+    private final long initialDelay;
+
+    /**
+     * 未指定 cron 时为 null
+     */
+    private final CronExpression cron;
+
+    /**
+     * Bean 被代理时，代理对象上与定时方法对应的方法
+     */
+    private volatile Method resolvedMethod;
+
+    public ScheduledMethod(String beanName, Method method) {
+        if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+            throw new IllegalStateException("@Scheduled 方法必须是无参的实例方法：" + method);
+        }
+        Scheduled scheduled = method.getDeclaredAnnotation(Scheduled.class);
+        checkTrigger(scheduled.fixedRate(), scheduled.fixedDelay(), scheduled.cron(), method.toString());
+        method.setAccessible(true);
+        this.beanName = beanName;
+        this.method = method;
+        this.methodName = method.getName();
+        this.fixedRate = scheduled.fixedRate();
+        this.fixedDelay = scheduled.fixedDelay();
+        this.initialDelay = Math.max(scheduled.initialDelay(), 0);
+        this.cron = parseCron(scheduled.cron(), scheduled.zone());
+    }
+
+    /**
+     * 供 AOT 生成的任务使用，子类重写 invoke() 直接调用定时方法，参数与 @Scheduled 的属性相同
+     * @param beanName  方法所属 Bean 的名称
+     * @param methodName    定时方法的名称
+     */
+    protected ScheduledMethod(String beanName, String methodName, long fixedRate, long fixedDelay, long initialDelay, String cron, String zone) {
+        checkTrigger(fixedRate, fixedDelay, cron, beanName + "." + methodName);
+        this.beanName = beanName;
+        this.method = null;
+        this.methodName = methodName;
+        this.fixedRate = fixedRate;
+        this.fixedDelay = fixedDelay;
+        this.initialDelay = Math.max(initialDelay, 0);
+        this.cron = parseCron(cron, zone);
+    }
+
+    private static void checkTrigger(long fixedRate, long fixedDelay, String cron, String location) {
+        int kinds = (fixedRate > 0 ? 1 : 0) + (fixedDelay > 0 ? 1 : 0) + (cron.isEmpty() ? 0 : 1);
+        if (kinds != 1) {
+            throw new IllegalStateException("@Scheduled 的 fixedRate、fixedDelay、cron 必须且只能指定一个：" + location);
+        }
+    }
+
+    /**
+     * @return  未指定 cron 时为 null
+     */
+    private static CronExpression parseCron(String cron, String zone) {
+        if (cron.isEmpty()) {
+            return null;
+        }
+        return CronExpression.parse(cron, zone.isEmpty() ? ZoneId.systemDefault() : ZoneId.of(zone));
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * 任务名，格式为 beanName.methodName
+     */
+    public String getName() {
+        return beanName + "." + methodName;
+    }
+
+    public long getFixedRate() {
+        return fixedRate;
+    }
+
+    public long getFixedDelay() {
+        return fixedDelay;
+    }
+
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    public CronExpression getCron() {
+        return cron;
+    }
+
+    /**
+     * 在传入的 bean 上调用定时方法
+     * @param bean  方法所属的 Bean，可能是代理对象
+     */
+    public void invoke(Object bean) throws Throwable {
+        try {
+            resolveMethod(bean).invoke(bean);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * 与 ListenerMethod 相同，Bean 被 JDK 动态代理后需要找到代理类上的同名方法
+     */
+    private Method resolveMethod(Object bean) {
+        if (method.getDeclaringClass().isInstance(bean)) {
+            return method;
+        }
+        Method cached = resolvedMethod;
+        if (cached != null && cached.getDeclaringClass().isInstance(bean)) {
+            return cached;
+        }
+        try {
+            cached = bean.getClass().getMethod(method.getName());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Bean " + beanName + " 已被代理，@Scheduled 方法需要声明在其实现的接口中：" + method, e);
+        }
+        resolvedMethod = cached;
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        String trigger = cron != null ? "cron=" + cron : fixedRate > 0 ? "fixedRate=" + fixedRate + "ms" : "fixedDelay=" + fixedDelay + "ms";
+        return getName() + "(" + trigger + ")";
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.myspring;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个正在调度的 @Scheduled 方法。到期时由时间轮线程计算下一次的执行时间并把任务交给工作线程，
+ * 同一个任务同一时间最多只有一个在执行
+ */
+public class ScheduledTask {
+
+    private final ScheduledMethod scheduledMethod;
+
+    /**
+     * 按 beanName 获取 Bean，每次执行时调用，热重载后自然使用新的 Bean
+     */
+    private final Function<String, Object> beanResolver;
+
+    private final TaskScheduler scheduler;
+
+    private final ScheduledTaskMetrics metrics;
+
+    /**
+     * 是否有一次执行已经交给工作线程且尚未结束
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * running 变为 false 时在此唤醒 awaitIdle 的等待者
+     */
+    private final Object idleMonitor = new Object();
+
+    private volatile boolean cancelled;
+
+    /**
+     * 当前等待中的时间轮句柄
+     */
+    private volatile HashedWheelTimer.Timeout timeout;
+
+    ScheduledTask(ScheduledMethod scheduledMethod, Function<String, Object> beanResolver, TaskScheduler scheduler, ScheduledTaskMetrics metrics) {
+        this.scheduledMethod = scheduledMethod;
+        this.beanResolver = beanResolver;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+    }
+
+    public ScheduledMethod getScheduledMethod() {
+        return scheduledMethod;
+    }
+
+    public ScheduledTaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 开始调度
+     */
+    void start() {
+        long now = System.currentTimeMillis();
+        CronExpression cron = scheduledMethod.getCron();
+        scheduleAt(cron != null ? cron.next(now) : now + scheduledMethod.getInitialDelay());
+    }
+
+    /**
+     * 停止调度，正在执行的不会被中断
+     */
+    public void cancel() {
+        cancelled = true;
+        HashedWheelTimer.Timeout current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 等待正在执行的一次结束，取消之后调用，不会再有新的执行开始
+     * @param timeoutNanos  最长等待时间
+     * @return  是否在超时前结束
+     */
+    boolean awaitIdle(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        synchronized (idleMonitor) {
+            while (running.get()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(idleMonitor, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 标记本次执行结束并唤醒等待者
+     */
+    private void markIdle() {
+        synchronized (idleMonitor) {
+            running.set(false);
+            idleMonitor.notifyAll();
+        }
+    }
+
+    private void scheduleAt(long scheduledTime) {
+        if (cancelled) {
+            return;
+        }
+        if (scheduledTime < 0) {
+            System.err.println("cron 表达式不会再触发，停止调度：" + scheduledMethod);
+            return;
+        }
+        long delay = scheduledTime - System.currentTimeMillis();
+        try {
+            timeout = scheduler.getTimer().newTimeout(() -> fire(scheduledTime), delay, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // 时间轮已经停止，说明容器正在关闭
+            cancelled = true;
+        }
+    }
+
+    /**
+     * 到期，在时间轮线程中执行，只做调度和分发
+     * @param scheduledTime 本次计划的执行时间
+     */
+    private void fire(long scheduledTime) {
+        if (cancelled) {
+            return;
+        }
+        // 固定频率和 cron 按计划时间推算下一次，不受本次执行耗时影响
+        if (scheduledMethod.getFixedRate() > 0) {
+            long next = scheduledTime + scheduledMethod.getFixedRate();
+            long now = System.currentTimeMillis();
+            // 落后超过一个周期时跳过错过的执行，避免恢复后集中补跑
+            while (next <= now - scheduledMethod.getFixedRate()) {
+                next += scheduledMethod.getFixedRate();
+                metrics.recordOverrun();
+            }
+            scheduleAt(next);
+        } else if (scheduledMethod.getCron() != null) {
+            scheduleAt(scheduledMethod.getCron().next(Math.max(scheduledTime, System.currentTimeMillis())));
+        }
+        // 上一次还没执行完，本次跳过
+        if (!running.compareAndSet(false, true)) {
+            metrics.recordOverrun();
+            return;
+        }
+        try {
+            scheduler.getExecutor().execute(() -> execute(scheduledTime));
+        } catch (RejectedExecutionException e) {
+            markIdle();
+            metrics.recordOverrun();
+        }
+    }
+
+    /**
+     * 在工作线程中执行定时方法
+     */
+    private void execute(long scheduledTime) {
+        long start = System.nanoTime();
+        long lateness = Math.max(System.currentTimeMillis() - scheduledTime, 0);
+        boolean failed = false;
+        try {
+            scheduledMethod.invoke(beanResolver.apply(scheduledMethod.getBeanName()));
+        } catch (Throwable e) {
+            failed = true;
+            if (!cancelled) {
+                System.err.println("定时任务执行出错：" + scheduledMethod);
+                e.printStackTrace();
+            }
+        } finally {
+            metrics.recordExecution(lateness, System.nanoTime() - start, failed);
+            markIdle();
+        }
+        // 固定间隔从本次执行结束开始计算
+        if (scheduledMethod.getFixedDelay() > 0) {
+            scheduleAt(System.currentTimeMillis() + scheduledMethod.getFixedDelay());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return scheduledMethod.toString();
+    }
+
+}
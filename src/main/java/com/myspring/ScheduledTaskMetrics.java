@@ -0,0 +1,104 @@
+package com.myspring;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 一个定时任务的执行计数
+ */
+public class ScheduledTaskMetrics {
+
+    /**
+     * 任务名，格式为 beanName.methodName
+     */
+    private final String name;
+
+    /**
+     * 执行次数
+     */
+    private final LongAdder executions = new LongAdder();
+
+    /**
+     * 抛出异常的次数
+     */
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * 到期时上一次执行还没结束、或者落后太多而被跳过的次数
+     */
+    private final LongAdder overruns = new LongAdder();
+
+    /**
+     * 执行耗时的总和，单位纳秒
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * 最长的一次执行耗时，单位纳秒
+     */
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 开始执行时间相对计划时间的最大延迟，单位毫秒
+     */
+    private final LongAccumulator maxLatenessMillis = new LongAccumulator(Math::max, 0);
+
+    public ScheduledTaskMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void recordExecution(long latenessMillis, long nanos, boolean failed) {
+        executions.increment();
+        if (failed) {
+            failures.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        maxLatenessMillis.accumulate(latenessMillis);
+    }
+
+    void recordOverrun() {
+        overruns.increment();
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getOverruns() {
+        return overruns.sum();
+    }
+
+    /**
+     * 平均执行耗时，单位微秒
+     */
+    public long getAverageMicros() {
+        long count = getExecutions();
+        return count == 0 ? 0 : totalNanos.sum() / count / 1000;
+    }
+
+    public long getMaxMicros() {
+        return maxNanos.get() / 1000;
+    }
+
+    public long getMaxLatenessMillis() {
+        return maxLatenessMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return name + "{executions=" + getExecutions() + ", failures=" + getFailures() + ", overruns=" + getOverruns()
+                + ", avg=" + getAverageMicros() + "us, max=" + getMaxMicros() + "us, maxLateness=" + getMaxLatenessMillis() + "ms}";
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.myspring;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 启动分析工具：启动一次容器，导出 Bean 依赖图并打印关键路径。
+ * 启动变慢时对比前后两次的关键路径，就能看出是哪条 createBean → populateBean → getBean 链变慢了
+ */
+public class StartupAnalyzer {
+
+    private StartupAnalyzer() {
+    }
+
+    /**
+     * 启动容器并取得依赖图，容器随后关闭
+     * @param configClass   配置类
+     * @return  启动时的依赖图
+     */
+    public static BeanDependencyGraph analyze(Class<?> configClass) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(configClass);
+        try {
+            return context.getDependencyGraph();
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * 把依赖图写为 startup-graph.dot 和 startup-graph.json
+     * @param graph 依赖图
+     * @param outputDirectory   输出目录
+     */
+    public static void writeTo(BeanDependencyGraph graph, File outputDirectory) throws IOException {
+        outputDirectory.mkdirs();
+        Files.write(new File(outputDirectory, "startup-graph.dot").toPath(), graph.toDot().getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(outputDirectory, "startup-graph.json").toPath(), graph.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 构建时使用：java com.myspring.StartupAnalyzer 配置类全限定名 [输出目录]，pom.xml 的 build-tools profile 在 process-classes 阶段调用
+     * 生成的 DOT 文件可以用 dot -Tsvg startup-graph.dot -o startup-graph.svg 查看
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("用法：StartupAnalyzer <配置类全限定名> [输出目录，默认 target/startup]");
+            System.exit(1);
+        }
+        BeanDependencyGraph graph = analyze(Class.forName(args[0]));
+        File outputDirectory = new File(args.length > 1 ? args[1] : "target/startup");
+        writeTo(graph, outputDirectory);
+        System.out.print(graph);
+        System.out.println("已生成 " + new File(outputDirectory, "startup-graph.dot").getPath() + " 和 startup-graph.json");
+    }
+
+}
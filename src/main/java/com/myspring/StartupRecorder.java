@@ -0,0 +1,136 @@
+package com.myspring;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 容器启动期间记录每个 Bean 的创建耗时。每个线程维护自己的创建栈，
+ * 嵌套创建的耗时从外层 Bean 的自身耗时中扣除，并记下是外层 Bean 的哪个阶段触发的。启动完成后不再记录
+ */
+class StartupRecorder {
+
+    /**
+     * 容器开始创建的时间
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 当前线程的创建栈，栈空时移除
+     */
+    private final ThreadLocal<ArrayDeque<Frame>> currentStack = new ThreadLocal<>();
+
+    /**
+     * 已经结束的创建记录，原型 Bean 多次创建时累加
+     * key: beanName
+     */
+    private final ConcurrentHashMap<String, BeanCreationStep> steps = new ConcurrentHashMap<>();
+
+    /**
+     * 开始创建一个 Bean
+     * @param beanName  Bean 的名称
+     * @return  本次创建的记录，结束时调用 end()
+     */
+    Frame begin(String beanName) {
+        ArrayDeque<Frame> stack = currentStack.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            currentStack.set(stack);
+        }
+        Frame outer = stack.peekLast();
+        Frame frame = new Frame(beanName, outer);
+        stack.addLast(frame);
+        return frame;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    Map<String, BeanCreationStep> getSteps() {
+        return steps;
+    }
+
+    /**
+     * 一次 createBean() 调用
+     */
+    final class Frame {
+
+        private final String beanName;
+
+        private final Frame outer;
+
+        /**
+         * 外层 Bean 在哪个阶段触发了本次创建
+         */
+        private final BeanCreationPhase triggeredPhase;
+
+        private final long beginNanos = System.nanoTime();
+
+        /**
+         * 当前阶段开始的时间
+         */
+        private long phaseStartNanos = beginNanos;
+
+        /**
+         * 嵌套创建的累计耗时
+         */
+        private long nestedNanos;
+
+        /**
+         * 当前阶段开始时的 nestedNanos
+         */
+        private long phaseStartNestedNanos;
+
+        private BeanCreationPhase phase = BeanCreationPhase.INSTANTIATE;
+
+        /**
+         * 各阶段的自身耗时，下标为阶段的序号
+         */
+        private final long[] phaseNanos = new long[BeanCreationPhase.values().length];
+
+        private Frame(String beanName, Frame outer) {
+            this.beanName = beanName;
+            this.outer = outer;
+            this.triggeredPhase = outer == null ? null : outer.phase;
+        }
+
+        /**
+         * 结束当前阶段，进入下一个阶段
+         * @param nextPhase 下一个阶段
+         */
+        void enter(BeanCreationPhase nextPhase) {
+            long now = System.nanoTime();
+            phaseNanos[phase.ordinal()] += (now - phaseStartNanos) - (nestedNanos - phaseStartNestedNanos);
+            phase = nextPhase;
+            phaseStartNanos = now;
+            phaseStartNestedNanos = nestedNanos;
+        }
+
+        /**
+         * 创建结束（无论成功还是失败），把本次耗时计入外层 Bean 的嵌套耗时
+         */
+        void end() {
+            enter(phase);
+            long totalNanos = phaseStartNanos - beginNanos;
+            ArrayDeque<Frame> stack = currentStack.get();
+            if (stack != null) {
+                stack.removeLastOccurrence(this);
+                if (stack.isEmpty()) {
+                    currentStack.remove();
+                }
+            }
+            if (outer != null) {
+                outer.nestedNanos += totalNanos;
+            }
+            BeanCreationStep step = new BeanCreationStep(beanName, outer == null ? null : outer.beanName, triggeredPhase,
+                    beginNanos - startNanos, totalNanos, phaseNanos[BeanCreationPhase.INSTANTIATE.ordinal()], phaseNanos[BeanCreationPhase.POPULATE.ordinal()],
+                    phaseNanos[BeanCreationPhase.INITIALIZE.ordinal()], 1);
+            steps.merge(beanName, step, BeanCreationStep::merge);
+        }
+
+    }
+
+}
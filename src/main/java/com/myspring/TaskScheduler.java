@@ -0,0 +1,126 @@
+package com.myspring;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 定时任务调度器：一个时间轮线程负责计时，到期的任务交给工作线程池或虚拟线程执行。
+ * 任务数量只影响时间轮中链表的长度，不会增加线程
+ */
+public class TaskScheduler {
+
+    private final HashedWheelTimer timer;
+
+    private final ExecutorService executor;
+
+    public TaskScheduler(EnableScheduling enableScheduling) {
+        this(enableScheduling.poolSize(), enableScheduling.virtualThreads(), enableScheduling.tickMillis(), enableScheduling.wheelSize());
+    }
+
+    /**
+     * @param poolSize  工作线程数
+     * @param virtualThreads    是否使用虚拟线程
+     * @param tickMillis    时间轮每一格的时长
+     * @param wheelSize 时间轮的格数
+     */
+    public TaskScheduler(int poolSize, boolean virtualThreads, long tickMillis, int wheelSize) {
+        this.timer = new HashedWheelTimer(tickMillis, TimeUnit.MILLISECONDS, wheelSize);
+        this.executor = createExecutor(poolSize, virtualThreads);
+    }
+
+    /**
+     * 创建工作线程。虚拟线程通过反射创建，这样在 Java 8 上也能编译运行
+     */
+    private static ExecutorService createExecutor(int poolSize, boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("当前 JVM 不支持虚拟线程，改用 " + poolSize + " 个平台线程执行定时任务");
+            }
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 同一个任务同一时间最多排队一次，队列长度不会超过任务数
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "myspring-scheduling-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 开始调度一个定时方法
+     * @param scheduledMethod   定时方法
+     * @param beanResolver  按 beanName 获取 Bean
+     * @param metrics   任务的计数
+     * @return  可以取消的任务
+     */
+    public ScheduledTask schedule(ScheduledMethod scheduledMethod, Function<String, Object> beanResolver, ScheduledTaskMetrics metrics) {
+        ScheduledTask task = new ScheduledTask(scheduledMethod, beanResolver, this, metrics);
+        task.start();
+        return task;
+    }
+
+    /**
+     * 取消一批任务，并等待其中正在执行的任务结束
+     * @param tasks 要取消的任务
+     * @param timeoutMillis 最长等待时间
+     * @return  是否全部在超时前结束
+     */
+    public static boolean cancel(Collection<ScheduledTask> tasks, long timeoutMillis) {
+        for (ScheduledTask task : tasks) {
+            task.cancel();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        // 每个任务执行结束时会唤醒等待者，所有任务共用同一个截止时间
+        for (ScheduledTask task : tasks) {
+            try {
+                if (!task.awaitIdle(deadline - System.nanoTime())) {
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 停止时间轮和工作线程，等待正在执行的任务结束，超时后中断
+     * @param timeoutMillis 最长等待时间
+     * @return  工作线程是否在超时前全部结束
+     */
+    public boolean shutdown(long timeoutMillis) {
+        timer.stop(timeoutMillis);
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        return false;
+    }
+
+    HashedWheelTimer getTimer() {
+        return timer;
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+}
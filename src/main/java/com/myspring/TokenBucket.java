@@ -0,0 +1,59 @@
+package com.myspring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 无锁令牌桶。不单独保存令牌数，而是保存“桶被填满的时刻”，
+ * 每次获取令牌把这个时刻向后推一个令牌的间隔，只需要一次 CAS
+ */
+public class TokenBucket {
+
+    /**
+     * 产生一个令牌需要的纳秒数
+     */
+    private final long nanosPerPermit;
+
+    /**
+     * 桶满时可以预支的最长时间，即 容量 * 产生一个令牌的时间
+     */
+    private final long burstNanos;
+
+    /**
+     * 令牌全部恢复的时刻（System.nanoTime() 时间轴）
+     */
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("令牌速率和容量必须大于 0");
+        }
+        this.nanosPerPermit = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = nanosPerPermit * capacity;
+        // 初始时桶是满的
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 尝试获取一个令牌，不阻塞
+     * @return  是否获取成功
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            // 桶已满时从现在开始计算
+            long next = (current - now < 0 ? now : current) + nanosPerPermit;
+            // 预支的时间超过了桶的容量，说明没有令牌了
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+}
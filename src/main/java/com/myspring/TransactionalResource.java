@@ -0,0 +1,18 @@
+package com.myspring;
+
+import java.util.List;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 可以批量写入的资源，在 @UnitOfWork 中写入的数据会在工作单元结束时一次性交给 flush
+ */
+public interface TransactionalResource {
+
+    /**
+     * 批量写入数据
+     * @param writes  按写入顺序排列的数据
+     */
+    void flush(List<Object> writes);
+
+}
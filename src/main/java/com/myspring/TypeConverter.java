@@ -0,0 +1,121 @@
+package com.myspring;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 把配置字符串转换为属性类型，每种目标类型的转换函数只查找一次并缓存
+ */
+public class TypeConverter {
+
+    /**
+     * 已经确定的转换函数
+     * key: 目标类型
+     * value: 字符串到目标类型的转换函数
+     */
+    private final ConcurrentHashMap<Class<?>, Function<String, Object>> converterCache = new ConcurrentHashMap<>();
+
+    /**
+     * 把字符串转换为目标类型
+     * @param text  配置字符串
+     * @param targetType    目标类型
+     * @return  转换后的对象
+     */
+    public Object convert(String text, Class<?> targetType) {
+        Function<String, Object> converter = converterCache.computeIfAbsent(targetType, TypeConverter::createConverter);
+        try {
+            return converter.apply(text.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无法把 \"" + text + "\" 转换为 " + targetType.getName(), e);
+        }
+    }
+
+    /**
+     * 把同一个配置字符串绑定到目标类型的转换函数上，之后每次调用都重新转换，数组等可变对象不会在多个 Bean 之间共享
+     * @param text  配置字符串
+     * @param targetType    目标类型
+     * @return  每次调用返回一个新转换出的对象
+     */
+    public Supplier<Object> bind(String text, Class<?> targetType) {
+        Function<String, Object> converter = converterCache.computeIfAbsent(targetType, TypeConverter::createConverter);
+        String trimmed = text.trim();
+        // 先转换一次，格式错误在第一次注入时就暴露出来
+        convert(text, targetType);
+        return () -> converter.apply(trimmed);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, Object> createConverter(Class<?> targetType) {
+        if (targetType == String.class || targetType == Object.class) {
+            return text -> text;
+        }
+        if (targetType == int.class || targetType == Integer.class) {
+            return Integer::valueOf;
+        }
+        if (targetType == long.class || targetType == Long.class) {
+            return Long::valueOf;
+        }
+        if (targetType == boolean.class || targetType == Boolean.class) {
+            return Boolean::valueOf;
+        }
+        if (targetType == double.class || targetType == Double.class) {
+            return Double::valueOf;
+        }
+        if (targetType == float.class || targetType == Float.class) {
+            return Float::valueOf;
+        }
+        if (targetType == short.class || targetType == Short.class) {
+            return Short::valueOf;
+        }
+        if (targetType == byte.class || targetType == Byte.class) {
+            return Byte::valueOf;
+        }
+        if (targetType == char.class || targetType == Character.class) {
+            return text -> {
+                if (text.length() != 1) {
+                    throw new IllegalArgumentException("字符类型只能是一个字符");
+                }
+                return text.charAt(0);
+            };
+        }
+        if (targetType == Duration.class) {
+            return TypeConverter::parseDuration;
+        }
+        if (targetType.isEnum()) {
+            return text -> Enum.valueOf((Class<? extends Enum>) targetType, text);
+        }
+        if (targetType == String[].class) {
+            return text -> text.isEmpty() ? new String[0] : text.split("\\s*,\\s*");
+        }
+        throw new IllegalArgumentException("不支持的配置类型：" + targetType.getName());
+    }
+
+    /**
+     * 支持 ISO-8601 格式（PT10S）以及 500ms、10s、5m、1h、2d 这样的简写，没有单位时按毫秒处理
+     */
+    private static Duration parseDuration(String text) {
+        if (text.startsWith("P") || text.startsWith("p")) {
+            return Duration.parse(text);
+        }
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        switch (text.charAt(text.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+            case 'm':
+                return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+            case 'h':
+                return Duration.ofHours(Long.parseLong(text.substring(0, text.length() - 1)));
+            case 'd':
+                return Duration.ofDays(Long.parseLong(text.substring(0, text.length() - 1)));
+            default:
+                return Duration.ofMillis(Long.parseLong(text));
+        }
+    }
+
+}
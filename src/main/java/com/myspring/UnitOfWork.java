@@ -0,0 +1,29 @@
+package com.myspring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 声明一个工作单元边界，需要开启 AOP，注解写在实现类的方法上。
+ * 方法执行期间写入 TransactionalResource 的数据先缓存在当前线程，最外层的方法正常返回后统一刷新一次，
+ * 方法内部通过代理调用的其他 @UnitOfWork 方法加入同一个工作单元
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UnitOfWork {
+
+    /**
+     * 是否总是开启新的工作单元，外层的工作单元在此期间被挂起
+     */
+    boolean requiresNew() default false;
+
+    /**
+     * 抛出这些异常时丢弃缓存的写入，其余异常照常刷新
+     */
+    Class<? extends Throwable>[] rollbackFor() default {RuntimeException.class, Error.class};
+
+}
@@ -0,0 +1,101 @@
+package com.myspring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 绑定在当前线程上的工作单元，按资源缓存写入的数据
+ */
+public class UnitOfWorkHolder {
+
+    /**
+     * 当前线程的工作单元
+     */
+    private static final ThreadLocal<UnitOfWorkHolder> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 每个资源缓存的写入，保持资源第一次写入的顺序
+     */
+    private final Map<TransactionalResource, List<Object>> pendingWrites = new LinkedHashMap<>();
+
+    /**
+     * 获取当前线程的工作单元
+     * @return  不在工作单元中时返回 null
+     */
+    public static UnitOfWorkHolder current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 向资源写入数据，在工作单元中时先缓存，否则立即写入
+     * @param resource  要写入的资源
+     * @param write  要写入的数据
+     */
+    public static void write(TransactionalResource resource, Object write) {
+        UnitOfWorkHolder holder = CURRENT.get();
+        if (holder == null) {
+            List<Object> writes = new ArrayList<>(1);
+            writes.add(write);
+            resource.flush(writes);
+            return;
+        }
+        holder.pendingWrites.computeIfAbsent(resource, key -> new ArrayList<>()).add(write);
+    }
+
+    /**
+     * 在当前线程上开启一个新的工作单元
+     * @return  被挂起的外层工作单元，没有时为 null
+     */
+    static UnitOfWorkHolder begin() {
+        UnitOfWorkHolder suspended = CURRENT.get();
+        CURRENT.set(new UnitOfWorkHolder());
+        return suspended;
+    }
+
+    /**
+     * 结束当前线程的工作单元并恢复外层的工作单元
+     * @param commit  true 表示刷新缓存的写入，false 表示丢弃
+     * @param suspended  begin() 返回的外层工作单元
+     * @param primary  导致工作单元结束的异常，正常结束时为 null
+     */
+    static void end(boolean commit, UnitOfWorkHolder suspended, Throwable primary) {
+        UnitOfWorkHolder holder = CURRENT.get();
+        // 先恢复外层的工作单元，资源在 flush 中的写入不会再被缓存到已结束的工作单元中
+        if (suspended == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(suspended);
+        }
+        if (!commit) {
+            return;
+        }
+        // 某个资源刷新失败时仍然刷新其余资源，失败按顺序收集起来
+        Throwable failure = null;
+        for (Map.Entry<TransactionalResource, List<Object>> entry : holder.pendingWrites.entrySet()) {
+            try {
+                entry.getKey().flush(entry.getValue());
+            } catch (RuntimeException | Error e) {
+                if (primary != null) {
+                    // 保留业务方法抛出的异常，刷新失败只作为被抑制的异常附加上去
+                    primary.addSuppressed(e);
+                } else if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        // 只会捕获到 RuntimeException 或 Error，原样抛出第一个失败
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw (Error) failure;
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.myspring;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: @UnitOfWork 的拦截器，只有开启工作单元的最外层调用负责刷新
+ */
+public class UnitOfWorkInterceptor implements MethodInterceptor {
+
+    private final boolean requiresNew;
+
+    private final Class<?>[] rollbackFor;
+
+    public UnitOfWorkInterceptor(UnitOfWork unitOfWork) {
+        this(unitOfWork.requiresNew(), unitOfWork.rollbackFor());
+    }
+
+    public UnitOfWorkInterceptor(boolean requiresNew, Class<?>[] rollbackFor) {
+        this.requiresNew = requiresNew;
+        this.rollbackFor = rollbackFor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // 已经在工作单元中时直接加入
+        if (!requiresNew && UnitOfWorkHolder.current() != null) {
+            return invocation.proceed();
+        }
+        UnitOfWorkHolder suspended = UnitOfWorkHolder.begin();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            UnitOfWorkHolder.end(!shouldRollback(e), suspended, e);
+            throw e;
+        }
+        UnitOfWorkHolder.end(true, suspended, null);
+        return result;
+    }
+
+    private boolean shouldRollback(Throwable e) {
+        for (Class<?> type : rollbackFor) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.myspring;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * @author codeep
+ * @date 2026/10/19
+ * @description: 根据 @UnitOfWork 创建拦截器
+ */
+public class UnitOfWorkInterceptorFactory implements MethodInterceptorFactory {
+
+    @Override
+    public void addInterceptors(String beanName, Method method, List<MethodInterceptor> interceptors) {
+        UnitOfWork unitOfWork = method.getAnnotation(UnitOfWork.class);
+        if (unitOfWork != null) {
+            interceptors.add(new UnitOfWorkInterceptor(unitOfWork));
+        }
+    }
+
+}